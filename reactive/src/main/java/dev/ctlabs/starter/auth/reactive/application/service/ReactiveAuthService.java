@@ -0,0 +1,493 @@
+package dev.ctlabs.starter.auth.reactive.application.service;
+
+import dev.ctlabs.starter.auth.application.dto.AuthResponse;
+import dev.ctlabs.starter.auth.application.dto.LoginRequest;
+import dev.ctlabs.starter.auth.application.dto.LogoutRequest;
+import dev.ctlabs.starter.auth.application.dto.MessageResponse;
+import dev.ctlabs.starter.auth.application.dto.RefreshTokenRequest;
+import dev.ctlabs.starter.auth.application.dto.RegisterRequest;
+import dev.ctlabs.starter.auth.application.service.IdentifierNormalizer;
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.security.CompactAuthorities;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtService;
+import dev.ctlabs.starter.auth.infrastructure.security.RefreshTokenHasher;
+import dev.ctlabs.starter.auth.infrastructure.security.RefreshTokenReuseException;
+import dev.ctlabs.starter.auth.reactive.domain.model.Profile;
+import dev.ctlabs.starter.auth.reactive.domain.model.RefreshToken;
+import dev.ctlabs.starter.auth.reactive.domain.model.Role;
+import dev.ctlabs.starter.auth.reactive.domain.model.User;
+import dev.ctlabs.starter.auth.reactive.domain.model.UserAuthority;
+import dev.ctlabs.starter.auth.reactive.domain.model.VerificationCode;
+import dev.ctlabs.starter.auth.reactive.domain.repository.RefreshTokenRepository;
+import dev.ctlabs.starter.auth.reactive.domain.repository.RoleRepository;
+import dev.ctlabs.starter.auth.reactive.domain.repository.UserRepository;
+import dev.ctlabs.starter.auth.reactive.infrastructure.security.ReactivePasswordHasher;
+import dev.ctlabs.starter.auth.reactive.infrastructure.security.ReactiveTokenDenyList;
+import dev.ctlabs.starter.auth.reactive.infrastructure.service.VerificationCodeSender;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of the servlet starter's {@code AuthService} for registration, login, token refresh and
+ * logout. Reads and writes the same {@code auth_*} tables and issues the same tokens, so servlet and reactive
+ * services can share users and sessions.
+ */
+@Slf4j
+@Service
+public class ReactiveAuthService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ReactiveTokenDenyList tokenDenyList;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final ReactivePasswordHasher passwordHasher;
+    private final RefreshTokenHasher refreshTokenHasher;
+    private final JwtService jwtService;
+    private final AuthProperties authProperties;
+    private final ObjectProvider<VerificationCodeSender> verificationCodeSender;
+
+    public ReactiveAuthService(
+            UserRepository userRepository,
+            RoleRepository roleRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            ReactiveTokenDenyList tokenDenyList,
+            R2dbcEntityTemplate entityTemplate,
+            ReactivePasswordHasher passwordHasher,
+            RefreshTokenHasher refreshTokenHasher,
+            JwtService jwtService,
+            AuthProperties authProperties,
+            ObjectProvider<VerificationCodeSender> verificationCodeSender) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenDenyList = tokenDenyList;
+        this.entityTemplate = entityTemplate;
+        this.passwordHasher = passwordHasher;
+        this.refreshTokenHasher = refreshTokenHasher;
+        this.jwtService = jwtService;
+        this.authProperties = authProperties;
+        this.verificationCodeSender = verificationCodeSender;
+    }
+
+    /**
+     * Authenticates a user based on login request.
+     *
+     * @param request     The login request containing username and password.
+     * @param httpRequest The HTTP request to extract device info and IP.
+     * @return An {@link AuthResponse} containing the JWT and refresh token.
+     */
+    @Transactional
+    public Mono<AuthResponse> login(LoginRequest request, ServerHttpRequest httpRequest) {
+        String identifier = request.username();
+
+        if (identifier == null || identifier.isBlank()) {
+            return Mono.error(new IllegalArgumentException("Email or phone number must be provided for login."));
+        }
+
+        boolean isEmailLogin = IdentifierNormalizer.isEmail(identifier);
+        String finalIdentifier = IdentifierNormalizer.normalize(identifier);
+
+        log.info("Login attempt for user: {}", finalIdentifier);
+        return userRepository.findByIdentifier(finalIdentifier)
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Bad credentials")))
+                .flatMap(user -> checkAccount(user, isEmailLogin)
+                        .then(passwordHasher.matches(
+                                request.password(), user.getPassword() == null ? "" : user.getPassword()))
+                        .flatMap(matches -> matches
+                                ? Mono.just(user)
+                                : Mono.error(new BadCredentialsException("Bad credentials"))))
+                .flatMap(user -> upgradePassword(user, request.password()))
+                .flatMap(user -> createSession(user, httpRequest))
+                .doOnSuccess(response -> log.info("User authenticated successfully: {}", finalIdentifier));
+    }
+
+    /**
+     * Registers a new user.
+     *
+     * @param request The registration request containing user details.
+     * @return A message confirming the registration.
+     */
+    @Transactional
+    public Mono<MessageResponse> register(RegisterRequest request) {
+        String email = IdentifierNormalizer.email(request.email());
+        boolean hasEmail = email != null;
+        boolean hasPhone = request.phoneNumber() != null && !request.phoneNumber().isBlank();
+
+        log.info("Registration attempt. Email: {}, Phone: {}", email, request.phoneNumber());
+
+        if (!hasEmail && !hasPhone) {
+            return Mono.error(new IllegalArgumentException(
+                    "At least one contact method (email or phone) must be provided."));
+        }
+        if (hasPhone && !IdentifierNormalizer.isE164(request.phoneNumber())) {
+            return Mono.error(new IllegalArgumentException(
+                    "Phone number must be in E.164 format (e.g. +59170712345)"));
+        }
+
+        Mono<Void> emailAvailable = hasEmail
+                ? userRepository.findByIdentifier(email)
+                        .flatMap(existing -> Mono.error(new IllegalArgumentException("Email is already registered")))
+                        .then()
+                : Mono.empty();
+        Mono<Void> phoneAvailable = hasPhone
+                ? userRepository.findByIdentifier(request.phoneNumber())
+                        .flatMap(existing -> Mono.error(
+                                new IllegalArgumentException("Phone number is already registered")))
+                        .then()
+                : Mono.empty();
+
+        boolean isEmailProviderNone = authProperties.getNotifications().getMail().getProvider()
+                == AuthProperties.Notifications.Mail.Provider.NONE;
+        boolean isPhoneProviderNone = authProperties.getNotifications().getPhone().getProvider()
+                == AuthProperties.Notifications.Phone.Provider.NONE;
+
+        return emailAvailable
+                .then(phoneAvailable)
+                .then(passwordHasher.encode(request.password()))
+                .flatMap(passwordHash -> {
+                    Instant now = Instant.now();
+                    User user = new User();
+                    user.setId(UUID.randomUUID());
+                    user.setEmail(email);
+                    user.setPhoneNumber(request.phoneNumber());
+                    user.setPassword(passwordHash);
+                    user.setStatus("active");
+                    user.setEmailVerified(hasEmail && isEmailProviderNone);
+                    user.setPhoneVerified(hasPhone && isPhoneProviderNone);
+                    user.setCreatedAt(now);
+                    user.setUpdatedAt(now);
+                    return entityTemplate.insert(user);
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e -> new IllegalArgumentException(
+                        "User already registered (Email or Phone conflict)"))
+                .flatMap(user -> {
+                    Profile profile = new Profile(
+                            UUID.randomUUID(), user.getId(), request.firstName(), request.lastName(), Instant.now());
+                    return entityTemplate.insert(profile)
+                            .then(defaultRole())
+                            .flatMap(role -> userRepository.addRole(user.getId(), role.getId()))
+                            .then(sendVerification(user, profile, isEmailProviderNone, isPhoneProviderNone))
+                            .thenReturn(user);
+                })
+                .doOnNext(user -> log.info("User registered successfully with ID: {}", user.getId()))
+                .thenReturn(new MessageResponse("User registered."));
+    }
+
+    /**
+     * Refreshes the access token using a refresh token. With rotation enabled, the refresh token is replaced by a
+     * new one, returned along with the access token.
+     *
+     * @param request The refresh token request.
+     * @return An {@link AuthResponse} containing the new access token, and the new refresh token if rotated.
+     */
+    @Transactional(noRollbackFor = RefreshTokenReuseException.class)
+    public Mono<AuthResponse> refreshToken(RefreshTokenRequest request) {
+        if (authProperties.getRefreshToken().isRotation()) {
+            return Mono.fromCallable(() -> refreshTokenHasher.parse(request.refreshToken()))
+                    .flatMap(this::rotateRefreshToken);
+        }
+        return findSession(request.refreshToken()).flatMap(session -> {
+            RefreshToken tokenEntity = session.token();
+            if (tokenEntity.getRevokedAt() != null) {
+                return Mono.error(new IllegalArgumentException("Refresh token has been revoked"));
+            }
+            if (tokenEntity.getExpiresAt().isBefore(Instant.now())) {
+                return Mono.error(new IllegalArgumentException("Refresh token expired"));
+            }
+            return checkSecret(session)
+                    .then(userRepository.findById(tokenEntity.getUserId()))
+                    .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("User not found")))
+                    .flatMap(user -> "active".equalsIgnoreCase(user.getStatus())
+                            ? accessToken(user, tokenEntity.getId())
+                            : Mono.error(new IllegalArgumentException("User is not active")))
+                    .map(jwt -> new AuthResponse(jwt, null));
+        });
+    }
+
+    /**
+     * Logs out the user by deleting the specified refresh token.
+     * This invalidates only the session associated with the provided refresh token,
+     * including the access tokens issued for it, on every node.
+     *
+     * @param request The logout request containing the refresh token to invalidate.
+     * @return A message response confirming logout.
+     */
+    @Transactional
+    public Mono<MessageResponse> logout(LogoutRequest request) {
+        return findSession(request.refreshToken())
+                .flatMap(session -> checkSecret(session)
+                        .then(refreshTokenRepository.delete(session.token()))
+                        .then(tokenDenyList.revokeSession(session.token().getId()))
+                        .doOnSuccess(ignored -> log.info(
+                                "User logged out successfully. Token ID: {}", session.token().getId())))
+                .thenReturn(new MessageResponse("Logout successful."));
+    }
+
+    private Mono<Void> checkAccount(User user, boolean isEmailLogin) {
+        String status = user.getStatus();
+        if ("suspended".equalsIgnoreCase(status) || "banned".equalsIgnoreCase(status)) {
+            return Mono.error(new LockedException("User account is locked"));
+        }
+        boolean isVerified = isEmailLogin ? user.isEmailVerified() : user.isPhoneVerified();
+        if (!isVerified || !"active".equalsIgnoreCase(status)) {
+            return Mono.error(new DisabledException("User is disabled"));
+        }
+        return Mono.empty();
+    }
+
+    private Mono<User> upgradePassword(User user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.getPassword())) {
+            return Mono.just(user);
+        }
+        return passwordHasher.encode(rawPassword).flatMap(passwordHash -> {
+            user.setPassword(passwordHash);
+            user.setUpdatedAt(Instant.now());
+            return userRepository.save(user);
+        });
+    }
+
+    private Mono<AuthResponse> createSession(User user, ServerHttpRequest httpRequest) {
+        byte[] refreshSecret = refreshTokenHasher.newSecret();
+        InetSocketAddress remoteAddress = httpRequest.getRemoteAddress();
+        Instant now = Instant.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setId(UUID.randomUUID());
+        refreshToken.setUserId(user.getId());
+        refreshToken.setTokenHash(refreshTokenHasher.hash(refreshSecret));
+        refreshToken.setFamilyId(UUID.randomUUID());
+        refreshToken.setExpiresAt(now.plus(authProperties.getRefreshToken().getExpiration()));
+        refreshToken.setDeviceInfo(httpRequest.getHeaders().getFirst(HttpHeaders.USER_AGENT));
+        refreshToken.setIpAddress(remoteAddress != null ? remoteAddress.getHostString() : null);
+        refreshToken.setCreatedAt(now);
+        return entityTemplate.insert(refreshToken)
+                .flatMap(saved -> limitSessions(user.getId(), now).thenReturn(saved))
+                .flatMap(saved -> accessToken(user, saved.getId())
+                        .map(jwt -> new AuthResponse(jwt, refreshTokenHasher.format(saved.getId(), refreshSecret))));
+    }
+
+    /**
+     * Replaces a refresh token with a new one of the same family, like the servlet starter. The common case is a
+     * single statement; the token is only loaded to explain a failure.
+     */
+    private Mono<AuthResponse> rotateRefreshToken(RefreshTokenHasher.Token token) {
+        byte[] successorSecret = refreshTokenHasher.newSecret();
+        UUID successorId = UUID.randomUUID();
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(authProperties.getRefreshToken().getExpiration());
+        Mono<UUID> rotate = Mono.defer(() -> refreshTokenRepository.rotate(
+                token.id(), refreshTokenHasher.hash(token.secret()),
+                successorId, refreshTokenHasher.hash(successorSecret), now, expiresAt));
+
+        return rotate
+                // The token had a legacy hash, now replaced.
+                .switchIfEmpty(Mono.defer(() -> rejectRotation(token).then(rotate)))
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Invalid refresh token")))
+                .flatMap(userRepository::findById)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("User not found")))
+                .flatMap(user -> "active".equalsIgnoreCase(user.getStatus())
+                        ? accessToken(user, successorId)
+                        : Mono.error(new IllegalArgumentException("User is not active")))
+                .map(jwt -> new AuthResponse(jwt, refreshTokenHasher.format(successorId, successorSecret)));
+    }
+
+    /**
+     * Finds out why a refresh token could not be rotated and fails accordingly. A replaced token presented again
+     * with its valid secret revokes its whole family. Completes empty only if the token was live with a legacy
+     * hash, which has been replaced so that the rotation can be retried.
+     */
+    private Mono<Void> rejectRotation(RefreshTokenHasher.Token token) {
+        return findSession(token).flatMap(session -> checkSecret(session).then(Mono.defer(() -> {
+            RefreshToken tokenEntity = session.token();
+            if (tokenEntity.getReplacedBy() != null) {
+                return revokeFamily(tokenEntity).then(Mono.error(new RefreshTokenReuseException()));
+            }
+            if (tokenEntity.getRevokedAt() != null) {
+                return Mono.error(new IllegalArgumentException("Refresh token has been revoked"));
+            }
+            if (tokenEntity.getExpiresAt().isBefore(Instant.now())) {
+                return Mono.error(new IllegalArgumentException("Refresh token expired"));
+            }
+            return Mono.empty();
+        })));
+    }
+
+    private Mono<Void> revokeFamily(RefreshToken tokenEntity) {
+        UUID familyId = tokenEntity.getFamilyId();
+        Instant now = Instant.now();
+        Instant since = now.minus(authProperties.getJwt().getExpiration());
+        // Access tokens of recently rotated tokens may still be valid, so they are denied as well.
+        return refreshTokenRepository.findRecentIdsByFamilyId(familyId, since)
+                .collectList()
+                .flatMap(sessionIds -> refreshTokenRepository.revokeAllByFamilyId(familyId, now)
+                        .flatMap(revoked -> Flux.fromIterable(sessionIds)
+                                .concatMap(tokenDenyList::revokeSession)
+                                .then(Mono.fromRunnable(() -> log.warn(
+                                        "Reuse of a rotated refresh token; revoked {} tokens of family {} of user {}",
+                                        revoked, familyId, tokenEntity.getUserId())))))
+                .then();
+    }
+
+    /**
+     * Revokes the user's oldest live sessions beyond {@code maxActiveSessions}, and the access tokens issued with
+     * them, with the same statement as the servlet starter's {@code SessionLimiter}. The session count cache is
+     * not used here; every login checks the database.
+     */
+    private Mono<Void> limitSessions(UUID userId, Instant now) {
+        int maxActiveSessions = authProperties.getRefreshToken().getMaxActiveSessions();
+        if (maxActiveSessions <= 0) {
+            return Mono.empty();
+        }
+        return refreshTokenRepository.revokeOldestBeyond(userId, now, maxActiveSessions)
+                .concatMap(sessionId -> tokenDenyList.revokeSession(sessionId).thenReturn(sessionId))
+                .count()
+                .filter(revoked -> revoked > 0)
+                .doOnNext(revoked -> log.info("Revoked {} oldest session(s) of user {} beyond the limit of {}",
+                        revoked, userId, maxActiveSessions))
+                .then();
+    }
+
+    private Mono<String> accessToken(User user, UUID sessionId) {
+        return userRepository.findAuthoritiesByUserId(user.getId())
+                .collectList()
+                .map(rows -> {
+                    Map<String, Object> extraClaims = authorityClaims(rows);
+                    extraClaims.put(JwtService.SESSION_CLAIM, sessionId.toString());
+                    var userDetails = new org.springframework.security.core.userdetails.User(
+                            user.getEmail() != null ? user.getEmail() : user.getPhoneNumber(),
+                            "",
+                            Collections.emptyList());
+                    return jwtService.generateToken(extraClaims, userDetails);
+                });
+    }
+
+    private Map<String, Object> authorityClaims(List<UserAuthority> rows) {
+        Map<String, Object> claims = new HashMap<>();
+        if (authProperties.getJwt().getAuthoritiesFormat() == AuthProperties.Jwt.AuthoritiesFormat.COMPACT) {
+            BitSet roleIds = new BitSet();
+            BitSet permissionIds = new BitSet();
+            for (UserAuthority row : rows) {
+                roleIds.set(row.roleId());
+                if (row.permissionId() != null) {
+                    permissionIds.set(row.permissionId());
+                }
+            }
+            claims.put(CompactAuthorities.CLAIM, new CompactAuthorities(roleIds, permissionIds).claimValue());
+            return claims;
+        }
+        Set<String> roles = new LinkedHashSet<>();
+        Set<String> permissions = new LinkedHashSet<>();
+        for (UserAuthority row : rows) {
+            roles.add(row.role());
+            if (row.permission() != null) {
+                permissions.add(row.permission());
+            }
+        }
+        claims.put("roles", List.copyOf(roles));
+        claims.put("permissions", List.copyOf(permissions));
+        return claims;
+    }
+
+    private Mono<Role> defaultRole() {
+        String defaultRoleName = authProperties.getDefaultRole();
+        return roleRepository.findByName(defaultRoleName).switchIfEmpty(Mono.defer(() -> {
+            Role newRole = new Role();
+            newRole.setName(defaultRoleName);
+            return roleRepository.save(newRole);
+        }));
+    }
+
+    private Mono<Void> sendVerification(
+            User user, Profile profile, boolean isEmailProviderNone, boolean isPhoneProviderNone) {
+        boolean hasEmail = user.getEmail() != null && !user.getEmail().isBlank();
+        boolean hasPhone = user.getPhoneNumber() != null && !user.getPhoneNumber().isBlank();
+        VerificationCodeSender sender = verificationCodeSender.getIfAvailable();
+
+        if (hasEmail && !isEmailProviderNone) {
+            String code = UUID.randomUUID().toString();
+            Duration expiration = authProperties.getVerification().getEmailLinkExpiration();
+            return createVerificationCode(user, "EMAIL_VERIFICATION", code, expiration)
+                    .then(sender != null
+                            ? sender.sendEmailVerification(user.getEmail(), profile.getFirstName(), code)
+                            : warnNoSender());
+        } else if (hasPhone && !isPhoneProviderNone) {
+            String code = String.valueOf(RANDOM.nextInt(900000) + 100000);
+            Duration expiration = authProperties.getVerification().getPhoneCodeExpiration();
+            return createVerificationCode(user, "PHONE_VERIFICATION", code, expiration)
+                    .then(sender != null ? sender.sendPhoneVerification(user.getPhoneNumber(), code) : warnNoSender());
+        }
+        return Mono.empty();
+    }
+
+    private Mono<Void> warnNoSender() {
+        return Mono.fromRunnable(() -> log.warn(
+                "Verification code stored but not sent: no VerificationCodeSender bean is configured"));
+    }
+
+    private Mono<Void> createVerificationCode(User user, String type, String code, Duration expiration) {
+        Instant now = Instant.now();
+        VerificationCode verificationCode =
+                new VerificationCode(UUID.randomUUID(), user.getId(), type, code, now.plus(expiration), now);
+        return entityTemplate.insert(verificationCode).then();
+    }
+
+    private Mono<Session> findSession(String compositeToken) {
+        return Mono.fromCallable(() -> refreshTokenHasher.parse(compositeToken)).flatMap(this::findSession);
+    }
+
+    private Mono<Session> findSession(RefreshTokenHasher.Token token) {
+        return refreshTokenRepository.findById(token.id())
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Refresh token not found")))
+                .map(entity -> new Session(entity, token));
+    }
+
+    /**
+     * Checks the secret of a refresh token. Hashes written by earlier versions with the password encoder are
+     * checked on the hashing scheduler and replaced by an HMAC hash on first successful use.
+     */
+    private Mono<Void> checkSecret(Session session) {
+        RefreshToken entity = session.token();
+        String storedHash = entity.getTokenHash();
+        if (!refreshTokenHasher.isLegacyHash(storedHash)) {
+            return refreshTokenHasher.matches(session.secret(), storedHash)
+                    ? Mono.empty()
+                    : Mono.error(new IllegalArgumentException("Invalid refresh token"));
+        }
+        return passwordHasher.matches(session.secret().legacySecret(), storedHash)
+                .flatMap(matches -> {
+                    if (!matches) {
+                        return Mono.error(new IllegalArgumentException("Invalid refresh token"));
+                    }
+                    entity.setTokenHash(refreshTokenHasher.hash(session.secret().secret()));
+                    return refreshTokenRepository.save(entity).then();
+                });
+    }
+
+    private record Session(RefreshToken token, RefreshTokenHasher.Token secret) {}
+}
@@ -0,0 +1,140 @@
+package dev.ctlabs.starter.auth.reactive.autoconfigure;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.config.AuthFlywayConfig;
+import dev.ctlabs.starter.auth.infrastructure.security.AdaptivePasswordEncoderFactory;
+import dev.ctlabs.starter.auth.infrastructure.security.AuthoritySets;
+import dev.ctlabs.starter.auth.infrastructure.security.HmacTokenVerifier;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtAuthenticationCache;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtKeyRing;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtService;
+import dev.ctlabs.starter.auth.infrastructure.security.RefreshTokenHasher;
+import dev.ctlabs.starter.auth.reactive.infrastructure.security.ReactivePasswordHasher;
+import dev.ctlabs.starter.auth.reactive.domain.repository.RevokedTokenRepository;
+import dev.ctlabs.starter.auth.reactive.infrastructure.security.ReactiveRbacCatalog;
+import dev.ctlabs.starter.auth.reactive.infrastructure.security.ReactiveTokenDenyList;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.data.r2dbc.autoconfigure.DataR2dbcAutoConfiguration;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+
+/**
+ * Auto-configuration for the reactive Auth Starter.
+ * Configures R2DBC repositories and the token services shared with the servlet starter.
+ * The servlet starter's own auto-configuration backs off in reactive applications.
+ */
+@AutoConfiguration(after = {R2dbcAutoConfiguration.class, DataR2dbcAutoConfiguration.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(AuthProperties.class)
+@ComponentScan(basePackages = {
+        "dev.ctlabs.starter.auth.reactive.application",
+        "dev.ctlabs.starter.auth.reactive.infrastructure.controller",
+        "dev.ctlabs.starter.auth.reactive.infrastructure.exception"
+})
+@EnableR2dbcRepositories(basePackages = "dev.ctlabs.starter.auth.reactive.domain.repository")
+public class ReactiveAuthAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtKeyRing jwtKeyRing(AuthProperties authProperties) {
+        return new JwtKeyRing(authProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HmacTokenVerifier hmacTokenVerifier(JwtKeyRing jwtKeyRing) {
+        return new HmacTokenVerifier(jwtKeyRing);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtService jwtService(
+            AuthProperties authProperties, JwtKeyRing jwtKeyRing, HmacTokenVerifier hmacTokenVerifier) {
+        return new JwtService(authProperties, jwtKeyRing, hmacTokenVerifier);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtAuthenticationCache jwtAuthenticationCache(AuthProperties authProperties) {
+        return new JwtAuthenticationCache(authProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthoritySets authoritySets() {
+        return new AuthoritySets();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RefreshTokenHasher refreshTokenHasher(AuthProperties authProperties) {
+        return new RefreshTokenHasher(authProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveRbacCatalog reactiveRbacCatalog(DatabaseClient databaseClient) {
+        return new ReactiveRbacCatalog(databaseClient);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveTokenDenyList reactiveTokenDenyList(
+            RevokedTokenRepository revokedTokenRepository, AuthProperties authProperties) {
+        return new ReactiveTokenDenyList(revokedTokenRepository, authProperties);
+    }
+
+    /**
+     * Bean that provides a password encoder, with the same algorithm and calibration as the servlet starter.
+     *
+     * @param authProperties The authentication properties.
+     * @return The delegating password encoder.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordEncoder passwordEncoder(AuthProperties authProperties) {
+        return AdaptivePasswordEncoderFactory.create(authProperties.getPassword());
+    }
+
+    /**
+     * Bean that runs password hashing on a bounded scheduler, off the event loop.
+     *
+     * @param passwordEncoder The password encoder.
+     * @param authProperties  The authentication properties.
+     * @return A {@link ReactivePasswordHasher} limited to {@code ctlabs.auth.threads.hashing-pool-size} threads.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactivePasswordHasher reactivePasswordHasher(
+            PasswordEncoder passwordEncoder, AuthProperties authProperties) {
+        AuthProperties.Threads threads = authProperties.getThreads();
+        return new ReactivePasswordHasher(
+                passwordEncoder,
+                threads.getHashingPoolSize(),
+                threads.getHashingQueueCapacity(),
+                threads.getHashingMaxWait());
+    }
+
+    /**
+     * Runs the starter's Flyway migrations when the application also has a JDBC {@link DataSource}.
+     * R2DBC cannot run Flyway; without a DataSource the schema has to be migrated by other means.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.flywaydb.core.Flyway")
+    @ConditionalOnBean(DataSource.class)
+    @Import(AuthFlywayConfig.class)
+    static class FlywayMigrationConfiguration {}
+}
@@ -0,0 +1,35 @@
+package dev.ctlabs.starter.auth.reactive.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Row of {@code auth_profiles}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table("auth_profiles")
+public class Profile {
+
+    @Id
+    private UUID id;
+
+    private UUID userId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,46 @@
+package dev.ctlabs.starter.auth.reactive.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Row of {@code auth_refresh_tokens}. Each row is a session; the tokens descending from the same login by rotation
+ * share a {@code familyId}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "tokenHash")
+@Table("auth_refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    private UUID id;
+
+    private UUID userId;
+
+    private String tokenHash;
+
+    private UUID familyId;
+
+    private UUID replacedBy;
+
+    private String deviceInfo;
+
+    private String ipAddress;
+
+    private Instant expiresAt;
+
+    private Instant revokedAt;
+
+    private Instant createdAt;
+}
@@ -0,0 +1,34 @@
+package dev.ctlabs.starter.auth.reactive.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Row of {@code auth_revoked_tokens}, read by the deny lists of the servlet and reactive nodes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table("auth_revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    private Long id;
+
+    private String type;
+
+    private String value;
+
+    private Instant expiresAt;
+
+    private Instant createdAt;
+}
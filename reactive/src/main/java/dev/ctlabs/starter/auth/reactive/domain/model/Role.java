@@ -0,0 +1,28 @@
+package dev.ctlabs.starter.auth.reactive.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Row of {@code auth_roles}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table("auth_roles")
+public class Role {
+
+    @Id
+    private Integer id;
+
+    private String name;
+
+    private String description;
+}
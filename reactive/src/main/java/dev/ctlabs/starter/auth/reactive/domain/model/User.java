@@ -0,0 +1,48 @@
+package dev.ctlabs.starter.auth.reactive.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Row of {@code auth_users}, the R2DBC counterpart of the servlet starter's user entity.
+ * Roles and the profile are separate rows and are not mapped as relations.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "password")
+@Table("auth_users")
+public class User {
+
+    @Id
+    private UUID id;
+
+    private String email;
+
+    private String phoneNumber;
+
+    @Column("password_hash")
+    private String password;
+
+    @Column("is_email_verified")
+    private boolean emailVerified;
+
+    @Column("is_phone_verified")
+    private boolean phoneVerified;
+
+    private String status = "active";
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+}
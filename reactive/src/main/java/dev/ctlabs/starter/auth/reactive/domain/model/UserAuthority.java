@@ -0,0 +1,11 @@
+package dev.ctlabs.starter.auth.reactive.domain.model;
+
+/**
+ * One role of a user joined with one of its permissions.
+ *
+ * @param roleId       The role id.
+ * @param role         The role name.
+ * @param permissionId The permission id, or {@code null} for a role without permissions.
+ * @param permission   The permission slug, or {@code null} for a role without permissions.
+ */
+public record UserAuthority(Integer roleId, String role, Integer permissionId, String permission) {}
@@ -0,0 +1,37 @@
+package dev.ctlabs.starter.auth.reactive.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Row of {@code auth_verification_codes}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table("auth_verification_codes")
+public class VerificationCode {
+
+    @Id
+    private UUID id;
+
+    private UUID userId;
+
+    private String type;
+
+    private String code;
+
+    private Instant expiresAt;
+
+    private Instant createdAt;
+}
@@ -0,0 +1,95 @@
+package dev.ctlabs.starter.auth.reactive.domain.repository;
+
+import dev.ctlabs.starter.auth.reactive.domain.model.RefreshToken;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Reactive repository for {@link RefreshToken} rows.
+ * New rows carry an application-assigned id and are inserted through the entity template.
+ */
+@Repository
+public interface RefreshTokenRepository extends ReactiveCrudRepository<RefreshToken, UUID> {
+
+    /**
+     * Revokes a live refresh token and inserts its successor in the same family, in a single statement. Same
+     * statement as the servlet starter's {@code RefreshTokenRotator}, without the user lookup.
+     *
+     * @param id            The ID of the presented token.
+     * @param hash          The hash of the presented secret.
+     * @param successorId   The ID of the successor.
+     * @param successorHash The hash of the successor's secret.
+     * @param now           The current time.
+     * @param expiresAt     The expiration of the successor.
+     * @return The ID of the token's user, or an empty Mono if the token is unknown, revoked, expired or its hash
+     * differs.
+     */
+    @Query("""
+            WITH old AS (
+                UPDATE auth_refresh_tokens
+                SET revoked_at = :now, replaced_by = :successorId
+                WHERE id = :id AND token_hash = :hash AND revoked_at IS NULL AND expires_at > :now
+                RETURNING user_id, family_id, device_info, ip_address)
+            INSERT INTO auth_refresh_tokens
+                (id, user_id, family_id, token_hash, device_info, ip_address, expires_at, created_at)
+            SELECT :successorId, user_id, family_id, :successorHash, device_info, ip_address, :expiresAt, :now
+            FROM old
+            RETURNING user_id
+            """)
+    Mono<UUID> rotate(
+            UUID id, String hash, UUID successorId, String successorHash, Instant now, Instant expiresAt);
+
+    /**
+     * Revokes a user's oldest live tokens beyond a limit, newest first as ranked by the servlet starter's
+     * {@code SessionLimiter}.
+     *
+     * @param userId            The ID of the user.
+     * @param now               The current time, also the revocation time.
+     * @param maxActiveSessions The number of live tokens to keep.
+     * @return The ids of the revoked tokens.
+     */
+    @Query("""
+            WITH live AS (
+                SELECT id, row_number() OVER (ORDER BY created_at DESC, id DESC) AS position
+                FROM auth_refresh_tokens
+                WHERE user_id = :userId AND revoked_at IS NULL AND expires_at > :now)
+            UPDATE auth_refresh_tokens t
+            SET revoked_at = :now
+            FROM live
+            WHERE t.id = live.id AND live.position > :maxActiveSessions
+            RETURNING t.id
+            """)
+    Flux<UUID> revokeOldestBeyond(UUID userId, Instant now, int maxActiveSessions);
+
+    /**
+     * Finds the ids of the tokens of a family that are live or were revoked after a point in time, i.e. whose
+     * access tokens may still be valid.
+     *
+     * @param familyId The ID of the token family.
+     * @param since    The lower bound (exclusive) of the revocation time.
+     * @return The token ids.
+     */
+    @Query("""
+            SELECT id FROM auth_refresh_tokens
+            WHERE family_id = :familyId AND (revoked_at IS NULL OR revoked_at > :since)
+            """)
+    Flux<UUID> findRecentIdsByFamilyId(UUID familyId, Instant since);
+
+    /**
+     * Revokes every token of a family.
+     *
+     * @param familyId The ID of the token family.
+     * @param now      The revocation time.
+     * @return The number of tokens revoked.
+     */
+    @Modifying
+    @Query("UPDATE auth_refresh_tokens SET revoked_at = :now WHERE family_id = :familyId AND revoked_at IS NULL")
+    Mono<Integer> revokeAllByFamilyId(UUID familyId, Instant now);
+}
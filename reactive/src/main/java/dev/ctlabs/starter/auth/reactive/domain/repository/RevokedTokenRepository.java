@@ -0,0 +1,31 @@
+package dev.ctlabs.starter.auth.reactive.domain.repository;
+
+import dev.ctlabs.starter.auth.reactive.domain.model.RevokedToken;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+/**
+ * Reactive repository for {@link RevokedToken} rows.
+ */
+@Repository
+public interface RevokedTokenRepository extends ReactiveCrudRepository<RevokedToken, Long> {
+
+    /**
+     * Finds the revocations that still affect unexpired tokens.
+     *
+     * @param now The current time.
+     * @return The revocations expiring after {@code now}.
+     */
+    Flux<RevokedToken> findAllByExpiresAtAfter(Instant now);
+
+    /**
+     * Finds the revocations recorded after a point in time.
+     *
+     * @param since The lower bound (exclusive).
+     * @return The revocations created after {@code since}.
+     */
+    Flux<RevokedToken> findAllByCreatedAtAfter(Instant since);
+}
@@ -0,0 +1,21 @@
+package dev.ctlabs.starter.auth.reactive.domain.repository;
+
+import dev.ctlabs.starter.auth.reactive.domain.model.Role;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository for {@link Role} rows.
+ */
+@Repository
+public interface RoleRepository extends ReactiveCrudRepository<Role, Integer> {
+
+    /**
+     * Finds a role by its name.
+     *
+     * @param name The name of the role.
+     * @return The role, or an empty Mono if not found.
+     */
+    Mono<Role> findByName(String name);
+}
@@ -0,0 +1,76 @@
+package dev.ctlabs.starter.auth.reactive.domain.repository;
+
+import dev.ctlabs.starter.auth.reactive.domain.model.User;
+import dev.ctlabs.starter.auth.reactive.domain.model.UserAuthority;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Reactive repository for {@link User} rows.
+ */
+@Repository
+public interface UserRepository extends ReactiveCrudRepository<User, UUID> {
+
+    /**
+     * Finds a user by email address.
+     *
+     * @param email The email address to search for.
+     * @return The user, or an empty Mono if not found.
+     */
+    Mono<User> findByEmail(String email);
+
+    /**
+     * Finds a user by phone number.
+     *
+     * @param phoneNumber The phone number to search for.
+     * @return The user, or an empty Mono if not found.
+     */
+    Mono<User> findByPhoneNumber(String phoneNumber);
+
+    /**
+     * Finds a user by a canonical email or phone number, with a single probe of the identifier index.
+     *
+     * @param identifier The identifier, normalized with {@code IdentifierNormalizer}.
+     * @return The user, or an empty Mono if not found.
+     */
+    @Query("""
+            SELECT u.*
+            FROM auth_user_identifiers i
+            JOIN auth_users u ON u.id = i.user_id
+            WHERE i.identifier = :identifier
+            """)
+    Mono<User> findByIdentifier(String identifier);
+
+    /**
+     * Loads the roles of a user together with the permissions they grant, in a single query.
+     *
+     * @param userId The ID of the user.
+     * @return One row per role and permission.
+     */
+    @Query("""
+            SELECT r.id AS role_id, r.name AS role, p.id AS permission_id, p.slug AS permission
+            FROM auth_user_roles ur
+            JOIN auth_roles r ON r.id = ur.role_id
+            LEFT JOIN auth_role_permissions rp ON rp.role_id = r.id
+            LEFT JOIN auth_permissions p ON p.id = rp.permission_id
+            WHERE ur.user_id = :userId
+            """)
+    Flux<UserAuthority> findAuthoritiesByUserId(UUID userId);
+
+    /**
+     * Grants a role to a user.
+     *
+     * @param userId The ID of the user.
+     * @param roleId The ID of the role.
+     * @return The number of inserted rows.
+     */
+    @Modifying
+    @Query("INSERT INTO auth_user_roles (user_id, role_id) VALUES (:userId, :roleId)")
+    Mono<Integer> addRole(UUID userId, Integer roleId);
+}
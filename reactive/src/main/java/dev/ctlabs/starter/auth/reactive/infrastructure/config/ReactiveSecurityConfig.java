@@ -0,0 +1,80 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.config;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.security.AuthoritySets;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtAuthenticationCache;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtService;
+import dev.ctlabs.starter.auth.reactive.autoconfigure.ReactiveAuthAutoConfiguration;
+import dev.ctlabs.starter.auth.reactive.infrastructure.security.JwtAuthenticationWebFilter;
+import dev.ctlabs.starter.auth.reactive.infrastructure.security.ReactiveRbacCatalog;
+import dev.ctlabs.starter.auth.reactive.infrastructure.security.ReactiveTokenDenyList;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.security.autoconfigure.web.reactive.ReactiveWebSecurityAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Security configuration for reactive applications.
+ * Configures stateless JWT authentication and access control, mirroring the servlet {@code SecurityConfig}.
+ */
+@AutoConfiguration(
+        after = ReactiveAuthAutoConfiguration.class,
+        before = ReactiveWebSecurityAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * Configures the security filter chain.
+     * The JWT filter is created here rather than declared as a bean, so that WebFlux does not also register it
+     * as a global {@code WebFilter}.
+     *
+     * @param http                The ServerHttpSecurity to configure.
+     * @param jwtService          The JWT service.
+     * @param authenticationCache The cache of verified tokens.
+     * @param rbacCatalog         The catalog resolving compact authorities.
+     * @param authoritySets       The pool of interned authority sets.
+     * @param denyList            The deny list of revoked access tokens.
+     * @param authProperties      The authentication properties.
+     * @return The configured {@link SecurityWebFilterChain}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            JwtService jwtService,
+            JwtAuthenticationCache authenticationCache,
+            ReactiveRbacCatalog rbacCatalog,
+            AuthoritySets authoritySets,
+            ReactiveTokenDenyList denyList,
+            AuthProperties authProperties) {
+        String authPath = "%s%s".formatted(authProperties.getBaseUrl(), "/**");
+        String[] publicPaths = authProperties.getPublicPaths().toArray(String[]::new);
+
+        http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers(authPath, "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/error")
+                        .permitAll()
+                        .pathMatchers(publicPaths)
+                        .permitAll()
+                        .anyExchange()
+                        .authenticated())
+                .addFilterAt(
+                        new JwtAuthenticationWebFilter(
+                                jwtService, authenticationCache, rbacCatalog, authoritySets, denyList),
+                        SecurityWebFiltersOrder.AUTHENTICATION);
+
+        return http.build();
+    }
+}
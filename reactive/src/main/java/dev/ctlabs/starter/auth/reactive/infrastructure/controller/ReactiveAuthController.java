@@ -0,0 +1,76 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.controller;
+
+import dev.ctlabs.starter.auth.application.dto.AuthResponse;
+import dev.ctlabs.starter.auth.application.dto.LoginRequest;
+import dev.ctlabs.starter.auth.application.dto.LogoutRequest;
+import dev.ctlabs.starter.auth.application.dto.MessageResponse;
+import dev.ctlabs.starter.auth.application.dto.RefreshTokenRequest;
+import dev.ctlabs.starter.auth.application.dto.RegisterRequest;
+import dev.ctlabs.starter.auth.reactive.application.service.ReactiveAuthService;
+import jakarta.validation.Valid;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for the authentication flows available in the reactive module.
+ * Paths and payloads are the same as in the servlet starter.
+ */
+@RestController
+@RequestMapping("${ctlabs.auth.base-url:/api/auth}")
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+
+    public ReactiveAuthController(ReactiveAuthService authService) {
+        this.authService = authService;
+    }
+
+    /**
+     * Registers a new user.
+     *
+     * @param request The registration request.
+     * @return The response confirming the registration.
+     */
+    @PostMapping("/register")
+    public Mono<MessageResponse> register(@Valid @RequestBody RegisterRequest request) {
+        return authService.register(request);
+    }
+
+    /**
+     * Authenticates a user.
+     *
+     * @param request     The login request.
+     * @param httpRequest The HTTP request.
+     * @return The authentication response containing tokens.
+     */
+    @PostMapping("/login")
+    public Mono<AuthResponse> login(@Valid @RequestBody LoginRequest request, ServerHttpRequest httpRequest) {
+        return authService.login(request, httpRequest);
+    }
+
+    /**
+     * Refreshes an expired access token.
+     *
+     * @param request The refresh token request.
+     * @return The new authentication response.
+     */
+    @PostMapping("/refresh-token")
+    public Mono<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        return authService.refreshToken(request);
+    }
+
+    /**
+     * Logs out the current session.
+     *
+     * @param request The logout request.
+     * @return The response confirming logout.
+     */
+    @PostMapping("/logout")
+    public Mono<MessageResponse> logout(@Valid @RequestBody LogoutRequest request) {
+        return authService.logout(request);
+    }
+}
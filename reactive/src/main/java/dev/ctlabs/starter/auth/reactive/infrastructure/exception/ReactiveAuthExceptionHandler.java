@@ -0,0 +1,83 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.exception;
+
+import dev.ctlabs.starter.auth.infrastructure.exception.ProblemDetailException;
+import dev.ctlabs.starter.auth.infrastructure.security.HashingCapacityExceededException;
+import dev.ctlabs.starter.auth.reactive.infrastructure.controller.ReactiveAuthController;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception handler for the reactive authentication controller.
+ * Maps exceptions to the same RFC 7807 ProblemDetail responses as the servlet starter.
+ */
+@Slf4j
+@RestControllerAdvice(assignableTypes = ReactiveAuthController.class)
+public class ReactiveAuthExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgumentException(IllegalArgumentException e) {
+        log.error("Illegal argument error: {}", e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+        problemDetail.setTitle("Bad Request");
+        return problemDetail;
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ProblemDetail handleAuthenticationException(AuthenticationException e) {
+        log.error("Authentication error: {}", e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+        problemDetail.setTitle("Unauthorized");
+        return problemDetail;
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ProblemDetail handleValidationExceptions(WebExchangeBindException ex) {
+        log.error("Validation error: {}", ex.getMessage());
+        ProblemDetail problemDetail =
+                ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Field validation error");
+        problemDetail.setTitle("Validation failed");
+
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult()
+                .getFieldErrors()
+                .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+        problemDetail.setProperty("errors", errors);
+
+        return problemDetail;
+    }
+
+    @ExceptionHandler(ProblemDetailException.class)
+    public ProblemDetail handleProblemDetailException(ProblemDetailException e) {
+        return e.getProblemDetail();
+    }
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<ProblemDetail> handleHashingCapacityExceededException(HashingCapacityExceededException e) {
+        log.warn("Password hashing saturated, rejecting request: {}", e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE, "The server is busy, please retry later");
+        problemDetail.setTitle("Service Unavailable");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ProblemDetail handleGeneralException(Exception e) {
+        log.error("Internal server error: ", e);
+        ProblemDetail problemDetail =
+                ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        problemDetail.setTitle("Internal Error");
+        return problemDetail;
+    }
+}
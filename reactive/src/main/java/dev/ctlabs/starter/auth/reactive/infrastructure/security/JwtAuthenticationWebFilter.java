@@ -0,0 +1,99 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.security;
+
+import dev.ctlabs.starter.auth.infrastructure.security.AuthoritySets;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtAuthentication;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtAuthenticationCache;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtService;
+import dev.ctlabs.starter.auth.infrastructure.security.TokenPrincipal;
+import dev.ctlabs.starter.auth.infrastructure.security.VerifiedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * {@link WebFilter} equivalent of the servlet starter's {@code JwtAuthenticationFilter}.
+ * <p>
+ * Verification is pure CPU work and runs on the event loop; only tokens carrying the compact "authz" claim may
+ * need a (cached, non-blocking) catalog lookup. Revoked tokens are rejected from the in-memory deny list, whether
+ * or not they were cached. Invalid tokens leave the exchange unauthenticated, so that the authorization rules
+ * decide whether the request is rejected.
+ */
+@Slf4j
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtService jwtService;
+    private final JwtAuthenticationCache authenticationCache;
+    private final ReactiveRbacCatalog rbacCatalog;
+    private final AuthoritySets authoritySets;
+    private final ReactiveTokenDenyList denyList;
+
+    public JwtAuthenticationWebFilter(
+            JwtService jwtService,
+            JwtAuthenticationCache authenticationCache,
+            ReactiveRbacCatalog rbacCatalog,
+            AuthoritySets authoritySets,
+            ReactiveTokenDenyList denyList) {
+        this.jwtService = jwtService;
+        this.authenticationCache = authenticationCache;
+        this.rbacCatalog = rbacCatalog;
+        this.authoritySets = authoritySets;
+        this.denyList = denyList;
+    }
+
+    @Override
+    public @NonNull Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        String jwt = authHeader.substring(7);
+        return authenticate(jwt)
+                .filter(entry -> !denyList.isRevoked(entry.token()))
+                .map(entry -> new JwtAuthentication(entry.principal()))
+                .onErrorResume(e -> {
+                    log.warn("Could not set user authentication in security context error:{}", e.getMessage());
+                    return Mono.empty();
+                })
+                .flatMap(authentication -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                        .thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(true)))
+                .then();
+    }
+
+    private Mono<JwtAuthenticationCache.Entry> authenticate(String jwt) {
+        JwtAuthenticationCache.Entry cached = authenticationCache.get(jwt);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.defer(() -> verify(jwt))
+                .doOnNext(entry -> authenticationCache.put(jwt, entry));
+    }
+
+    private Mono<JwtAuthenticationCache.Entry> verify(String jwt) {
+        VerifiedToken token = jwtService.verify(jwt);
+        String subject = token.subject();
+        if (subject == null) {
+            return Mono.empty();
+        }
+        if (token.authorities() == null) {
+            return Mono.just(entry(subject, token.roles(), token.permissions(), token));
+        }
+        return rbacCatalog.resolve(token.authorities())
+                .map(resolved -> entry(subject, resolved.roles(), resolved.permissions(), token));
+    }
+
+    private JwtAuthenticationCache.Entry entry(
+            String subject, List<String> roles, List<String> permissions, VerifiedToken token) {
+        return new JwtAuthenticationCache.Entry(
+                new TokenPrincipal(subject, authoritySets.intern(roles, permissions)), token);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.security;
+
+import dev.ctlabs.starter.auth.infrastructure.security.HashingCapacityExceededException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs a {@link PasswordEncoder} on a bounded scheduler, off the event loop.
+ * <p>
+ * Password hashing is deliberately slow CPU work; a single BCrypt call on a Netty event-loop thread would stall
+ * every connection served by that thread. At most {@code poolSize} hashes are computed at once and about
+ * {@code queueCapacity} wait in the scheduler's queues; beyond that, or when a queued hash has waited longer than
+ * {@code maxWait}, the hash fails with a {@link HashingCapacityExceededException}.
+ */
+public class ReactivePasswordHasher implements AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final Scheduler scheduler;
+    private final long maxWaitNanos;
+    private final Duration retryAfter;
+
+    public ReactivePasswordHasher(PasswordEncoder delegate, int poolSize, int queueCapacity, Duration maxWait) {
+        this.delegate = delegate;
+        int threads = Math.max(poolSize, 1);
+        // Bounded elastic schedulers cap the queue of each thread, not the total.
+        int queuePerThread = Math.max((queueCapacity + threads - 1) / threads, 1);
+        this.scheduler = Schedulers.newBoundedElastic(threads, queuePerThread, "ctlabs-auth-hash", 60, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfter = Duration.ofSeconds(Math.max(1, (maxWait.toMillis() + 999) / 1000));
+    }
+
+    /**
+     * Hashes a raw password.
+     *
+     * @param rawPassword The raw password.
+     * @return The encoded password.
+     */
+    public Mono<String> encode(CharSequence rawPassword) {
+        return offload(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Checks a raw password against its encoded form.
+     *
+     * @param rawPassword     The raw password.
+     * @param encodedPassword The stored hash.
+     * @return {@code true} if the password matches.
+     */
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Tells whether a stored hash uses an outdated algorithm or cost and should be replaced. Does not hash.
+     *
+     * @param encodedPassword The stored hash.
+     * @return {@code true} if the password should be rehashed.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+
+    private <T> Mono<T> offload(Callable<T> task) {
+        return Mono.defer(() -> {
+                    long submittedAt = System.nanoTime();
+                    return Mono.fromCallable(() -> {
+                        if (System.nanoTime() - submittedAt > maxWaitNanos) {
+                            throw new HashingCapacityExceededException(retryAfter);
+                        }
+                        return task.call();
+                    }).subscribeOn(scheduler);
+                })
+                .onErrorMap(RejectedExecutionException.class, e -> new HashingCapacityExceededException(retryAfter));
+    }
+}
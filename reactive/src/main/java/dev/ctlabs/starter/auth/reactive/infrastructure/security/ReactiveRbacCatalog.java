@@ -0,0 +1,114 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.security;
+
+import dev.ctlabs.starter.auth.infrastructure.security.CompactAuthorities;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of the servlet starter's {@code RbacCatalog}: an in-memory snapshot of the role names
+ * and permission slugs, indexed by database id, used to resolve the compact "authz" claim.
+ * <p>
+ * The snapshot is loaded on first use and reloaded when a token references an unknown id, at most once every
+ * few seconds. Concurrent requests share a single in-flight load.
+ */
+public class ReactiveRbacCatalog {
+
+    private static final long RELOAD_INTERVAL_MILLIS = 5_000;
+
+    private final DatabaseClient databaseClient;
+
+    private volatile Mono<Snapshot> snapshot;
+    private volatile long lastReload;
+
+    public ReactiveRbacCatalog(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.snapshot = load();
+    }
+
+    /**
+     * Resolves the names of the roles and permissions encoded in an "authz" claim.
+     * Ids that are still unknown after a reload (e.g. deleted roles) are ignored.
+     *
+     * @param compact The claim value.
+     * @return The role names and permission slugs.
+     */
+    public Mono<Authorities> resolve(String compact) {
+        CompactAuthorities ids = CompactAuthorities.parse(compact);
+        return snapshot
+                .flatMap(current -> current.knows(ids) ? Mono.just(current) : reloadIfStale())
+                .map(current -> new Authorities(
+                        names(ids.roleIds(), current.roleNames()),
+                        names(ids.permissionIds(), current.permissionSlugs())));
+    }
+
+    /**
+     * Reloads the catalog from the database. Call after roles or permissions have been changed.
+     */
+    public void reload() {
+        snapshot = load();
+    }
+
+    private Mono<Snapshot> reloadIfStale() {
+        long now = System.currentTimeMillis();
+        if (now - lastReload >= RELOAD_INTERVAL_MILLIS) {
+            reload();
+        }
+        return snapshot;
+    }
+
+    private Mono<Snapshot> load() {
+        lastReload = System.currentTimeMillis();
+        Mono<String[]> roleNames = names("SELECT id, name FROM auth_roles", "name");
+        Mono<String[]> permissionSlugs = names("SELECT id, slug FROM auth_permissions", "slug");
+        return Mono.zip(roleNames, permissionSlugs, Snapshot::new)
+                .doOnError(e -> snapshot = load())
+                .cache();
+    }
+
+    private Mono<String[]> names(String sql, String column) {
+        return databaseClient.sql(sql)
+                .map(row -> Map.entry(row.get("id", Integer.class), row.get(column, String.class)))
+                .all()
+                .collectList()
+                .map(entries -> {
+                    int maxId = entries.stream().mapToInt(Map.Entry::getKey).max().orElse(-1);
+                    String[] names = new String[maxId + 1];
+                    entries.forEach(entry -> names[entry.getKey()] = entry.getValue());
+                    return names;
+                });
+    }
+
+    private static List<String> names(BitSet ids, String[] names) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            if (id < names.length && names[id] != null) {
+                result.add(names[id]);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Role names and permission slugs resolved from a compact claim.
+     *
+     * @param roles       The role names.
+     * @param permissions The permission slugs.
+     */
+    public record Authorities(List<String> roles, List<String> permissions) {}
+
+    private record Snapshot(String[] roleNames, String[] permissionSlugs) {
+
+        boolean knows(CompactAuthorities ids) {
+            return ids.roleIds().length() <= roleNames.length && ids.permissionIds().length() <= permissionSlugs.length;
+        }
+    }
+}
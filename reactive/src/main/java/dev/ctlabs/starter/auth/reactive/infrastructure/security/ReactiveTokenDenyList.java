@@ -0,0 +1,146 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.security.RevocationSet;
+import dev.ctlabs.starter.auth.infrastructure.security.TokenDenyList;
+import dev.ctlabs.starter.auth.infrastructure.security.VerifiedToken;
+import dev.ctlabs.starter.auth.reactive.domain.model.RevokedToken;
+import dev.ctlabs.starter.auth.reactive.domain.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reactive counterpart of the servlet starter's {@link TokenDenyList}.
+ * <p>
+ * Reads and writes the same {@code auth_revoked_tokens} table, so that a logout, password reset, ban or session
+ * eviction on any node, servlet or reactive, rejects the affected access tokens everywhere. Revocations are
+ * mirrored into a {@link RevocationSet} that is polled in the background; checking a token never touches the
+ * database.
+ */
+@Slf4j
+public class ReactiveTokenDenyList implements DisposableBean {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final boolean enabled;
+    private final Duration tokenLifetime;
+    private final Duration pollInterval;
+    private final Duration pollLookback;
+
+    private final RevocationSet revocations = new RevocationSet();
+    private final LongAdder rejected = new LongAdder();
+    private volatile Instant lastPoll;
+    private volatile Disposable polling;
+
+    public ReactiveTokenDenyList(RevokedTokenRepository revokedTokenRepository, AuthProperties authProperties) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        AuthProperties.Jwt.Revocation revocation = authProperties.getJwt().getRevocation();
+        this.enabled = revocation.isEnabled();
+        this.tokenLifetime = authProperties.getJwt().getExpiration();
+        this.pollInterval = revocation.getPollInterval();
+        this.pollLookback = revocation.getPollLookback();
+    }
+
+    /**
+     * Loads the revocations still in effect and starts polling for new ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        polling = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll().onErrorResume(e -> {
+                    log.warn("Could not load revoked tokens: {}", e.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    /**
+     * Revokes every access token issued for a session (refresh token).
+     *
+     * @param sessionId The refresh token id.
+     * @return A {@link Mono} completing once the revocation is stored.
+     */
+    public Mono<Void> revokeSession(UUID sessionId) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        Instant now = Instant.now();
+        RevokedToken revocation = new RevokedToken(
+                null, TokenDenyList.TYPE_SESSION, sessionId.toString(), now.plus(tokenLifetime), now);
+        return revokedTokenRepository.save(revocation)
+                .doOnNext(saved -> revocations.add(
+                        saved.getType(), saved.getValue(), saved.getCreatedAt(), saved.getExpiresAt()))
+                .then();
+    }
+
+    /**
+     * Checks whether a verified token has been revoked. Never touches the database.
+     *
+     * @param token The verified token.
+     * @return {@code true} if the token must be rejected.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (!enabled || !revocations.contains(token)) {
+            return false;
+        }
+        rejected.increment();
+        return true;
+    }
+
+    /**
+     * Applies the revocations recorded since the last poll (by any node) and drops the expired ones.
+     *
+     * @return A {@link Mono} completing once the revocations are applied.
+     */
+    public Mono<Void> poll() {
+        return Mono.defer(() -> {
+            Instant now = Instant.now();
+            Flux<RevokedToken> recorded = lastPoll == null
+                    ? revokedTokenRepository.findAllByExpiresAtAfter(now)
+                    : revokedTokenRepository.findAllByCreatedAtAfter(lastPoll.minus(pollLookback));
+            return recorded
+                    .doOnNext(revocation -> revocations.add(
+                            revocation.getType(),
+                            revocation.getValue(),
+                            revocation.getCreatedAt(),
+                            revocation.getExpiresAt()))
+                    .then(Mono.fromRunnable(() -> {
+                        lastPoll = now;
+                        revocations.prune(now.toEpochMilli());
+                    }));
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public int size() {
+        return revocations.size();
+    }
+
+    @Override
+    public void destroy() {
+        Disposable current = polling;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Delivers verification codes created during registration.
+ * <p>
+ * The mail and phone integrations of the servlet starter are blocking and are not part of the reactive module.
+ * Applications that configure a notification provider declare a bean of this type; without one, codes are
+ * stored but not sent.
+ */
+public interface VerificationCodeSender {
+
+    /**
+     * Sends an email verification link.
+     *
+     * @param email     The recipient email address.
+     * @param firstName The first name of the recipient.
+     * @param code      The verification code.
+     * @return Completes once the message has been handed over.
+     */
+    Mono<Void> sendEmailVerification(String email, String firstName, String code);
+
+    /**
+     * Sends a phone verification code.
+     *
+     * @param phoneNumber The recipient phone number.
+     * @param code        The verification code.
+     * @return Completes once the message has been handed over.
+     */
+    Mono<Void> sendPhoneVerification(String phoneNumber, String code);
+}
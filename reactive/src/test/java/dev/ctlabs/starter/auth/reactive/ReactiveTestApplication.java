@@ -0,0 +1,24 @@
+package dev.ctlabs.starter.auth.reactive;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * WebFlux application for the module's integration tests, with one endpoint that requires an access token.
+ */
+@SpringBootApplication
+public class ReactiveTestApplication {
+
+    @RestController
+    static class MeController {
+
+        @GetMapping("/api/test/me")
+        Mono<String> me(Mono<Principal> principal) {
+            return principal.map(Principal::getName);
+        }
+    }
+}
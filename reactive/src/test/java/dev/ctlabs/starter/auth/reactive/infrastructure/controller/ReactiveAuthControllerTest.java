@@ -0,0 +1,147 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.controller;
+
+import dev.ctlabs.starter.auth.application.dto.AuthResponse;
+import dev.ctlabs.starter.auth.application.dto.LoginRequest;
+import dev.ctlabs.starter.auth.application.dto.LogoutRequest;
+import dev.ctlabs.starter.auth.application.dto.RefreshTokenRequest;
+import dev.ctlabs.starter.auth.application.dto.RegisterRequest;
+import dev.ctlabs.starter.auth.reactive.ReactiveTestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the reactive module against the schema migrated by the servlet starter's Flyway scripts.
+@SpringBootTest(classes = ReactiveTestApplication.class)
+@Testcontainers
+class ReactiveAuthControllerTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM auth_users");
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @Test
+    void registerAndLoginShouldIssueTokens() {
+        register("reactive@test.com");
+
+        AuthResponse response = login("reactive@test.com", "Password123!")
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(response).isNotNull();
+        assertThat(response.accessToken()).isNotBlank();
+        assertThat(response.refreshToken()).isNotBlank();
+        me(response.accessToken()).expectStatus().isOk().expectBody(String.class).isEqualTo("reactive@test.com");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM auth_user_identifiers WHERE identifier = ?", Integer.class, "reactive@test.com"))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void loginShouldFailWithWrongPassword() {
+        register("wrong@test.com");
+
+        login("wrong@test.com", "WrongPassword1!")
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Invalid credentials");
+    }
+
+    @Test
+    void refreshShouldIssueNewAccessToken() {
+        register("refresh@test.com");
+        AuthResponse session = session("refresh@test.com");
+
+        AuthResponse refreshed = client.post().uri("/api/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequest(session.refreshToken()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(refreshed).isNotNull();
+        me(refreshed.accessToken()).expectStatus().isOk();
+    }
+
+    @Test
+    void logoutShouldRevokeRefreshAndAccessTokens() {
+        register("logout@test.com");
+        AuthResponse session = session("logout@test.com");
+
+        client.post().uri("/api/auth/logout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new LogoutRequest(session.refreshToken()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Logout successful.");
+
+        client.post().uri("/api/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequest(session.refreshToken()))
+                .exchange()
+                .expectStatus().isBadRequest();
+        me(session.accessToken()).expectStatus().isUnauthorized();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM auth_revoked_tokens WHERE type = 'SESSION'", Integer.class))
+                .isPositive();
+    }
+
+    private void register(String email) {
+        client.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RegisterRequest("Reactive", "Test", email, null, "Password123!"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private WebTestClient.ResponseSpec login(String email, String password) {
+        return client.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new LoginRequest(email, password))
+                .exchange();
+    }
+
+    private AuthResponse session(String email) {
+        return login(email, "Password123!")
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec me(String accessToken) {
+        return client.get().uri("/api/test/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .exchange();
+    }
+}
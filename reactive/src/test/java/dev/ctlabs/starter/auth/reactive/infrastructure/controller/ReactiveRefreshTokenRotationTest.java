@@ -0,0 +1,107 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.controller;
+
+import dev.ctlabs.starter.auth.application.dto.AuthResponse;
+import dev.ctlabs.starter.auth.application.dto.LoginRequest;
+import dev.ctlabs.starter.auth.application.dto.RefreshTokenRequest;
+import dev.ctlabs.starter.auth.application.dto.RegisterRequest;
+import dev.ctlabs.starter.auth.reactive.ReactiveTestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ReactiveTestApplication.class, properties = "ctlabs.auth.refresh-token.rotation=true")
+@Testcontainers
+class ReactiveRefreshTokenRotationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM auth_users");
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @Test
+    void refreshShouldReplaceRefreshToken() {
+        AuthResponse first = login("rotate@test.com");
+
+        AuthResponse rotated = refresh(first.refreshToken())
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(rotated).isNotNull();
+        assertThat(rotated.refreshToken()).isNotNull().isNotEqualTo(first.refreshToken());
+        refresh(rotated.refreshToken()).expectStatus().isOk();
+    }
+
+    @Test
+    void reusingReplacedRefreshTokenShouldRevokeWholeFamily() {
+        AuthResponse first = login("reuse@test.com");
+        AuthResponse second = refresh(first.refreshToken())
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(second).isNotNull();
+
+        refresh(first.refreshToken())
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Refresh token has already been used");
+        refresh(second.refreshToken())
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Refresh token has been revoked");
+        client.get().uri("/api/test/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + second.accessToken())
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private AuthResponse login(String email) {
+        client.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RegisterRequest("Rotation", "Test", email, null, "Password123!"))
+                .exchange()
+                .expectStatus().isOk();
+        return client.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new LoginRequest(email, "Password123!"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec refresh(String refreshToken) {
+        return client.post().uri("/api/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequest(refreshToken))
+                .exchange();
+    }
+}
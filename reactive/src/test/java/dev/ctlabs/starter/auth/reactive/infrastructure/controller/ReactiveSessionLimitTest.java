@@ -0,0 +1,92 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.controller;
+
+import dev.ctlabs.starter.auth.application.dto.AuthResponse;
+import dev.ctlabs.starter.auth.application.dto.LoginRequest;
+import dev.ctlabs.starter.auth.application.dto.RefreshTokenRequest;
+import dev.ctlabs.starter.auth.application.dto.RegisterRequest;
+import dev.ctlabs.starter.auth.reactive.ReactiveTestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ReactiveTestApplication.class, properties = "ctlabs.auth.refresh-token.max-active-sessions=2")
+@Testcontainers
+class ReactiveSessionLimitTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM auth_users");
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @Test
+    void loginBeyondLimitShouldRevokeOldestSession() {
+        client.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RegisterRequest("Limit", "Test", "limit@test.com", null, "Password123!"))
+                .exchange()
+                .expectStatus().isOk();
+        AuthResponse oldest = login("limit@test.com");
+        AuthResponse second = login("limit@test.com");
+        AuthResponse newest = login("limit@test.com");
+
+        refresh(oldest.refreshToken())
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Refresh token has been revoked");
+        me(oldest.accessToken()).expectStatus().isUnauthorized();
+        refresh(second.refreshToken()).expectStatus().isOk();
+        refresh(newest.refreshToken()).expectStatus().isOk();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM auth_refresh_tokens WHERE revoked_at IS NULL", Integer.class))
+                .isEqualTo(2);
+    }
+
+    private AuthResponse login(String email) {
+        return client.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new LoginRequest(email, "Password123!"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec refresh(String refreshToken) {
+        return client.post().uri("/api/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequest(refreshToken))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec me(String accessToken) {
+        return client.get().uri("/api/test/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .exchange();
+    }
+}
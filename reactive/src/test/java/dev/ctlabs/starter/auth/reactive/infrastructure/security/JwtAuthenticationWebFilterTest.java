@@ -0,0 +1,139 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.security.AuthoritySets;
+import dev.ctlabs.starter.auth.infrastructure.security.HmacTokenVerifier;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtAuthenticationCache;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtKeyRing;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtService;
+import dev.ctlabs.starter.auth.infrastructure.security.TokenDenyList;
+import dev.ctlabs.starter.auth.reactive.domain.model.RevokedToken;
+import dev.ctlabs.starter.auth.reactive.domain.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationWebFilterTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private RevokedTokenRepository repository;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        when(repository.save(any(RevokedToken.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        var properties = properties(false);
+        var keyRing = new JwtKeyRing(properties);
+        jwtService = new JwtService(properties, keyRing, new HmacTokenVerifier(keyRing));
+    }
+
+    @Test
+    void shouldAuthenticateTokenThatIsNotRevoked() {
+        var denyList = new ReactiveTokenDenyList(repository, properties(false));
+        var filter = filter(false, denyList);
+
+        assertThat(authenticate(filter, token(UUID.randomUUID()))).hasValueSatisfying(
+                authentication -> assertThat(authentication.getName()).isEqualTo("user@test.com"));
+    }
+
+    @Test
+    void shouldRejectTokenOfRevokedSession() {
+        UUID sessionId = UUID.randomUUID();
+        var denyList = new ReactiveTokenDenyList(repository, properties(false));
+        var filter = filter(false, denyList);
+
+        denyList.revokeSession(sessionId).block();
+
+        assertThat(authenticate(filter, token(sessionId))).isEmpty();
+        assertThat(authenticate(filter, token(UUID.randomUUID()))).isPresent();
+        assertThat(denyList.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectCachedTokenOnceRevoked() {
+        UUID sessionId = UUID.randomUUID();
+        String jwt = token(sessionId);
+        var denyList = new ReactiveTokenDenyList(repository, properties(true));
+        var filter = filter(true, denyList);
+
+        assertThat(authenticate(filter, jwt)).isPresent();
+        denyList.revokeSession(sessionId).block();
+
+        assertThat(authenticate(filter, jwt)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectTokensRevokedByOtherNodes() {
+        UUID sessionId = UUID.randomUUID();
+        RevokedToken remote = new RevokedToken(
+                1L, TokenDenyList.TYPE_SESSION, sessionId.toString(), Instant.now().plusSeconds(600), Instant.now());
+        when(repository.findAllByExpiresAtAfter(any())).thenReturn(Flux.empty());
+        when(repository.findAllByCreatedAtAfter(any())).thenReturn(Flux.just(remote));
+        var denyList = new ReactiveTokenDenyList(repository, properties(false));
+        var filter = filter(false, denyList);
+
+        denyList.poll().block();
+        assertThat(authenticate(filter, token(sessionId))).isPresent();
+
+        denyList.poll().block();
+        assertThat(authenticate(filter, token(sessionId))).isEmpty();
+    }
+
+    private JwtAuthenticationWebFilter filter(boolean cacheEnabled, ReactiveTokenDenyList denyList) {
+        return new JwtAuthenticationWebFilter(
+                jwtService,
+                new JwtAuthenticationCache(properties(cacheEnabled)),
+                mock(ReactiveRbacCatalog.class),
+                new AuthoritySets(),
+                denyList);
+    }
+
+    private String token(UUID sessionId) {
+        return jwtService.generateToken(
+                Map.of("roles", List.of("USER"), JwtService.SESSION_CLAIM, sessionId.toString()),
+                new User("user@test.com", "", List.of()));
+    }
+
+    /**
+     * Runs the filter and returns the authentication seen by the rest of the chain.
+     */
+    private static Optional<Authentication> authenticate(JwtAuthenticationWebFilter filter, String jwt) {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt));
+        Authentication[] seen = new Authentication[1];
+        filter.filter(exchange, ignored -> ReactiveSecurityContextHolder.getContext()
+                        .map(SecurityContext::getAuthentication)
+                        .doOnNext(authentication -> seen[0] = authentication)
+                        .then())
+                .block();
+        return Optional.ofNullable(seen[0]);
+    }
+
+    private static AuthProperties properties(boolean cacheEnabled) {
+        var properties = new AuthProperties();
+        properties.getJwt().setSecretKey(SECRET);
+        properties.getJwt().getCache().setEnabled(cacheEnabled);
+        return properties;
+    }
+}
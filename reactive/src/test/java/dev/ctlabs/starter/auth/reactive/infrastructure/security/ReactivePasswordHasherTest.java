@@ -0,0 +1,54 @@
+package dev.ctlabs.starter.auth.reactive.infrastructure.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactivePasswordHasherTest {
+
+    private final ReactivePasswordHasher hasher =
+            new ReactivePasswordHasher(new BCryptPasswordEncoder(4), 2, 10, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        hasher.close();
+    }
+
+    @Test
+    void shouldHashAndMatchPasswords() {
+        StepVerifier.create(hasher.encode("Password123!").flatMap(hash -> hasher.matches("Password123!", hash)))
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier.create(hasher.encode("Password123!").flatMap(hash -> hasher.matches("wrong", hash)))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldHashOffTheCallingThread() {
+        PasswordEncoder recordingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return Thread.currentThread().getName();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+        try (var offloading = new ReactivePasswordHasher(recordingEncoder, 1, 10, Duration.ofSeconds(5))) {
+            String threadName = Mono.just("raw").flatMap(offloading::encode).block();
+
+            assertThat(threadName).startsWith("ctlabs-auth-hash");
+        }
+    }
+}
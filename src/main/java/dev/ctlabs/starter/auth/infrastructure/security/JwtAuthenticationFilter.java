@@ -1,88 +0,0 @@
-package dev.ctlabs.starter.auth.infrastructure.security;
-
-import io.jsonwebtoken.Claims;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
-import org.jspecify.annotations.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-/**
- * Filter that intercepts requests to validate JWT tokens.
- * Extracts the token from the Authorization header and authenticates the user
- * if valid.
- */
-@Slf4j
-@Component
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
-
-    private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
-
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
-        this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
-    }
-
-    @Override
-    protected void doFilterInternal(
-            @NonNull HttpServletRequest request,
-            @NonNull HttpServletResponse response,
-            @NonNull FilterChain filterChain)
-            throws ServletException, IOException {
-
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        jwt = authHeader.substring(7);
-
-        try {
-            Claims claims = jwtService.extractAllClaims(jwt);
-            userEmail = claims.getSubject();
-
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                List<String> roles = claims.get("roles", List.class);
-                if (roles == null) roles = Collections.emptyList();
-
-                List<String> permissions = claims.get("permissions", List.class);
-                if (permissions == null) permissions = Collections.emptyList();
-
-                List<GrantedAuthority> authorities = new ArrayList<>();
-                roles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
-                permissions.forEach(perm -> authorities.add(new SimpleGrantedAuthority(perm)));
-
-                UserDetails userDetails =
-                        new org.springframework.security.core.userdetails.User(userEmail, "", authorities);
-
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
-        } catch (Exception e) {
-            log.warn("Could not set user authentication in security context error:{}", e.getMessage());
-        }
-
-        filterChain.doFilter(request, response);
-    }
-}
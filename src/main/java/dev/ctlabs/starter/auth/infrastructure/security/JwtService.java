@@ -1,64 +0,0 @@
-package dev.ctlabs.starter.auth.infrastructure.security;
-
-import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.stereotype.Service;
-
-import javax.crypto.SecretKey;
-import java.util.Date;
-import java.util.Map;
-
-/**
- * Service for JWT (JSON Web Token) operations.
- * Handles token generation, validation, and claim extraction.
- */
-@Service
-public class JwtService {
-
-    private final AuthProperties authProperties;
-
-    public JwtService(AuthProperties authProperties) {
-        this.authProperties = authProperties;
-    }
-
-    /**
-     * Generates a JWT token for a user with extra claims.
-     *
-     * @param extraClaims Additional claims to include in the token.
-     * @param userDetails The user details.
-     * @return The generated JWT token.
-     */
-    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return Jwts.builder()
-                .claims(extraClaims)
-                .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(
-                        System.currentTimeMillis() + authProperties.getJwt().getExpiration().toMillis()))
-                .signWith(getSignInKey())
-                .compact();
-    }
-
-    /**
-     * Extracts all claims from a JWT token.
-     *
-     * @param token The JWT token.
-     * @return The claims.
-     */
-    public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(authProperties.getJwt().getSecretKey());
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
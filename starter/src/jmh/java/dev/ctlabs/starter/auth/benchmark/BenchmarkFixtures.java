@@ -0,0 +1,79 @@
+package dev.ctlabs.starter.auth.benchmark;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.domain.model.Permission;
+import dev.ctlabs.starter.auth.domain.model.Role;
+import dev.ctlabs.starter.auth.infrastructure.security.CompactAuthorities;
+import dev.ctlabs.starter.auth.infrastructure.security.RbacCatalog;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared test data for the benchmarks: properties and an RBAC catalog of realistic size.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private static final String[] ACTIONS = {"read", "write", "delete", "admin"};
+
+    private BenchmarkFixtures() {}
+
+    static AuthProperties properties() {
+        AuthProperties properties = new AuthProperties();
+        properties.getJwt().setSecretKey(SECRET_KEY);
+        properties.getJwt().setExpiration(Duration.ofDays(1));
+        properties.getRefreshToken().setPepper("benchmark-pepper");
+        return properties;
+    }
+
+    /**
+     * Builds three roles sharing {@code permissionCount} permissions with slugs like "orders:write".
+     */
+    static List<Role> roles(int permissionCount) {
+        List<Permission> permissions = new ArrayList<>(permissionCount);
+        for (int i = 1; i <= permissionCount; i++) {
+            permissions.add(new Permission(i, "resource" + (i / 4) + ":" + ACTIONS[i % 4], null));
+        }
+        return List.of(
+                role(1, "USER", permissions.subList(0, permissionCount / 3)),
+                role(2, "EDITOR", permissions.subList(0, 2 * permissionCount / 3)),
+                role(3, "ADMIN", permissions));
+    }
+
+    /**
+     * Builds the grant the {@code RbacCatalog} resolves for the given roles.
+     */
+    static RbacCatalog.Grant grant(List<Role> roles) {
+        BitSet roleIds = new BitSet();
+        BitSet permissionIds = new BitSet();
+        for (Role role : roles) {
+            roleIds.set(role.getId());
+            role.getPermissions().forEach(permission -> permissionIds.set(permission.getId()));
+        }
+        return new RbacCatalog.Grant(
+                roleNames(roles), permissionSlugs(roles), new CompactAuthorities(roleIds, permissionIds));
+    }
+
+    static List<String> roleNames(List<Role> roles) {
+        return roles.stream().map(Role::getName).toList();
+    }
+
+    static List<String> permissionSlugs(List<Role> roles) {
+        return roles.stream()
+                .flatMap(role -> role.getPermissions().stream())
+                .map(Permission::getSlug)
+                .distinct()
+                .toList();
+    }
+
+    private static Role role(int id, String name, List<Permission> permissions) {
+        Set<Permission> set = new HashSet<>(permissions);
+        return new Role(id, name, null, set);
+    }
+}
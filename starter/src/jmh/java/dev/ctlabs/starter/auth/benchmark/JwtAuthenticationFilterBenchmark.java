@@ -0,0 +1,96 @@
+package dev.ctlabs.starter.auth.benchmark;
+
+import dev.ctlabs.starter.auth.application.service.AccessTokenClaims;
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.security.AuthoritySets;
+import dev.ctlabs.starter.auth.infrastructure.security.HmacTokenVerifier;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtAuthenticationCache;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtAuthenticationFilter;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtKeyRing;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtService;
+import dev.ctlabs.starter.auth.infrastructure.security.RbacCatalog;
+import dev.ctlabs.starter.auth.infrastructure.security.TokenDenyList;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}, with and without the verified-token cache.
+ * The filter chain reads the authorities, as an authorization rule would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    @Param({"50"})
+    public int permissionCount;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+    private int grantedAuthorities;
+
+    @Setup
+    public void setUp() {
+        AuthProperties properties = BenchmarkFixtures.properties();
+        properties.getJwt().getCache().setEnabled(cacheEnabled);
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        JwtService jwtService = new JwtService(properties, keyRing, new HmacTokenVerifier(keyRing));
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                username -> {
+                    throw new UnsupportedOperationException("The filter must not load users");
+                },
+                new JwtAuthenticationCache(properties),
+                new RbacCatalog(null, null, null, properties),
+                new AuthoritySets(),
+                new TokenDenyList(null, null, properties));
+
+        RbacCatalog.Grant grant = BenchmarkFixtures.grant(BenchmarkFixtures.roles(permissionCount));
+        String token = jwtService.generateToken(
+                AccessTokenClaims.authorities(grant, AuthProperties.Jwt.AuthoritiesFormat.NAMES),
+                new User("bench@ctlabs.dev", "", List.of()));
+
+        request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> grantedAuthorities =
+                SecurityContextHolder.getContext().getAuthentication().getAuthorities().size();
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, chain);
+            return grantedAuthorities;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.ctlabs.starter.auth.benchmark;
+
+import dev.ctlabs.starter.auth.application.service.AccessTokenClaims;
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.security.HmacTokenVerifier;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtKeyRing;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtService;
+import dev.ctlabs.starter.auth.infrastructure.security.RbacCatalog;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and parsing, plus the claim building done by {@code AuthService} on login and refresh.
+ * {@code permissionCount} is the size of the RBAC catalog granted to the user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"10", "50", "150"})
+    public int permissionCount;
+
+    @Param({"NAMES", "COMPACT"})
+    public AuthProperties.Jwt.AuthoritiesFormat format;
+
+    private JwtService jwtService;
+    private RbacCatalog.Grant grant;
+    private Map<String, Object> claims;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        AuthProperties properties = BenchmarkFixtures.properties();
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        jwtService = new JwtService(properties, keyRing, new HmacTokenVerifier(keyRing));
+        grant = BenchmarkFixtures.grant(BenchmarkFixtures.roles(permissionCount));
+        claims = AccessTokenClaims.authorities(grant, format);
+        user = new User("bench@ctlabs.dev", "", List.of());
+        token = jwtService.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildClaims() {
+        return AccessTokenClaims.authorities(grant, format);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractAllClaims(token);
+    }
+}
@@ -0,0 +1,66 @@
+package dev.ctlabs.starter.auth.benchmark;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.security.HmacTokenVerifier;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtKeyRing;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtService;
+import dev.ctlabs.starter.auth.infrastructure.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the jjwt parser with the {@link HmacTokenVerifier} fast path on a typical access token.
+ * Run with {@code -Djmh.args="JwtVerification -prof gc"} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private JwtService jwtService;
+    private HmacTokenVerifier fastVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        AuthProperties properties = new AuthProperties();
+        properties.getJwt().setSecretKey("404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        properties.getJwt().setExpiration(Duration.ofDays(1));
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        fastVerifier = new HmacTokenVerifier(keyRing);
+        jwtService = new JwtService(properties, keyRing, fastVerifier);
+        token = jwtService.generateToken(
+                Map.of(
+                        "roles", List.of("USER", "EDITOR"),
+                        "permissions", List.of("users:read", "posts:read", "posts:write")),
+                new User("bench@ctlabs.dev", "", List.of()));
+    }
+
+    @Benchmark
+    public Claims jjwt() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public VerifiedToken fastPath() {
+        return fastVerifier.verify(token);
+    }
+}
@@ -0,0 +1,79 @@
+package dev.ctlabs.starter.auth.benchmark;
+
+import dev.ctlabs.starter.auth.application.validation.PasswordConstraintValidator;
+import dev.ctlabs.starter.auth.infrastructure.security.RefreshTokenHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password validation and refresh-token hashing, with the starter's default {@link PasswordEncoder} (as used for
+ * refresh tokens before {@link RefreshTokenHasher}) and with the HMAC hasher.
+ * BCrypt runs in milliseconds, so these results are reported in microseconds per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private PasswordConstraintValidator validator;
+    private PasswordEncoder passwordEncoder;
+    private String rawRefreshToken;
+    private String refreshTokenHash;
+    private RefreshTokenHasher refreshTokenHasher;
+    private RefreshTokenHasher.Token refreshToken;
+    private String refreshTokenHmac;
+
+    @Setup
+    public void setUp() {
+        validator = new PasswordConstraintValidator(BenchmarkFixtures.properties());
+        passwordEncoder = new BCryptPasswordEncoder();
+        rawRefreshToken = UUID.randomUUID().toString();
+        refreshTokenHash = passwordEncoder.encode(rawRefreshToken);
+        refreshTokenHasher = new RefreshTokenHasher(BenchmarkFixtures.properties());
+        byte[] secret = refreshTokenHasher.newSecret();
+        refreshToken = refreshTokenHasher.parse(refreshTokenHasher.format(UUID.randomUUID(), secret));
+        refreshTokenHmac = refreshTokenHasher.hash(secret);
+    }
+
+    /** Valid passwords only: the rejection path needs a Bean Validation context. */
+    @Benchmark
+    public boolean validatePassword() {
+        return validator.isValid("Sup3rSecret", null);
+    }
+
+    @Benchmark
+    public String hashRefreshToken() {
+        return passwordEncoder.encode(rawRefreshToken);
+    }
+
+    @Benchmark
+    public boolean matchRefreshToken() {
+        return passwordEncoder.matches(rawRefreshToken, refreshTokenHash);
+    }
+
+    @Benchmark
+    public String hashRefreshTokenHmac() {
+        return refreshTokenHasher.hash(refreshToken.secret());
+    }
+
+    @Benchmark
+    public boolean matchRefreshTokenHmac() {
+        return refreshTokenHasher.matches(refreshToken, refreshTokenHmac);
+    }
+}
@@ -0,0 +1,14 @@
+package dev.ctlabs.starter.auth.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of active sessions, newest first.
+ *
+ * @param sessions   The sessions of this page.
+ * @param nextCursor The cursor of the next page, or {@code null} if this is the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SessionPage(List<SessionInfo> sessions, String nextCursor) {}
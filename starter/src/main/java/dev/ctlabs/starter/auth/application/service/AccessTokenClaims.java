@@ -0,0 +1,34 @@
+package dev.ctlabs.starter.auth.application.service;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.security.CompactAuthorities;
+import dev.ctlabs.starter.auth.infrastructure.security.RbacCatalog;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the authority claims written into access tokens.
+ */
+public final class AccessTokenClaims {
+
+    private AccessTokenClaims() {}
+
+    /**
+     * Builds the claims describing the roles and permissions resolved by the {@link RbacCatalog}.
+     *
+     * @param grant  The role names, distinct permission slugs and their ids.
+     * @param format The configured authorities format.
+     * @return A mutable map with either the "roles" and "permissions" claims or the compact "authz" claim.
+     */
+    public static Map<String, Object> authorities(RbacCatalog.Grant grant, AuthProperties.Jwt.AuthoritiesFormat format) {
+        Map<String, Object> claims = new HashMap<>();
+        if (format == AuthProperties.Jwt.AuthoritiesFormat.COMPACT) {
+            claims.put(CompactAuthorities.CLAIM, grant.ids().claimValue());
+            return claims;
+        }
+        claims.put("roles", grant.roles());
+        claims.put("permissions", grant.permissions());
+        return claims;
+    }
+}
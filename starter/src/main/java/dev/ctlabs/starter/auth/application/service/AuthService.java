@@ -10,10 +10,10 @@ import dev.ctlabs.starter.auth.application.dto.RegisterRequest;
 import dev.ctlabs.starter.auth.application.dto.ResendVerificationRequest;
 import dev.ctlabs.starter.auth.application.dto.ResetPasswordRequest;
 import dev.ctlabs.starter.auth.application.dto.SessionInfo;
+import dev.ctlabs.starter.auth.application.dto.SessionPage;
 import dev.ctlabs.starter.auth.application.dto.VerifyEmailRequest;
 import dev.ctlabs.starter.auth.application.dto.VerifyPhoneRequest;
 import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
-import dev.ctlabs.starter.auth.domain.model.Permission;
 import dev.ctlabs.starter.auth.domain.model.Profile;
 import dev.ctlabs.starter.auth.domain.model.RefreshToken;
 import dev.ctlabs.starter.auth.domain.model.Role;
@@ -23,15 +23,28 @@ import dev.ctlabs.starter.auth.domain.repository.RefreshTokenRepository;
 import dev.ctlabs.starter.auth.domain.repository.RoleRepository;
 import dev.ctlabs.starter.auth.domain.repository.UserRepository;
 import dev.ctlabs.starter.auth.domain.repository.VerificationCodeRepository;
+import dev.ctlabs.starter.auth.infrastructure.security.AuthUserDetails;
 import dev.ctlabs.starter.auth.infrastructure.security.JwtService;
+import dev.ctlabs.starter.auth.infrastructure.security.LoginThrottle;
+import dev.ctlabs.starter.auth.infrastructure.security.RbacCatalog;
+import dev.ctlabs.starter.auth.infrastructure.security.RefreshTokenHasher;
+import dev.ctlabs.starter.auth.infrastructure.security.RefreshTokenReuseException;
+import dev.ctlabs.starter.auth.infrastructure.security.RefreshTokenRotator;
+import dev.ctlabs.starter.auth.infrastructure.security.SessionLimiter;
+import dev.ctlabs.starter.auth.infrastructure.security.TokenDenyList;
+import dev.ctlabs.starter.auth.infrastructure.service.AuditEvent;
+import dev.ctlabs.starter.auth.infrastructure.service.AuditLogWriter;
 import dev.ctlabs.starter.auth.infrastructure.service.EmailService;
 import dev.ctlabs.starter.auth.infrastructure.service.PhoneService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -40,9 +53,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
 
@@ -55,6 +68,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthService {
 
+    private static final int MAX_SESSION_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final VerificationCodeRepository verificationCodeRepository;
@@ -65,6 +80,13 @@ public class AuthService {
     private final EmailService emailService;
     private final PhoneService phoneService;
     private final AuthProperties authProperties;
+    private final TokenDenyList tokenDenyList;
+    private final RefreshTokenHasher refreshTokenHasher;
+    private final RefreshTokenRotator refreshTokenRotator;
+    private final SessionLimiter sessionLimiter;
+    private final RbacCatalog rbacCatalog;
+    private final LoginThrottle loginThrottle;
+    private final AuditLogWriter auditLogWriter;
 
     /**
      * Authenticates a user based on login request.
@@ -80,42 +102,42 @@ public class AuthService {
             throw new IllegalArgumentException("Email or phone number must be provided for login.");
         }
 
-        if (identifier.contains("@")) {
-            identifier = identifier.trim().toLowerCase();
-        }
+        identifier = IdentifierNormalizer.normalize(identifier);
+        String ipAddress = servletRequest.getRemoteAddr();
+        loginThrottle.checkAllowed(identifier, ipAddress);
 
         log.info("Login attempt for user: {}", identifier);
-        var authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(identifier, request.password()));
-        var userDetails = (UserDetails) authentication.getPrincipal();
-
-        final String finalIdentifier = identifier;
-        User user = userRepository
-                .findByEmail(finalIdentifier)
-                .or(() -> userRepository.findByPhoneNumber(finalIdentifier))
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("roles", user.getRoles().stream().map(Role::getName).toList());
-        extraClaims.put(
-                "permissions",
-                user.getRoles().stream()
-                        .flatMap(role -> role.getPermissions().stream())
-                        .map(Permission::getSlug)
-                        .distinct()
-                        .toList());
-        var jwt = jwtService.generateToken(extraClaims, userDetails);
-
-        String rawRefreshToken = UUID.randomUUID().toString();
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(identifier, request.password()));
+        } catch (AuthenticationException e) {
+            loginThrottle.recordFailure(identifier, ipAddress);
+            auditLogWriter.record(AuditEvent.TYPE_LOGIN_FAILURE, null, identifier);
+            throw e;
+        }
+        loginThrottle.recordSuccess(identifier);
+        AuthUserDetails userDetails = authentication.getPrincipal() instanceof AuthUserDetails details
+                ? details
+                : loadUserDetails(identifier);
+
+        byte[] refreshSecret = refreshTokenHasher.newSecret();
         RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        refreshToken.setTokenHash(passwordEncoder.encode(rawRefreshToken));
+        refreshToken.setUser(userRepository.getReferenceById(userDetails.getUserId()));
+        refreshToken.setTokenHash(refreshTokenHasher.hash(refreshSecret));
+        refreshToken.setFamilyId(UUID.randomUUID());
         refreshToken.setExpiresAt(Instant.now().plus(authProperties.getRefreshToken().getExpiration()));
         refreshToken.setDeviceInfo(servletRequest.getHeader("User-Agent"));
-        refreshToken.setIpAddress(servletRequest.getRemoteAddr());
-        refreshToken = refreshTokenRepository.save(refreshToken);
+        refreshToken.setIpAddress(ipAddress);
+        refreshToken = sessionLimiter.open(refreshToken);
 
-        String compositeToken = refreshToken.getId().toString() + ":" + rawRefreshToken;
+        Map<String, Object> extraClaims = AccessTokenClaims.authorities(
+                userDetails.getGrant(), authProperties.getJwt().getAuthoritiesFormat());
+        extraClaims.put(JwtService.SESSION_CLAIM, refreshToken.getId().toString());
+        var jwt = jwtService.generateToken(extraClaims, userDetails);
+
+        String compositeToken = refreshTokenHasher.format(refreshToken.getId(), refreshSecret);
+        auditLogWriter.record(AuditEvent.TYPE_LOGIN_SUCCESS, userDetails.getUserId(), null);
 
         log.info("User authenticated successfully: {}", identifier);
         return new AuthResponse(jwt, compositeToken);
@@ -129,33 +151,33 @@ public class AuthService {
      */
     @Transactional
     public MessageResponse register(RegisterRequest request) {
-        String email = request.email() != null ? request.email().trim().toLowerCase() : null;
-        boolean hasEmail = email != null && !email.isBlank();
-        boolean hasPhone =
-                request.phoneNumber() != null && !request.phoneNumber().isBlank();
+        String email = IdentifierNormalizer.email(request.email());
+        String phoneNumber = request.phoneNumber();
+        boolean hasEmail = email != null;
+        boolean hasPhone = phoneNumber != null && !phoneNumber.isBlank();
 
-        log.info("Registration attempt. Email: {}, Phone: {}", email, request.phoneNumber());
+        log.info("Registration attempt. Email: {}, Phone: {}", email, phoneNumber);
 
         if (!hasEmail && !hasPhone) {
             throw new IllegalArgumentException("At least one contact method (email or phone) must be provided.");
         }
 
-        if (hasEmail && userRepository.findByEmail(email).isPresent()) {
+        if (hasEmail && userRepository.findByIdentifier(email).isPresent()) {
             throw new IllegalArgumentException("Email is already registered");
         }
 
         if (hasPhone) {
-            if (!request.phoneNumber().matches("^\\+[1-9]\\d{1,14}$")) {
+            if (!IdentifierNormalizer.isE164(phoneNumber)) {
                 throw new IllegalArgumentException("Phone number must be in E.164 format (e.g. +59170712345)");
             }
-            if (userRepository.findByPhoneNumber(request.phoneNumber()).isPresent()) {
+            if (userRepository.findByIdentifier(phoneNumber).isPresent()) {
                 throw new IllegalArgumentException("Phone number is already registered");
             }
         }
 
         User user = new User();
         user.setEmail(email);
-        user.setPhoneNumber(request.phoneNumber());
+        user.setPhoneNumber(hasPhone ? phoneNumber : null);
         user.setPassword(passwordEncoder.encode(request.password()));
         user.setStatus("active");
 
@@ -227,13 +249,10 @@ public class AuthService {
      */
     @Transactional
     public MessageResponse verifyEmail(VerifyEmailRequest request) {
-        String email = request.email();
-        if (email != null) {
-            email = email.trim().toLowerCase();
-        }
+        String email = IdentifierNormalizer.email(request.email());
 
         User user = userRepository
-                .findByEmail(email)
+                .findByIdentifier(email)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with the provided email."));
 
         if (user.isEmailVerified()) {
@@ -251,6 +270,7 @@ public class AuthService {
         user.setEmailVerified(true);
         userRepository.save(user);
         verificationCodeRepository.delete(vc);
+        auditLogWriter.record(AuditEvent.TYPE_EMAIL_VERIFIED, user.getId(), null);
 
         log.info("Email verified successfully for user: {}", email);
         return new MessageResponse("Email verified successfully.");
@@ -265,7 +285,7 @@ public class AuthService {
     @Transactional
     public MessageResponse verifyPhone(VerifyPhoneRequest request) {
         User user = userRepository
-                .findByPhoneNumber(request.phoneNumber())
+                .findByIdentifier(IdentifierNormalizer.phone(request.phoneNumber()))
                 .orElseThrow(() -> new IllegalArgumentException("User not found with the provided phone number."));
 
         if (user.isPhoneVerified()) {
@@ -283,6 +303,7 @@ public class AuthService {
         user.setPhoneVerified(true);
         userRepository.save(user);
         verificationCodeRepository.delete(vc);
+        auditLogWriter.record(AuditEvent.TYPE_PHONE_VERIFIED, user.getId(), null);
 
         log.info("Phone verified successfully for user: {}", request.phoneNumber());
         return new MessageResponse("Phone verified successfully.");
@@ -305,14 +326,8 @@ public class AuthService {
             throw new IllegalArgumentException("Username is required");
         }
 
-        if (identifier.contains("@")) {
-            identifier = identifier.trim().toLowerCase();
-        }
-
-        final String finalIdentifier = identifier;
-
-        User user = userRepository.findByEmail(finalIdentifier)
-                .or(() -> userRepository.findByPhoneNumber(finalIdentifier))
+        User user = userRepository
+                .findByIdentifier(IdentifierNormalizer.normalize(identifier))
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         Profile profile = user.getProfile();
@@ -388,15 +403,8 @@ public class AuthService {
      */
     @Transactional
     public MessageResponse forgotPassword(ForgotPasswordRequest request) {
-        String identifier = request.username();
-        if (identifier != null && identifier.contains("@")) {
-            identifier = identifier.trim().toLowerCase();
-        }
-
-        final String finalIdentifier = identifier;
         User user = userRepository
-                .findByEmail(finalIdentifier)
-                .or(() -> userRepository.findByPhoneNumber(finalIdentifier))
+                .findByIdentifier(IdentifierNormalizer.normalize(request.username()))
                 .orElseThrow(() -> new IllegalArgumentException("User not found."));
 
         String resetCode;
@@ -430,6 +438,7 @@ public class AuthService {
         }
 
         createVerificationCode(user, "PASSWORD_RESET", resetCode, expiration);
+        auditLogWriter.record(AuditEvent.TYPE_PASSWORD_RESET_REQUESTED, user.getId(), null);
 
         return new MessageResponse("Password reset code sent.");
     }
@@ -443,15 +452,8 @@ public class AuthService {
      */
     @Transactional
     public MessageResponse resetPassword(ResetPasswordRequest request) {
-        String identifier = request.username();
-        if (identifier != null && identifier.contains("@")) {
-            identifier = identifier.trim().toLowerCase();
-        }
-
-        final String finalIdentifier = identifier;
         User user = userRepository
-                .findByEmail(finalIdentifier)
-                .or(() -> userRepository.findByPhoneNumber(finalIdentifier))
+                .findByIdentifier(IdentifierNormalizer.normalize(request.username()))
                 .orElseThrow(() -> new IllegalArgumentException("User not found."));
 
         VerificationCode vc = verificationCodeRepository
@@ -467,31 +469,29 @@ public class AuthService {
 
         verificationCodeRepository.delete(vc);
 
-        refreshTokenRepository.deleteByUser_Id(user.getId());
+        refreshTokenRepository.revokeAllByUserId(user.getId(), Instant.now());
+        tokenDenyList.revokeSubject(AuthUserDetails.principal(user));
+        auditLogWriter.record(AuditEvent.TYPE_PASSWORD_RESET, user.getId(), null);
 
         return new MessageResponse("Password reset successfully.");
     }
 
     /**
-     * Refreshes the access token using a refresh token.
+     * Refreshes the access token using a refresh token. With rotation enabled, the refresh token is replaced by a
+     * new one, returned along with the access token.
      *
      * @param request The refresh token request.
-     * @return An {@link AuthResponse} containing the new access token.
+     * @return An {@link AuthResponse} containing the new access token, and the new refresh token if rotated.
      */
-    @Transactional
+    @Transactional(noRollbackFor = RefreshTokenReuseException.class)
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        String compositeToken = request.refreshToken();
-
-        if (compositeToken == null || !compositeToken.contains(":")) {
-            throw new IllegalArgumentException("Invalid refresh token format");
+        RefreshTokenHasher.Token token = refreshTokenHasher.parse(request.refreshToken());
+        if (authProperties.getRefreshToken().isRotation()) {
+            return rotateRefreshToken(token);
         }
 
-        String[] parts = compositeToken.split(":");
-        UUID tokenId = UUID.fromString(parts[0]);
-        String rawToken = parts[1];
-
         RefreshToken tokenEntity = refreshTokenRepository
-                .findById(tokenId)
+                .findById(token.id())
                 .orElseThrow(() -> new IllegalArgumentException("Refresh token not found"));
 
         if (tokenEntity.getRevokedAt() != null) {
@@ -502,9 +502,7 @@ public class AuthService {
             throw new IllegalArgumentException("Refresh token expired");
         }
 
-        if (!passwordEncoder.matches(rawToken, tokenEntity.getTokenHash())) {
-            throw new IllegalArgumentException("Invalid refresh token");
-        }
+        checkRefreshToken(token, tokenEntity);
 
         User user = tokenEntity.getUser();
         if (!"active".equalsIgnoreCase(user.getStatus())) {
@@ -512,7 +510,7 @@ public class AuthService {
         }
 
         UserDetails userDetails = new org.springframework.security.core.userdetails.User(
-                user.getEmail() != null ? user.getEmail() : user.getPhoneNumber(),
+                AuthUserDetails.principal(user),
                 user.getPassword() != null ? user.getPassword() : "",
                 true,
                 true,
@@ -520,39 +518,129 @@ public class AuthService {
                 true,
                 Collections.emptyList());
 
-        Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("roles", user.getRoles().stream().map(Role::getName).toList());
-        extraClaims.put(
-                "permissions",
-                user.getRoles().stream()
-                        .flatMap(role -> role.getPermissions().stream())
-                        .map(Permission::getSlug)
-                        .distinct()
-                        .toList());
+        Map<String, Object> extraClaims = authorityClaims(user);
+        extraClaims.put(JwtService.SESSION_CLAIM, tokenEntity.getId().toString());
         String newJwt = jwtService.generateToken(extraClaims, userDetails);
+        auditLogWriter.record(AuditEvent.TYPE_TOKEN_REFRESH, user.getId(), null);
 
         return new AuthResponse(newJwt, null);
     }
 
+    /**
+     * Replaces a refresh token with a new one of the same family. The common case is a single statement that
+     * also returns the user's status and role ids; the token is only loaded to explain a failure.
+     */
+    private AuthResponse rotateRefreshToken(RefreshTokenHasher.Token token) {
+        byte[] successorSecret = refreshTokenHasher.newSecret();
+        UUID successorId = UUID.randomUUID();
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(authProperties.getRefreshToken().getExpiration());
+
+        Optional<RefreshTokenRotator.Rotation> rotated = refreshTokenRotator.rotate(
+                token.id(), refreshTokenHasher.hash(token.secret()),
+                successorId, refreshTokenHasher.hash(successorSecret), now, expiresAt);
+        if (rotated.isEmpty()) {
+            rejectRotation(token);
+            // The token had a legacy hash, now replaced.
+            rotated = refreshTokenRotator.rotate(
+                    token.id(), refreshTokenHasher.hash(token.secret()),
+                    successorId, refreshTokenHasher.hash(successorSecret), now, expiresAt);
+        }
+        RefreshTokenRotator.Rotation rotation =
+                rotated.orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        if (!"active".equalsIgnoreCase(rotation.status())) {
+            throw new IllegalArgumentException("User is not active");
+        }
+
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                rotation.subject(), "", true, true, true, true, Collections.emptyList());
+        Map<String, Object> extraClaims = AccessTokenClaims.authorities(
+                rbacCatalog.grantRoleIds(rotation.roleIds()), authProperties.getJwt().getAuthoritiesFormat());
+        extraClaims.put(JwtService.SESSION_CLAIM, successorId.toString());
+        String newJwt = jwtService.generateToken(extraClaims, userDetails);
+        auditLogWriter.record(AuditEvent.TYPE_TOKEN_REFRESH, rotation.userId(), null);
+
+        return new AuthResponse(newJwt, refreshTokenHasher.format(successorId, successorSecret));
+    }
+
+    /**
+     * Finds out why a refresh token could not be rotated and throws accordingly. A replaced token presented again
+     * with its valid secret revokes its whole family. Returns normally only if the token was live with a legacy
+     * hash, which has been replaced so that the rotation can be retried.
+     */
+    private void rejectRotation(RefreshTokenHasher.Token token) {
+        RefreshToken tokenEntity = refreshTokenRepository
+                .findById(token.id())
+                .orElseThrow(() -> new IllegalArgumentException("Refresh token not found"));
+
+        checkRefreshToken(token, tokenEntity);
+
+        if (tokenEntity.getReplacedBy() != null) {
+            revokeFamily(tokenEntity);
+            throw new RefreshTokenReuseException();
+        }
+        if (tokenEntity.getRevokedAt() != null) {
+            throw new IllegalArgumentException("Refresh token has been revoked");
+        }
+        if (tokenEntity.getExpiresAt().isBefore(Instant.now())) {
+            throw new IllegalArgumentException("Refresh token expired");
+        }
+        refreshTokenRepository.flush();
+    }
+
+    private void revokeFamily(RefreshToken tokenEntity) {
+        UUID userId = tokenEntity.getUser().getId();
+        UUID familyId = tokenEntity.getFamilyId();
+        Instant now = Instant.now();
+        // Access tokens of recently rotated tokens may still be valid, so they are denied as well.
+        List<UUID> sessionIds = refreshTokenRepository.findRecentIdsByFamilyId(
+                familyId, now.minus(authProperties.getJwt().getExpiration()));
+        int revoked = refreshTokenRepository.revokeAllByFamilyId(familyId, now);
+        tokenDenyList.revokeSessions(sessionIds);
+        auditLogWriter.record(AuditEvent.TYPE_TOKEN_REUSE, userId, familyId.toString());
+        log.warn("Reuse of a rotated refresh token; revoked {} tokens of family {} of user {}",
+                revoked, familyId, userId);
+    }
+
     /**
      * Retrieves all active sessions (refresh tokens) for a specific user.
-     * Useful for showing a "Where you're logged in" list.
+     * Useful for showing a "Where you're logged in" list. Prefer the paged variant for users that may have many
+     * sessions.
      *
      * @param userId The ID of the user.
-     * @return A list of active session information.
+     * @return A list of active session information, newest first.
      */
     @Transactional(readOnly = true)
     public List<SessionInfo> getActiveSessions(UUID userId) {
-        return refreshTokenRepository.findAllByUser_Id(userId).stream()
-                .filter(token ->
-                        token.getRevokedAt() == null && token.getExpiresAt().isAfter(Instant.now()))
-                .map(token -> new SessionInfo(
-                        token.getId(),
-                        token.getDeviceInfo(),
-                        token.getIpAddress(),
-                        token.getCreatedAt(),
-                        token.getExpiresAt()))
-                .toList();
+        return refreshTokenRepository.findActiveSessions(userId, Instant.now(), Limit.unlimited());
+    }
+
+    /**
+     * Retrieves one page of the active sessions of a user, newest first.
+     *
+     * @param userId The ID of the user.
+     * @param cursor The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of sessions per page, at most 100.
+     * @return The page of active session information.
+     */
+    @Transactional(readOnly = true)
+    public SessionPage getActiveSessions(UUID userId, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_SESSION_PAGE_SIZE);
+        Instant now = Instant.now();
+        // One extra row tells whether there is a next page.
+        List<SessionInfo> sessions;
+        if (cursor == null || cursor.isBlank()) {
+            sessions = refreshTokenRepository.findActiveSessions(userId, now, Limit.of(limit + 1));
+        } else {
+            SessionCursor after = SessionCursor.parse(cursor);
+            sessions = refreshTokenRepository.findActiveSessionsAfter(
+                    userId, now, after.createdAt(), after.id(), Limit.of(limit + 1));
+        }
+        if (sessions.size() <= limit) {
+            return new SessionPage(sessions, null);
+        }
+        List<SessionInfo> page = sessions.subList(0, limit);
+        return new SessionPage(List.copyOf(page), SessionCursor.after(page.getLast()).format());
     }
 
     /**
@@ -573,37 +661,52 @@ public class AuthService {
         }
 
         refreshTokenRepository.delete(token);
+        tokenDenyList.revokeSession(sessionId);
+        auditLogWriter.record(AuditEvent.TYPE_SESSION_REVOKED, userId, sessionId.toString());
         log.info("Session revoked. ID: {}", sessionId);
     }
 
+    /**
+     * Revokes every session of a user except the current one, including the access tokens issued for them.
+     * Useful for a "Log out from all other devices" button.
+     *
+     * @param userId           The ID of the user.
+     * @param currentSessionId The ID of the session to keep.
+     * @return The number of sessions revoked.
+     */
+    @Transactional
+    public int revokeOtherSessions(UUID userId, UUID currentSessionId) {
+        Instant now = Instant.now();
+        List<UUID> sessionIds = refreshTokenRepository.findActiveIdsByUserIdExcept(userId, currentSessionId, now);
+        int revoked = refreshTokenRepository.revokeAllByUserIdExcept(userId, currentSessionId, now);
+        tokenDenyList.revokeSessions(sessionIds);
+        auditLogWriter.record(AuditEvent.TYPE_SESSIONS_REVOKED, userId, String.valueOf(revoked));
+        log.info("Revoked {} other sessions of user: {}", revoked, userId);
+        return revoked;
+    }
+
     /**
      * Logs out the user by deleting the specified refresh token.
-     * This invalidates only the session associated with the provided refresh token.
+     * This invalidates only the session associated with the provided refresh token,
+     * including the access tokens issued for it.
      *
      * @param request The logout request containing the refresh token to invalidate.
      * @return A message response confirming logout.
      */
     @Transactional
     public MessageResponse logout(LogoutRequest request) {
-        String compositeToken = request.refreshToken();
-
-        if (compositeToken == null || !compositeToken.contains(":")) {
-            throw new IllegalArgumentException("Invalid refresh token format");
-        }
-
-        String[] parts = compositeToken.split(":");
-        UUID tokenId = UUID.fromString(parts[0]);
-        String rawToken = parts[1];
+        RefreshTokenHasher.Token token = refreshTokenHasher.parse(request.refreshToken());
+        UUID tokenId = token.id();
 
         RefreshToken tokenEntity = refreshTokenRepository
                 .findById(tokenId)
                 .orElseThrow(() -> new IllegalArgumentException("Refresh token not found"));
 
-        if (!passwordEncoder.matches(rawToken, tokenEntity.getTokenHash())) {
-            throw new IllegalArgumentException("Invalid refresh token");
-        }
+        checkRefreshToken(token, tokenEntity);
 
         refreshTokenRepository.delete(tokenEntity);
+        tokenDenyList.revokeSession(tokenId);
+        auditLogWriter.record(AuditEvent.TYPE_LOGOUT, tokenEntity.getUser().getId(), null);
 
         log.info("User logged out successfully. Token ID: {}", tokenId);
         return new MessageResponse("Logout successful.");
@@ -617,4 +720,37 @@ public class AuthService {
         vc.setExpiresAt(Instant.now().plus(duration));
         verificationCodeRepository.save(vc);
     }
+
+    /**
+     * Checks the secret of a refresh token. Hashes written by earlier versions with the password encoder are
+     * replaced by an HMAC hash on first successful use.
+     */
+    private void checkRefreshToken(RefreshTokenHasher.Token token, RefreshToken tokenEntity) {
+        String storedHash = tokenEntity.getTokenHash();
+        if (refreshTokenHasher.isLegacyHash(storedHash)) {
+            if (!passwordEncoder.matches(token.legacySecret(), storedHash)) {
+                throw new IllegalArgumentException("Invalid refresh token");
+            }
+            tokenEntity.setTokenHash(refreshTokenHasher.hash(token.secret()));
+            refreshTokenRepository.save(tokenEntity);
+        } else if (!refreshTokenHasher.matches(token, storedHash)) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+    }
+
+    /**
+     * Loads the user when authentication was handled by an application-provided {@code UserDetailsService}
+     * that does not return {@link AuthUserDetails}.
+     */
+    private AuthUserDetails loadUserDetails(String identifier) {
+        User user = userRepository
+                .findWithRolesByIdentifier(identifier)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        return AuthUserDetails.of(user, true, rbacCatalog.grant(user.getRoles()));
+    }
+
+    private Map<String, Object> authorityClaims(User user) {
+        return AccessTokenClaims.authorities(
+                rbacCatalog.grant(user.getRoles()), authProperties.getJwt().getAuthoritiesFormat());
+    }
 }
@@ -0,0 +1,73 @@
+package dev.ctlabs.starter.auth.application.service;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Brings email addresses and phone numbers into the canonical form stored in {@code auth_user_identifiers}.
+ * <p>
+ * Emails are trimmed and lower-cased; phone numbers lose spaces, dots, dashes and parentheses, which leaves
+ * E.164 numbers as they are. The database trigger maintaining the identifiers applies the same rules.
+ */
+public final class IdentifierNormalizer {
+
+    private static final Pattern PHONE_SEPARATORS = Pattern.compile("[\\s().-]");
+    private static final Pattern E164 = Pattern.compile("^\\+[1-9]\\d{1,14}$");
+
+    private IdentifierNormalizer() {}
+
+    /**
+     * Normalizes an identifier entered by a user: an email if it contains "@", a phone number otherwise.
+     *
+     * @param identifier The raw identifier.
+     * @return The canonical identifier, or {@code null} if the identifier is null or blank.
+     */
+    public static String normalize(String identifier) {
+        if (identifier == null || identifier.isBlank()) {
+            return null;
+        }
+        return isEmail(identifier) ? email(identifier) : phone(identifier);
+    }
+
+    /**
+     * Tells whether an identifier is an email address.
+     *
+     * @param identifier The identifier.
+     * @return {@code true} if it contains "@".
+     */
+    public static boolean isEmail(String identifier) {
+        return identifier.indexOf('@') >= 0;
+    }
+
+    /**
+     * Normalizes an email address.
+     *
+     * @param email The raw email.
+     * @return The trimmed, lower-cased email, or {@code null} if the email is null or blank.
+     */
+    public static String email(String email) {
+        return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalizes a phone number.
+     *
+     * @param phoneNumber The raw phone number.
+     * @return The phone number without separators, or {@code null} if it is null or blank.
+     */
+    public static String phone(String phoneNumber) {
+        return phoneNumber == null || phoneNumber.isBlank()
+                ? null
+                : PHONE_SEPARATORS.matcher(phoneNumber).replaceAll("");
+    }
+
+    /**
+     * Tells whether a normalized phone number is in E.164 format.
+     *
+     * @param phoneNumber The normalized phone number.
+     * @return {@code true} for numbers like +59170712345.
+     */
+    public static boolean isE164(String phoneNumber) {
+        return phoneNumber != null && E164.matcher(phoneNumber).matches();
+    }
+}
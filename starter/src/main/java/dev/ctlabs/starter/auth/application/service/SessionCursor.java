@@ -0,0 +1,69 @@
+package dev.ctlabs.starter.auth.application.service;
+
+import dev.ctlabs.starter.auth.application.dto.SessionInfo;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a list of sessions ordered by creation time and id, both descending.
+ * <p>
+ * Handed to clients as the Base64URL encoding of the creation time (seconds and nanoseconds) and the id of the
+ * last session of a page. The next page starts right after it, so that sessions created or revoked in between
+ * neither shift nor repeat entries.
+ *
+ * @param createdAt The creation time of the last session returned.
+ * @param id        The id of the last session returned.
+ */
+record SessionCursor(Instant createdAt, UUID id) {
+
+    private static final int LENGTH = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    /**
+     * Returns the cursor of the page following a session.
+     *
+     * @param last The last session of a page.
+     * @return The cursor.
+     */
+    static SessionCursor after(SessionInfo last) {
+        return new SessionCursor(last.createdAt(), last.id());
+    }
+
+    /**
+     * Parses a cursor received from a client.
+     *
+     * @param cursor The encoded cursor.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the cursor is malformed.
+     */
+    static SessionCursor parse(String cursor) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            if (buffer.remaining() != LENGTH) {
+                throw new IllegalArgumentException("Invalid session cursor");
+            }
+            Instant createdAt = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+            return new SessionCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid session cursor", e);
+        }
+    }
+
+    /**
+     * Encodes the cursor for clients.
+     *
+     * @return The Base64URL-encoded cursor.
+     */
+    String format() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putLong(createdAt.getEpochSecond())
+                .putInt(createdAt.getNano())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
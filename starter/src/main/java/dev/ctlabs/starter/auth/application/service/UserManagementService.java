@@ -9,12 +9,20 @@ import dev.ctlabs.starter.auth.domain.repository.PermissionRepository;
 import dev.ctlabs.starter.auth.domain.repository.RefreshTokenRepository;
 import dev.ctlabs.starter.auth.domain.repository.RoleRepository;
 import dev.ctlabs.starter.auth.domain.repository.UserRepository;
+import dev.ctlabs.starter.auth.infrastructure.security.AuthUserDetails;
+import dev.ctlabs.starter.auth.infrastructure.security.RbacChangedEvent;
+import dev.ctlabs.starter.auth.infrastructure.security.TokenDenyList;
+import dev.ctlabs.starter.auth.infrastructure.service.AuditEvent;
+import dev.ctlabs.starter.auth.infrastructure.service.AuditLogWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.UUID;
 
 /**
@@ -32,6 +40,9 @@ public class UserManagementService {
     private final PermissionRepository permissionRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenDenyList tokenDenyList;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLogWriter auditLogWriter;
 
     /**
      * Changes the status of a user (e.g., "active", "suspended", "banned").
@@ -46,12 +57,47 @@ public class UserManagementService {
         userRepository.save(user);
 
         if (!"active".equalsIgnoreCase(newStatus)) {
-            refreshTokenRepository.deleteByUser_Id(userId);
-            log.info("Revoked refresh tokens for user: {}", userId);
+            refreshTokenRepository.revokeAllByUserId(userId, Instant.now());
+            tokenDenyList.revokeSubject(AuthUserDetails.principal(user));
+            log.info("Revoked refresh and access tokens for user: {}", userId);
         }
+        auditLogWriter.record(AuditEvent.TYPE_USER_STATUS_CHANGED, userId, newStatus);
         log.info("User status changed. ID: {}, New Status: {}", userId, newStatus);
     }
 
+    /**
+     * Signs a set of users out everywhere: revokes all their sessions and the access tokens issued to them.
+     *
+     * @param userIds The IDs of the users.
+     * @return The number of sessions revoked.
+     */
+    @Transactional
+    public int revokeAllSessions(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        int revoked = refreshTokenRepository.revokeAllByUserIdIn(userIds, Instant.now());
+        tokenDenyList.revokeSubjects(userRepository.findSubjectsByIdIn(userIds));
+        auditLogWriter.record(AuditEvent.TYPE_SESSIONS_REVOKED, null, String.valueOf(revoked));
+        log.info("Revoked {} sessions of {} users", revoked, userIds.size());
+        return revoked;
+    }
+
+    /**
+     * Revokes every session created before a point in time, e.g. after a credential leak. Access tokens already
+     * issued for these sessions stay valid until they expire.
+     *
+     * @param before The upper bound (exclusive) of the session creation time.
+     * @return The number of sessions revoked.
+     */
+    @Transactional
+    public int revokeSessionsCreatedBefore(Instant before) {
+        int revoked = refreshTokenRepository.revokeAllCreatedBefore(before, Instant.now());
+        auditLogWriter.record(AuditEvent.TYPE_SESSIONS_REVOKED, null, String.valueOf(revoked));
+        log.info("Revoked {} sessions created before {}", revoked, before);
+        return revoked;
+    }
+
     /**
      * Soft deletes a user by changing their status to 'archived'.
      */
@@ -63,7 +109,9 @@ public class UserManagementService {
 
         user.setStatus("archived");
         userRepository.save(user);
-        refreshTokenRepository.deleteByUser_Id(userId);
+        refreshTokenRepository.revokeAllByUserId(userId, Instant.now());
+        tokenDenyList.revokeSubject(AuthUserDetails.principal(user));
+        auditLogWriter.record(AuditEvent.TYPE_USER_DELETED, userId, null);
         log.info("User soft-deleted (status set to archived). ID: {}", userId);
     }
 
@@ -79,6 +127,8 @@ public class UserManagementService {
         role.setName(roleName);
         role.setDescription(description);
         roleRepository.save(role);
+        eventPublisher.publishEvent(new RbacChangedEvent("role created: " + roleName));
+        auditLogWriter.record(AuditEvent.TYPE_ROLE_CREATED, null, roleName);
         log.info("Role created: {}", roleName);
     }
 
@@ -97,6 +147,7 @@ public class UserManagementService {
 
         user.getRoles().add(role);
         userRepository.save(user);
+        auditLogWriter.record(AuditEvent.TYPE_ROLE_ASSIGNED, userId, roleName);
         log.info("Role '{}' assigned to user ID: {}", roleName, userId);
     }
 
@@ -115,6 +166,7 @@ public class UserManagementService {
 
         user.getRoles().remove(role);
         userRepository.save(user);
+        auditLogWriter.record(AuditEvent.TYPE_ROLE_REMOVED, userId, roleName);
         log.info("Role '{}' removed from user ID: {}", roleName, userId);
     }
 
@@ -130,6 +182,8 @@ public class UserManagementService {
         permission.setSlug(slug);
         permission.setDescription(description);
         permissionRepository.save(permission);
+        eventPublisher.publishEvent(new RbacChangedEvent("permission created: " + slug));
+        auditLogWriter.record(AuditEvent.TYPE_PERMISSION_CREATED, null, slug);
         log.info("Permission created: {}", slug);
     }
 
@@ -148,6 +202,9 @@ public class UserManagementService {
 
         role.getPermissions().add(permission);
         roleRepository.save(role);
+        eventPublisher.publishEvent(
+                new RbacChangedEvent("permission assigned: " + roleName + "/" + permissionSlug));
+        auditLogWriter.record(AuditEvent.TYPE_PERMISSION_ASSIGNED, null, roleName + "/" + permissionSlug);
         log.info("Permission '{}' assigned to role '{}'", permissionSlug, roleName);
     }
 
@@ -166,6 +223,8 @@ public class UserManagementService {
 
         role.getPermissions().remove(permission);
         roleRepository.save(role);
+        eventPublisher.publishEvent(new RbacChangedEvent("permission removed: " + roleName + "/" + permissionSlug));
+        auditLogWriter.record(AuditEvent.TYPE_PERMISSION_REMOVED, null, roleName + "/" + permissionSlug);
         log.info("Permission '{}' removed from role '{}'", permissionSlug, roleName);
     }
 
@@ -216,6 +275,7 @@ public class UserManagementService {
         admin.getRoles().add(role);
 
         userRepository.save(admin);
+        eventPublisher.publishEvent(new RbacChangedEvent("admin role initialized: " + role.getName()));
         log.info("Initial admin user created successfully.");
     }
 
@@ -238,4 +298,4 @@ public class UserManagementService {
             return permissionRepository.save(newPerm);
         });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package dev.ctlabs.starter.auth.autoconfigure;
+
+import dev.ctlabs.starter.auth.application.service.UserManagementService;
+import dev.ctlabs.starter.auth.infrastructure.security.AdaptivePasswordEncoderFactory;
+import dev.ctlabs.starter.auth.infrastructure.security.JdbcLoginAttemptCounters;
+import dev.ctlabs.starter.auth.infrastructure.security.LoginAttemptCounters;
+import dev.ctlabs.starter.auth.infrastructure.security.OffloadingPasswordEncoder;
+import dev.ctlabs.starter.auth.infrastructure.security.StripedLoginAttemptCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Auto-configuration for the Auth Starter.
+ * Configures JPA, security, and initial administrative user.
+ * Servlet and non-web applications; WebFlux applications use the reactive module instead. The HTTP endpoints
+ * and the security filter chain are only registered in servlet applications.
+ */
+@AutoConfiguration(after = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@Conditional(OnNonReactiveApplicationCondition.class)
+@EnableConfigurationProperties(AuthProperties.class)
+@ComponentScan(basePackages = "dev.ctlabs.starter.auth")
+@EntityScan(basePackages = "dev.ctlabs.starter.auth.domain.model")
+@EnableJpaRepositories(basePackages = "dev.ctlabs.starter.auth.domain.repository")
+@EnableJpaAuditing
+public class AuthAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthAutoConfiguration.class);
+
+    /**
+     * Bean that provides a password encoder.
+     * The algorithm and its cost are chosen by {@link AdaptivePasswordEncoderFactory}. Hashing runs on a bounded
+     * pool of platform threads; when it is saturated, requests fail fast with 503 Service Unavailable.
+     *
+     * @param authProperties The authentication properties.
+     * @return A delegating password encoder wrapped in an {@link OffloadingPasswordEncoder}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordEncoder passwordEncoder(AuthProperties authProperties) {
+        AuthProperties.Threads threads = authProperties.getThreads();
+        return new OffloadingPasswordEncoder(
+                AdaptivePasswordEncoderFactory.create(authProperties.getPassword()),
+                threads.getHashingPoolSize(),
+                threads.getHashingQueueCapacity(),
+                threads.getHashingMaxWait());
+    }
+
+    /**
+     * Authenticates users by password. If the user details service can update passwords, hashes that use an
+     * outdated algorithm or cost are replaced on successful login.
+     *
+     * @param userDetailsService The user details service.
+     * @param passwordEncoder    The password encoder.
+     * @return The configured {@link AuthenticationProvider}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthenticationProvider authenticationProvider(
+            UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        if (userDetailsService instanceof UserDetailsPasswordService userDetailsPasswordService) {
+            authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        }
+        return authProvider;
+    }
+
+    /**
+     * Bean that authenticates logins with the starter's {@link AuthenticationProvider}. Declared here rather
+     * than taken from the web security configuration, so that it also exists in non-web applications.
+     *
+     * @param authenticationProvider The authentication provider.
+     * @return The {@link AuthenticationManager}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthenticationManager authenticationManager(AuthenticationProvider authenticationProvider) {
+        return new ProviderManager(authenticationProvider);
+    }
+
+    /**
+     * Bean that counts failed logins for the login throttle.
+     * Counters live in memory unless "ctlabs.auth.login-throttle.store" is DATABASE.
+     *
+     * @param authProperties The authentication properties.
+     * @param jdbcTemplate   The JDBC template, used by the database store.
+     * @return The failed-login counters.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LoginAttemptCounters loginAttemptCounters(AuthProperties authProperties, JdbcTemplate jdbcTemplate) {
+        AuthProperties.LoginThrottle throttle = authProperties.getLoginThrottle();
+        if (throttle.getStore() == AuthProperties.LoginThrottle.Store.DATABASE) {
+            return new JdbcLoginAttemptCounters(jdbcTemplate, throttle.getWindow());
+        }
+        return new StripedLoginAttemptCounters(throttle.getWindow(), throttle.getMaxTrackedKeys());
+    }
+
+    /**
+     * Creates an initial admin user if configured.
+     *
+     * @param userManagementService The service to manage users.
+     * @param authProperties        The authentication properties.
+     * @return A CommandLineRunner that creates the admin user.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "ctlabs.auth.admin", name = "enabled", havingValue = "true")
+    public CommandLineRunner createInitialAdmin(
+            UserManagementService userManagementService, AuthProperties authProperties) {
+        return args -> {
+            AuthProperties.Admin adminProps = authProperties.getAdmin();
+            if (adminProps.getEmail() == null || adminProps.getPassword() == null) {
+                log.warn("Admin user creation enabled but email or password not provided in properties.");
+                return;
+            }
+            userManagementService.createAdminUserIfNotExists(adminProps);
+        };
+    }
+}
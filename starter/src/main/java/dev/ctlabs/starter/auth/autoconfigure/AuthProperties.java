@@ -0,0 +1,768 @@
+package dev.ctlabs.starter.auth.autoconfigure;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration properties for the Auth Starter.
+ * <p>
+ * Supports configuration for JWT, database migration, notifications (mail/phone),
+ * verification settings, and admin user creation.
+ */
+@ConfigurationProperties(prefix = "ctlabs.auth")
+@Getter
+@Setter
+public class AuthProperties {
+
+    /**
+     * Base URL for authentication endpoints. Default: "/api/auth".
+     */
+    private String baseUrl = "/api/auth";
+
+    /**
+     * Default role assigned to new users upon registration. Default: "USER".
+     */
+    private String defaultRole = "USER";
+
+    /**
+     * List of public paths that do not require authentication.
+     * Ant-style patterns are supported (e.g. "/api/public/**", "/webhook/**").
+     */
+    private List<String> publicPaths = new ArrayList<>();
+
+    /**
+     * JWT (JSON Web Token) configuration.
+     */
+    private Jwt jwt = new Jwt();
+
+    /**
+     * Refresh token configuration.
+     */
+    private RefreshToken refreshToken = new RefreshToken();
+
+    /**
+     * Notification settings (Email, SMS, WhatsApp).
+     */
+    private Notifications notifications = new Notifications();
+
+    /**
+     * Database configuration.
+     */
+    private Db db = new Db();
+
+    /**
+     * Admin user configuration.
+     */
+    private Admin admin = new Admin();
+
+    /**
+     * Verification settings (Email/Phone codes).
+     */
+    private Verification verification = new Verification();
+
+    /**
+     * Password validation settings.
+     */
+    private Password password = new Password();
+
+    /**
+     * Threading settings for request handling, notifications and password hashing.
+     */
+    private Threads threads = new Threads();
+
+    /**
+     * Role and permission catalog settings.
+     */
+    private Rbac rbac = new Rbac();
+
+    /**
+     * Throttling of repeated failed logins.
+     */
+    private LoginThrottle loginThrottle = new LoginThrottle();
+
+    /**
+     * Audit log settings.
+     */
+    private Audit audit = new Audit();
+
+    /**
+     * Deletion of expired refresh tokens, verification codes and revocations.
+     */
+    private Reaper reaper = new Reaper();
+
+    /**
+     * Configuration for JWT access tokens.
+     */
+    @Getter
+    @Setter
+    public static class Jwt {
+        /**
+         * Algorithm used to sign access tokens. Default: HMAC.
+         */
+        private Algorithm algorithm = Algorithm.HMAC;
+        /**
+         * Secret key used for signing JWTs. Must be at least 256 bits (32 bytes) for HS256.
+         * Used when the algorithm is HMAC.
+         */
+        private String secretKey;
+        /**
+         * Private key used for signing JWTs, PEM or Base64-encoded PKCS#8.
+         * Used when the algorithm is ES256 (P-256 curve) or EDDSA (Ed25519).
+         */
+        private String privateKey;
+        /**
+         * Public key matching the private key, PEM or Base64-encoded X.509.
+         * Published through the JWKS endpoint so other services can verify tokens offline.
+         */
+        private String publicKey;
+        /**
+         * Key identifier written to the "kid" header of every token signed with the active key.
+         * Defaults to a fingerprint of the key, so all nodes sharing the key derive the same value.
+         */
+        private String keyId;
+        /**
+         * Retired signing keys that are still accepted when verifying tokens.
+         * When rotating the secret key, move the previous one here until the tokens it signed have expired.
+         */
+        private List<VerificationKey> previousKeys = new ArrayList<>();
+        /**
+         * Expiration time for JWT access tokens. Use ISO-8601 format (e.g. PT1H for 1 hour, P1D for 1 day).
+         * Simple format like "24h" or "90m" is also supported. Default: "24h".
+         */
+        private Duration expiration = Duration.ofMinutes(15);
+        /**
+         * How long clients may cache the JWKS document ("Cache-Control: max-age"). Default: 10m.
+         */
+        private Duration jwksCacheMaxAge = Duration.ofMinutes(10);
+        /**
+         * If true, HMAC-signed tokens are verified by a dedicated allocation-lean parser instead of jjwt.
+         * Other tokens always go through jjwt. Default: true.
+         */
+        private boolean fastVerification = true;
+        /**
+         * How roles and permissions are written into access tokens. Default: NAMES.
+         */
+        private AuthoritiesFormat authoritiesFormat = AuthoritiesFormat.NAMES;
+        /**
+         * Cache of already verified access tokens.
+         */
+        private Cache cache = new Cache();
+        /**
+         * Revocation of access tokens before they expire.
+         */
+        private Revocation revocation = new Revocation();
+
+        /**
+         * Settings for the verified-token cache used by the authentication filter.
+         */
+        @Getter
+        @Setter
+        public static class Cache {
+            /**
+             * If true, a token that was verified once is not verified again until it expires. Default: false.
+             */
+            private boolean enabled = false;
+            /**
+             * Maximum number of cached tokens. Tokens beyond this limit are verified on every request.
+             * Default: 10000.
+             */
+            private int maxSize = 10_000;
+        }
+
+        /**
+         * Settings for the access-token deny list.
+         */
+        @Getter
+        @Setter
+        public static class Revocation {
+            /**
+             * If true, logout, session revocation, password reset and user suspension also invalidate the
+             * access tokens already issued. Default: true.
+             */
+            private boolean enabled = true;
+            /**
+             * How often each node polls the database for revocations recorded by other nodes. Default: 5s.
+             */
+            private Duration pollInterval = Duration.ofSeconds(5);
+            /**
+             * How far back each poll looks, to pick up revocations committed late or stamped by a node with a
+             * slightly different clock. Default: 1m.
+             */
+            private Duration pollLookback = Duration.ofMinutes(1);
+        }
+
+        /**
+         * Supported signing algorithms.
+         */
+        public enum Algorithm {
+            /** HMAC with SHA-2 using the shared secret key. The strength follows the key length. */
+            HMAC,
+            /** ECDSA on the P-256 curve with SHA-256. */
+            ES256,
+            /** Edwards-curve signatures with Ed25519. */
+            EDDSA
+        }
+
+        /**
+         * Supported encodings of the authorities carried by access tokens.
+         */
+        public enum AuthoritiesFormat {
+            /** "roles" and "permissions" claims with the role names and permission slugs. */
+            NAMES,
+            /**
+             * A single "authz" claim with bitsets of role and permission ids. Much smaller for large catalogs,
+             * but only services with access to the RBAC tables can decode it.
+             */
+            COMPACT
+        }
+
+        /**
+         * A key that only verifies tokens and never signs new ones.
+         */
+        @Getter
+        @Setter
+        public static class VerificationKey {
+            /**
+             * Key identifier. Defaults to the fingerprint of the key.
+             */
+            private String keyId;
+            /**
+             * Base64-encoded secret key. Used when the algorithm is HMAC.
+             */
+            private String secretKey;
+            /**
+             * Public key, PEM or Base64-encoded X.509. Used when the algorithm is ES256 or EDDSA.
+             */
+            private String publicKey;
+        }
+    }
+
+    /**
+     * Configuration for Refresh tokens.
+     */
+    @Getter
+    @Setter
+    public static class RefreshToken {
+        /**
+         * Expiration time for refresh tokens. Use ISO-8601 format (e.g. P30D for 30 days).
+         * Simple format like "30d" is also supported. Default: "30d".
+         */
+        private Duration expiration = Duration.ofDays(30);
+
+        /**
+         * If true, every refresh returns a new refresh token and revokes the one presented, and presenting a
+         * replaced token again revokes all the tokens descending from the same login, as it may have been
+         * stolen. Clients must store the new token after each refresh and must not refresh concurrently with the
+         * same token. Default: false.
+         */
+        private boolean rotation = false;
+
+        /**
+         * Maximum number of live sessions (refresh tokens) per user. A login beyond the limit revokes the user's
+         * oldest sessions, and the access tokens issued with them. Applies to logins through the servlet starter
+         * and the reactive module alike. 0 means no limit. Default: 0.
+         */
+        private int maxActiveSessions = 0;
+
+        /**
+         * If true, each node remembers for a minute how many live sessions a user has, and a login that stays
+         * within {@code maxActiveSessions} skips the database check. The limit then becomes approximate: each
+         * node only counts its own logins, so with N nodes a user may hold up to about N times
+         * {@code maxActiveSessions} sessions for a minute. The reactive module ignores it and always checks.
+         * Default: false.
+         */
+        private boolean sessionCountCache = false;
+
+        /**
+         * Server-side secret for the HMAC-SHA-256 hashes of refresh tokens. Changing it invalidates every
+         * session, so it must not be rotated with the JWT signing keys. Required; startup fails without it.
+         */
+        private String pepper;
+    }
+
+    /**
+     * Configuration for notifications.
+     */
+    @Getter
+    @Setter
+    public static class Notifications {
+        /**
+         * Email notification settings.
+         */
+        private Mail mail = new Mail();
+        /**
+         * Phone notification settings.
+         */
+        private Phone phone = new Phone();
+
+        /**
+         * Email settings.
+         */
+        @Getter
+        @Setter
+        public static class Mail {
+            /**
+             * Selects the mail provider. Default is NONE.
+             */
+            private Provider provider = Provider.NONE;
+            /**
+             * URL of the frontend application. Used to generate email verification and password reset links.
+             * Default: "http://localhost:3000".
+             */
+            private String frontendUrl = "http://localhost:3000";
+            /**
+             * SMTP configuration. Used when provider is SMTP.
+             */
+            private Smtp smtp = new Smtp();
+            /**
+             * Brevo configuration. Used when provider is BREVO.
+             */
+            private Brevo brevo = new Brevo();
+
+            /**
+             * Supported email providers.
+             */
+            public enum Provider {
+                /** No email provider. Emails will not be sent. */
+                NONE,
+                /** SMTP provider (e.g. Gmail, Outlook, custom SMTP). */
+                SMTP,
+                /** Brevo (formerly Sendinblue) API provider. */
+                BREVO
+            }
+
+            /**
+             * SMTP specific settings.
+             */
+            @Getter
+            @Setter
+            public static class Smtp {
+                /**
+                 * Email address to send emails from.
+                 */
+                private String fromEmail;
+
+                /**
+                 * Name to display as the sender.
+                 */
+                private String fromName;
+            }
+
+            /**
+             * Brevo specific settings.
+             */
+            @Getter
+            @Setter
+            public static class Brevo {
+                /**
+                 * Brevo API Key (xkeysib-...)
+                 */
+                private String apiKey;
+
+                /**
+                 * Brevo API Base URL. Default: "https://api.brevo.com/v3".
+                 */
+                private String baseUrl = "https://api.brevo.com/v3";
+                /**
+                 * Template ID for email verification.
+                 */
+                private Integer verificationTemplateId;
+                /**
+                 * Template ID for password reset.
+                 */
+                private Integer passwordResetTemplateId;
+            }
+        }
+
+        /**
+         * Phone settings.
+         */
+        @Getter
+        @Setter
+        public static class Phone {
+            /**
+             * Selects the phone provider. Default is NONE.
+             */
+            private Provider provider = Provider.NONE;
+            /**
+             * Selects the communication channel. Default is SMS.
+             */
+            private Channel channel = Channel.SMS;
+            /**
+             * Generic 'from' number (e.g. +1234567890 or whatsapp:+123...).
+             */
+            private String fromPhoneNumber;
+            /**
+             * Twilio configuration. Used when provider is TWILIO.
+             */
+            private Twilio twilio = new Twilio();
+            /**
+             * Brevo configuration. Used when provider is BREVO.
+             */
+            private Brevo brevo = new Brevo();
+
+            /**
+             * Supported phone providers.
+             */
+            public enum Provider {
+                /** No phone provider. Messages will not be sent. */
+                NONE,
+                /** Twilio API provider. */
+                TWILIO,
+                /** Brevo API provider. */
+                BREVO
+            }
+            /**
+             * Supported phone channels.
+             */
+            public enum Channel {
+                /** SMS channel. */
+                SMS,
+                /** WhatsApp channel. */
+                WHATSAPP
+            }
+
+            /**
+             * Twilio specific settings.
+             */
+            @Getter
+            @Setter
+            public static class Twilio {
+                /**
+                 * Twilio Account SID.
+                 */
+                private String accountSid;
+                /**
+                 * Twilio Auth Token.
+                 */
+                private String authToken;
+                /**
+                 * Twilio API Base URL. Default: "https://api.twilio.com".
+                 */
+                private String baseUrl = "https://api.twilio.com";
+            }
+
+            /**
+             * Brevo specific settings.
+             */
+            @Getter
+            @Setter
+            public static class Brevo {
+                /**
+                 * Brevo API Key.
+                 */
+                private String apiKey;
+                /**
+                 * Brevo API Base URL. Default: "https://api.brevo.com/v3".
+                 */
+                private String baseUrl = "https://api.brevo.com/v3";
+                /**
+                 * Sender name for SMS. Max 11 alphanumeric chars. Default: "AuthService".
+                 */
+                private String senderName = "AuthService";
+            }
+        }
+    }
+
+    /**
+     * Database settings.
+     */
+    @Getter
+    @Setter
+    public static class Db {
+        /**
+         * Enables automatic migration of starter tables (users, verification). Default: true.
+         */
+        private boolean migrationEnabled = true;
+    }
+
+    /**
+     * Admin user settings.
+     */
+    @Getter
+    @Setter
+    public static class Admin {
+        /**
+         * If true, attempts to create an admin user at startup if it doesn't exist. Default: false.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Admin email address.
+         */
+        private String email;
+        /**
+         * Admin password.
+         */
+        private String password;
+        /**
+         * Admin first name. Default: "Admin".
+         */
+        private String firstName = "Admin";
+        /**
+         * Admin last name. Default: "System".
+         */
+        private String lastName = "System";
+        /**
+         * Admin role name. Default: "ADMIN".
+         */
+        private String role = "ADMIN";
+
+        /**
+         * List of permissions to assign to the admin role upon creation.
+         * Useful if the application uses authority-based security (e.g. hasAuthority('users:write')).
+         */
+        private Set<String> permissions = new HashSet<>();
+    }
+
+    /**
+     * Verification settings.
+     */
+    @Getter
+    @Setter
+    public static class Verification {
+        /**
+         * Expiration time for email verification links. Default: 24h.
+         */
+        private Duration emailLinkExpiration = Duration.ofDays(1);
+
+        /**
+         * Expiration time for phone verification codes. Default: 10m.
+         */
+        private Duration phoneCodeExpiration = Duration.ofMinutes(10);
+
+        /**
+         * Label for minutes unit (e.g. "minutes", "minutos"). Default: "minutes".
+         */
+        private String unitMinutes = "minutes";
+
+        /**
+         * Label for hours unit (e.g. "hours", "horas"). Default: "hours".
+         */
+        private String unitHours = "hours";
+    }
+
+    /**
+     * Password validation settings.
+     */
+    @Getter
+    @Setter
+    public static class Password {
+        /**
+         * Regex for password validation. Default enforces 8-20 chars, 1 digit, 1 lower, 1 upper.
+         */
+        private String validationRegex = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=\\S+$).{8,20}$";
+        /**
+         * Validation message to be shown when the password does not meet the regex requirements.
+         */
+        private String validationMessage = """
+                Password must be 8-20 characters long, contain at least one digit, \
+                one lowercase, one uppercase letter and no whitespace""";
+        /**
+         * Algorithm used to hash new passwords. Hashes produced by the other supported algorithms and unprefixed
+         * BCrypt hashes are still accepted, and are rehashed on the next successful login. Default: BCRYPT.
+         */
+        private HashAlgorithm hashAlgorithm = HashAlgorithm.BCRYPT;
+        /**
+         * Target time to hash one password. If set, the cost is calibrated at startup so that a hash takes about
+         * this long on the current machine, but never less than the algorithm's default cost. Stored hashes with a
+         * lower cost are rehashed on the next successful login. If unset, the default cost is used.
+         */
+        private Duration hashTargetTime;
+
+        /**
+         * Supported password hashing algorithms.
+         */
+        public enum HashAlgorithm {
+            /** BCrypt. The cost is the log2 of the number of rounds. */
+            BCRYPT,
+            /** Argon2id with 19 MiB of memory. The cost is the number of iterations. Requires BouncyCastle. */
+            ARGON2
+        }
+    }
+
+    /**
+     * Threading settings.
+     */
+    @Getter
+    @Setter
+    public static class Threads {
+        /**
+         * If true, requests and notifications run on virtual threads. Also enables
+         * "spring.threads.virtual.enabled" unless it is set explicitly. Default: false.
+         */
+        private boolean virtual = false;
+        /**
+         * Number of platform threads hashing passwords. Default: the number of available processors.
+         */
+        private int hashingPoolSize = Runtime.getRuntime().availableProcessors();
+        /**
+         * Maximum number of password hashes waiting for a hashing thread. Further requests are refused with
+         * 503 Service Unavailable. Default: 100.
+         */
+        private int hashingQueueCapacity = 100;
+        /**
+         * Maximum time a password hash may wait for a hashing thread before the request is refused with
+         * 503 Service Unavailable. Default: 2s.
+         */
+        private Duration hashingMaxWait = Duration.ofSeconds(2);
+        /**
+         * Maximum number of notifications (emails, SMS) sent concurrently. Further notifications wait in the
+         * background; the request that triggered them never does. Default: 16.
+         */
+        private int notificationConcurrency = 16;
+    }
+
+    /**
+     * Role and permission catalog settings.
+     */
+    @Getter
+    @Setter
+    public static class Rbac {
+        /**
+         * How often each node reloads roles and permissions, to pick up changes committed by other nodes. Changes
+         * made through this node are applied as soon as they commit. Default: 60s.
+         */
+        private Duration refreshInterval = Duration.ofSeconds(60);
+    }
+
+    /**
+     * Settings for throttling failed logins.
+     */
+    @Getter
+    @Setter
+    public static class LoginThrottle {
+        /**
+         * If true, logins are refused with 429 Too Many Requests after too many recent failures. Default: true.
+         */
+        private boolean enabled = true;
+        /**
+         * Maximum failed logins for one identifier within the window. 0 disables the limit. Default: 10.
+         */
+        private int maxAttemptsPerIdentifier = 10;
+        /**
+         * Maximum failed logins from one IP address within the window. 0 disables the limit. Behind a proxy,
+         * configure "server.forward-headers-strategy" so that the client address is used. Default: 100.
+         */
+        private int maxAttemptsPerIp = 100;
+        /**
+         * Length of the sliding window over which failures are counted. Default: 15m.
+         */
+        private Duration window = Duration.ofMinutes(15);
+        /**
+         * Where failures are counted. Default: MEMORY.
+         */
+        private Store store = Store.MEMORY;
+        /**
+         * Maximum number of identifiers and IP addresses tracked by the MEMORY store. Beyond it, the least
+         * recently used ones are forgotten. Default: 100000.
+         */
+        private int maxTrackedKeys = 100_000;
+
+        /**
+         * Supported counter stores.
+         */
+        public enum Store {
+            /** In memory, per node. Each node enforces the limits on its own. */
+            MEMORY,
+            /** In the database, shared by every node. Adds a few primary-key queries to every login. */
+            DATABASE
+        }
+    }
+
+    /**
+     * Settings for the audit log written to auth_audit_logs.
+     */
+    @Getter
+    @Setter
+    public static class Audit {
+        /**
+         * If true, logins, refreshes, logouts, password resets, verifications and admin changes are recorded.
+         * Default: true.
+         */
+        private boolean enabled = true;
+        /**
+         * Maximum number of events waiting to be written. Default: 10000.
+         */
+        private int queueCapacity = 10_000;
+        /**
+         * Maximum number of events inserted per statement, at most 1000. Default: 500.
+         */
+        private int flushSize = 500;
+        /**
+         * Maximum time an event waits for a batch to fill before it is written. Default: 1s.
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+        /**
+         * What happens to an event when the queue is full. Default: DROP.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        /**
+         * If true, auth_audit_logs is migrated to a table range-partitioned by month of created_at, and
+         * partitions are created ahead of time and dropped after the retention period. Cannot be turned off
+         * once the migration has run. Default: false.
+         */
+        private boolean partitioned = false;
+        /**
+         * Number of monthly partitions kept ready beyond the current month. Default: 3.
+         */
+        private int partitionsAhead = 3;
+        /**
+         * How long audit events are kept when the table is partitioned. A partition is dropped once all of its
+         * month is older than this. Default: none (partitions are never dropped).
+         */
+        private Duration retention;
+        /**
+         * How often partitions are created and dropped. Default: 1d.
+         */
+        private Duration maintenanceInterval = Duration.ofDays(1);
+
+        /**
+         * Supported overflow policies.
+         */
+        public enum OverflowPolicy {
+            /** The event is dropped and counted. Requests are never delayed. */
+            DROP,
+            /** The request waits up to the flush interval for room, then drops the event. */
+            BLOCK
+        }
+    }
+
+    /**
+     * Settings for the job deleting expired rows. Only one node runs it at a time.
+     */
+    @Getter
+    @Setter
+    public static class Reaper {
+        /**
+         * If true, expired or revoked refresh tokens, expired verification codes and expired revocations are
+         * deleted periodically. Default: true.
+         */
+        private boolean enabled = true;
+        /**
+         * How often the job runs. Default: 1h.
+         */
+        private Duration interval = Duration.ofHours(1);
+        /**
+         * Maximum number of rows deleted per statement. Default: 1000.
+         */
+        private int batchSize = 1_000;
+        /**
+         * Pause between two statements, to leave room for regular traffic. Default: 100ms.
+         */
+        private Duration pause = Duration.ofMillis(100);
+        /**
+         * How long revoked refresh tokens are kept before they are deleted. Rotated refresh tokens are kept until
+         * they expire instead, so that their reuse is detected for as long as they would have been valid.
+         * Default: 1d.
+         */
+        private Duration revokedRetention = Duration.ofDays(1);
+    }
+}
@@ -0,0 +1,18 @@
+package dev.ctlabs.starter.auth.autoconfigure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
+
+/**
+ * Matches servlet and non-web applications (e.g. batch jobs using {@code UserManagementService}), but not
+ * WebFlux applications, which use the reactive module instead.
+ */
+class OnNonReactiveApplicationCondition extends NoneNestedConditions {
+
+    OnNonReactiveApplicationCondition() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactive {}
+}
@@ -0,0 +1,28 @@
+package dev.ctlabs.starter.auth.autoconfigure;
+
+import org.springframework.boot.EnvironmentPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Turns on Spring Boot's virtual-thread support when {@code ctlabs.auth.threads.virtual=true}.
+ * <p>
+ * The default is added with the lowest precedence, so an explicit {@code spring.threads.virtual.enabled}
+ * always wins.
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String PROPERTY_SOURCE_NAME = "ctlabsAuthVirtualThreads";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        boolean virtual = environment.getProperty("ctlabs.auth.threads.virtual", Boolean.class, false);
+        if (virtual && !environment.containsProperty("spring.threads.virtual.enabled")) {
+            environment.getPropertySources().addLast(
+                    new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of("spring.threads.virtual.enabled", "true")));
+        }
+    }
+}
@@ -40,6 +40,8 @@ public class AuditLog {
 
     private String eventType;
 
+    private String details;
+
     private String ipAddress;
 
     private String userAgent;
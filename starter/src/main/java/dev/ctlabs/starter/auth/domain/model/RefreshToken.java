@@ -45,6 +45,10 @@ public class RefreshToken {
 
     private String tokenHash;
 
+    private UUID familyId;
+
+    private UUID replacedBy;
+
     private String deviceInfo;
 
     private String ipAddress;
@@ -0,0 +1,41 @@
+package dev.ctlabs.starter.auth.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Entity representing a canonical login identifier of a user.
+ * Rows are maintained by a database trigger on {@code auth_users} and are never written by the application.
+ */
+@Entity
+@Table(name = "auth_user_identifiers")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class UserIdentifier {
+
+    /**
+     * The lower-cased email, or the phone number without separators.
+     */
+    @Id
+    private String identifier;
+
+    /**
+     * "EMAIL" or "PHONE".
+     */
+    private String kind;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+}
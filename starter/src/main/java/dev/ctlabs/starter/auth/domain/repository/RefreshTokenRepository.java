@@ -0,0 +1,153 @@
+package dev.ctlabs.starter.auth.domain.repository;
+
+import dev.ctlabs.starter.auth.application.dto.SessionInfo;
+import dev.ctlabs.starter.auth.domain.model.RefreshToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for managing {@link RefreshToken} entities.
+ * <p>
+ * Bulk revocations run as a single {@code UPDATE} statement and never load the tokens. They flush pending
+ * changes first and clear the persistence context afterwards, so that no stale token stays managed.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    /**
+     * Finds all refresh tokens for a specific user.
+     *
+     * @param userId The ID of the user.
+     * @return A list of refresh tokens.
+     */
+    List<RefreshToken> findAllByUser_Id(UUID userId);
+
+    /**
+     * Finds a user's sessions that are neither revoked nor expired, newest first.
+     *
+     * @param userId The ID of the user.
+     * @param now    The current time.
+     * @param limit  The maximum number of sessions.
+     * @return The sessions.
+     */
+    @Query("SELECT new dev.ctlabs.starter.auth.application.dto.SessionInfo("
+            + "t.id, t.deviceInfo, t.ipAddress, t.createdAt, t.expiresAt) FROM RefreshToken t"
+            + " WHERE t.user.id = :userId AND t.revokedAt IS NULL AND t.expiresAt > :now"
+            + " ORDER BY t.createdAt DESC, t.id DESC")
+    List<SessionInfo> findActiveSessions(@Param("userId") UUID userId, @Param("now") Instant now, Limit limit);
+
+    /**
+     * Finds a user's sessions that are neither revoked nor expired and come after a given session in the order
+     * of {@link #findActiveSessions}.
+     *
+     * @param userId    The ID of the user.
+     * @param now       The current time.
+     * @param createdAt The creation time of the last session of the previous page.
+     * @param id        The ID of the last session of the previous page.
+     * @param limit     The maximum number of sessions.
+     * @return The sessions.
+     */
+    @Query("SELECT new dev.ctlabs.starter.auth.application.dto.SessionInfo("
+            + "t.id, t.deviceInfo, t.ipAddress, t.createdAt, t.expiresAt) FROM RefreshToken t"
+            + " WHERE t.user.id = :userId AND t.revokedAt IS NULL AND t.expiresAt > :now"
+            + " AND (t.createdAt, t.id) < (:createdAt, :id)"
+            + " ORDER BY t.createdAt DESC, t.id DESC")
+    List<SessionInfo> findActiveSessionsAfter(
+            @Param("userId") UUID userId,
+            @Param("now") Instant now,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    /**
+     * Finds the ids of a user's sessions that are neither revoked nor expired, except one.
+     *
+     * @param userId    The ID of the user.
+     * @param excludeId The ID of the session to leave out.
+     * @param now       The current time.
+     * @return The session ids.
+     */
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.user.id = :userId AND t.id <> :excludeId"
+            + " AND t.revokedAt IS NULL AND t.expiresAt > :now")
+    List<UUID> findActiveIdsByUserIdExcept(
+            @Param("userId") UUID userId, @Param("excludeId") UUID excludeId, @Param("now") Instant now);
+
+    /**
+     * Finds the ids of the tokens of a family that are live or were revoked after a point in time, i.e. whose
+     * access tokens may still be valid.
+     *
+     * @param familyId The ID of the token family.
+     * @param since    The lower bound (exclusive) of the revocation time.
+     * @return The token ids.
+     */
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.familyId = :familyId"
+            + " AND (t.revokedAt IS NULL OR t.revokedAt > :since)")
+    List<UUID> findRecentIdsByFamilyId(@Param("familyId") UUID familyId, @Param("since") Instant since);
+
+    /**
+     * Revokes every token of a family.
+     *
+     * @param familyId The ID of the token family.
+     * @param now      The revocation time.
+     * @return The number of tokens revoked.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeAllByFamilyId(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    /**
+     * Revokes every session of a user.
+     *
+     * @param userId The ID of the user.
+     * @param now    The revocation time.
+     * @return The number of sessions revoked.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.user.id = :userId AND t.revokedAt IS NULL")
+    int revokeAllByUserId(@Param("userId") UUID userId, @Param("now") Instant now);
+
+    /**
+     * Revokes every session of a user except one.
+     *
+     * @param userId    The ID of the user.
+     * @param excludeId The ID of the session to keep.
+     * @param now       The revocation time.
+     * @return The number of sessions revoked.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.user.id = :userId AND t.id <> :excludeId"
+            + " AND t.revokedAt IS NULL")
+    int revokeAllByUserIdExcept(
+            @Param("userId") UUID userId, @Param("excludeId") UUID excludeId, @Param("now") Instant now);
+
+    /**
+     * Revokes every session of a set of users.
+     *
+     * @param userIds The IDs of the users.
+     * @param now     The revocation time.
+     * @return The number of sessions revoked.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.user.id IN :userIds AND t.revokedAt IS NULL")
+    int revokeAllByUserIdIn(@Param("userIds") Collection<UUID> userIds, @Param("now") Instant now);
+
+    /**
+     * Revokes every session created before a point in time.
+     *
+     * @param before The upper bound (exclusive) of the creation time.
+     * @param now    The revocation time.
+     * @return The number of sessions revoked.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.createdAt < :before AND t.revokedAt IS NULL")
+    int revokeAllCreatedBefore(@Param("before") Instant before, @Param("now") Instant now);
+}
@@ -0,0 +1,30 @@
+package dev.ctlabs.starter.auth.domain.repository;
+
+import dev.ctlabs.starter.auth.domain.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for managing {@link RevokedToken} entities.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    /**
+     * Finds the revocations that are still in effect.
+     *
+     * @param now The current time.
+     * @return The revocations expiring after {@code now}.
+     */
+    List<RevokedToken> findAllByExpiresAtAfter(Instant now);
+
+    /**
+     * Finds the revocations recorded since a point in time.
+     *
+     * @param since The lower bound (exclusive) of the creation time.
+     * @return The revocations created after {@code since}.
+     */
+    List<RevokedToken> findAllByCreatedAtAfter(Instant since);
+}
@@ -1,9 +1,12 @@
 package dev.ctlabs.starter.auth.domain.repository;
 
 import dev.ctlabs.starter.auth.domain.model.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,4 +21,13 @@ public interface RoleRepository extends JpaRepository<Role, Integer> {
      * @return An {@link Optional} containing the Role if found.
      */
     Optional<Role> findByName(String name);
+
+    /**
+     * Finds all roles, with their permissions fetched in the same query.
+     *
+     * @return All roles.
+     */
+    @EntityGraph(attributePaths = "permissions")
+    @Query("SELECT r FROM Role r")
+    List<Role> findAllWithPermissions();
 }
@@ -0,0 +1,67 @@
+package dev.ctlabs.starter.auth.domain.repository;
+
+import dev.ctlabs.starter.auth.domain.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for managing {@link User} entities.
+ */
+@Repository
+public interface UserRepository extends JpaRepository<User, UUID> {
+
+    /**
+     * Finds a user by their email address.
+     *
+     * @param email The email address to search for.
+     * @return An {@link Optional} containing the User if found.
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Finds a user by their phone number.
+     *
+     * @param phoneNumber The phone number to search for.
+     * @return An {@link Optional} containing the User if found.
+     */
+    Optional<User> findByPhoneNumber(String phoneNumber);
+
+    /**
+     * Finds a user by a canonical email or phone number, with a single probe of the identifier index.
+     *
+     * @param identifier The identifier, normalized with {@code IdentifierNormalizer}.
+     * @return An {@link Optional} containing the User if found.
+     */
+    @Query("SELECT u FROM User u WHERE u.id = "
+            + "(SELECT i.userId FROM UserIdentifier i WHERE i.identifier = :identifier)")
+    Optional<User> findByIdentifier(@Param("identifier") String identifier);
+
+    /**
+     * Finds a user by a canonical email or phone number, with profile and roles fetched in the same query.
+     * Permissions are resolved from the {@code RbacCatalog}.
+     *
+     * @param identifier The identifier, normalized with {@code IdentifierNormalizer}.
+     * @return An {@link Optional} containing the User if found.
+     */
+    @EntityGraph(attributePaths = {"profile", "roles"})
+    @Query("SELECT u FROM User u WHERE u.id = "
+            + "(SELECT i.userId FROM UserIdentifier i WHERE i.identifier = :identifier)")
+    Optional<User> findWithRolesByIdentifier(@Param("identifier") String identifier);
+
+    /**
+     * Finds the access-token subjects (email, or phone number when there is no email) of a set of users.
+     *
+     * @param ids The IDs of the users.
+     * @return The subjects, in no particular order.
+     */
+    @Query("SELECT COALESCE(u.email, u.phoneNumber) FROM User u WHERE u.id IN :ids")
+    List<String> findSubjectsByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,78 @@
+package dev.ctlabs.starter.auth.infrastructure.config;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Configuration for asynchronous processing.
+ * Enables Spring's @Async annotation and provides the executor used for notifications.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Name of the executor used by {@code @Async} notification methods.
+     */
+    public static final String NOTIFICATION_EXECUTOR = "authNotificationExecutor";
+
+    /**
+     * Executor for sending emails and phone messages.
+     * <p>
+     * Uses virtual threads when {@code ctlabs.auth.threads.virtual} is enabled; at most
+     * {@code notificationConcurrency} of them send at a time, and the others wait for a permit on their own thread
+     * rather than blocking the request that submitted them. Otherwise, a fixed pool takes the same number of
+     * threads and queues the rest. It is not a default candidate, so it is only used where it is requested by
+     * name and never replaces the application's task executor.
+     *
+     * @param authProperties The authentication properties.
+     * @return The notification executor.
+     */
+    @Bean(name = NOTIFICATION_EXECUTOR, defaultCandidate = false)
+    public TaskExecutor authNotificationExecutor(AuthProperties authProperties) {
+        AuthProperties.Threads threads = authProperties.getThreads();
+        if (threads.isVirtual()) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ctlabs-auth-notify-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(concurrencyLimit(threads.getNotificationConcurrency()));
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ctlabs-auth-notify-");
+        executor.setCorePoolSize(threads.getNotificationConcurrency());
+        executor.setMaxPoolSize(threads.getNotificationConcurrency());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Bounds how many tasks run at once. Unlike {@link SimpleAsyncTaskExecutor#setConcurrencyLimit}, which blocks
+     * the submitting thread, each task waits for a permit on its own (virtual) thread.
+     */
+    static TaskDecorator concurrencyLimit(int limit) {
+        Semaphore permits = new Semaphore(Math.max(limit, 1));
+        return task -> () -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
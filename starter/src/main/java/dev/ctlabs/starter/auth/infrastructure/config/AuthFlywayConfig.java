@@ -1,5 +1,6 @@
 package dev.ctlabs.starter.auth.infrastructure.config;
 
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +14,8 @@ import javax.sql.DataSource;
 /**
  * Configuration for Flyway database migrations for the Auth starter.
  * Automatically migrates the database schema on startup if enabled.
+ * With "ctlabs.auth.audit.partitioned", the migrations in ctlabs/auth/migration-partitioned are applied too;
+ * they may run out of order when partitioning is enabled on an existing schema.
  */
 @Slf4j
 @Configuration
@@ -26,14 +29,20 @@ import javax.sql.DataSource;
 public class AuthFlywayConfig {
 
     private final DataSource dataSource;
+    private final AuthProperties authProperties;
 
     @PostConstruct
     public void migrateAuthSchema() {
-        log.info(">>> STARTING AUTH STARTER MIGRATION (ctlabs/auth/migration) <<<");
+        boolean partitioned = authProperties.getAudit().isPartitioned();
+        String[] locations = partitioned
+                ? new String[] {"classpath:ctlabs/auth/migration", "classpath:ctlabs/auth/migration-partitioned"}
+                : new String[] {"classpath:ctlabs/auth/migration"};
+        log.info(">>> STARTING AUTH STARTER MIGRATION ({}) <<<", String.join(", ", locations));
         try {
             Flyway.configure()
                     .dataSource(dataSource)
-                    .locations("classpath:ctlabs/auth/migration")
+                    .locations(locations)
+                    .outOfOrder(partitioned)
                     .table("ctlabs_auth_schema_history")
                     .baselineOnMigrate(true)
                     .baselineVersion("0")
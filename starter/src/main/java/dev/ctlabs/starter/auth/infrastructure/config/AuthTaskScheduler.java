@@ -0,0 +1,56 @@
+package dev.ctlabs.starter.auth.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Scheduler for the starter's own background jobs.
+ * <p>
+ * Deliberately not exposed as a {@code TaskScheduler} bean and independent of {@code @EnableScheduling},
+ * so that it neither replaces the application's scheduler or executor nor activates its {@code @Scheduled}
+ * methods.
+ */
+@Slf4j
+@Component
+public class AuthTaskScheduler implements DisposableBean {
+
+    private final ThreadPoolTaskScheduler scheduler;
+
+    public AuthTaskScheduler() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("ctlabs-auth-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+    }
+
+    /**
+     * Runs a task repeatedly, waiting {@code delay} before the first run and between the end of one run and the
+     * start of the next. Exceptions are logged and do not cancel later runs.
+     *
+     * @param name  The task name, used in log messages.
+     * @param task  The task.
+     * @param delay The delay between runs.
+     * @return The handle of the scheduled task.
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(String name, Runnable task, Duration delay) {
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.warn("Background task '{}' failed: {}", name, e.getMessage(), e);
+            }
+        }, Instant.now().plus(delay), delay);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
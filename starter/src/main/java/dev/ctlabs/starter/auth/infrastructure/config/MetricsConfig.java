@@ -0,0 +1,184 @@
+package dev.ctlabs.starter.auth.infrastructure.config;
+
+import dev.ctlabs.starter.auth.infrastructure.security.JwtAuthenticationCache;
+import dev.ctlabs.starter.auth.infrastructure.security.LoginThrottle;
+import dev.ctlabs.starter.auth.infrastructure.security.OffloadingPasswordEncoder;
+import dev.ctlabs.starter.auth.infrastructure.security.SessionLimiter;
+import dev.ctlabs.starter.auth.infrastructure.security.TokenDenyList;
+import dev.ctlabs.starter.auth.infrastructure.service.AuditLogWriter;
+import dev.ctlabs.starter.auth.infrastructure.service.ExpiredRowReaper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for the starter's Micrometer metrics.
+ * Only active when Micrometer is on the classpath (e.g. with Spring Boot Actuator).
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+public class MetricsConfig {
+
+    /**
+     * Exposes hit, miss and eviction counts and the size of the verified-token cache.
+     *
+     * @param cache The verified-token cache.
+     * @return The {@link MeterBinder} registering the cache metrics.
+     */
+    @Bean
+    public MeterBinder jwtAuthenticationCacheMetrics(JwtAuthenticationCache cache) {
+        return registry -> {
+            FunctionCounter.builder("ctlabs.auth.token.cache.requests", cache, JwtAuthenticationCache::hits)
+                    .tag("result", "hit")
+                    .description("Verified-token cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("ctlabs.auth.token.cache.requests", cache, JwtAuthenticationCache::misses)
+                    .tag("result", "miss")
+                    .description("Verified-token cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("ctlabs.auth.token.cache.evictions", cache, JwtAuthenticationCache::evictions)
+                    .description("Expired tokens removed from the verified-token cache")
+                    .register(registry);
+            Gauge.builder("ctlabs.auth.token.cache.size", cache, JwtAuthenticationCache::size)
+                    .description("Tokens currently held in the verified-token cache")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Exposes the number of requests rejected because their access token was revoked, and the size of the
+     * deny list.
+     *
+     * @param denyList The access-token deny list.
+     * @return The {@link MeterBinder} registering the deny-list metrics.
+     */
+    @Bean
+    public MeterBinder tokenDenyListMetrics(TokenDenyList denyList) {
+        return registry -> {
+            FunctionCounter.builder("ctlabs.auth.token.revoked.rejections", denyList, TokenDenyList::rejected)
+                    .description("Requests rejected because their access token was revoked")
+                    .register(registry);
+            Gauge.builder("ctlabs.auth.token.revoked.size", denyList, TokenDenyList::size)
+                    .description("Revocations currently held in the in-memory deny list")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Exposes the number of logins refused by the login throttle.
+     *
+     * @param loginThrottle The login throttle.
+     * @return The {@link MeterBinder} registering the throttle metrics.
+     */
+    @Bean
+    public MeterBinder loginThrottleMetrics(LoginThrottle loginThrottle) {
+        return registry -> FunctionCounter.builder("ctlabs.auth.login.throttled", loginThrottle,
+                        LoginThrottle::throttled)
+                .description("Logins refused after too many failed attempts")
+                .register(registry);
+    }
+
+    /**
+     * Exposes the number of sessions revoked because their user went over the session limit.
+     *
+     * @param sessionLimiter The session limiter.
+     * @return The {@link MeterBinder} registering the session limit metrics.
+     */
+    @Bean
+    public MeterBinder sessionLimiterMetrics(SessionLimiter sessionLimiter) {
+        return registry -> FunctionCounter.builder("ctlabs.auth.sessions.evicted", sessionLimiter,
+                        SessionLimiter::evictions)
+                .description("Oldest sessions revoked to keep users within the session limit")
+                .register(registry);
+    }
+
+    /**
+     * Exposes the backlog of the audit log writer and the number of events written, dropped on overflow and
+     * lost to failed inserts.
+     *
+     * @param writer The audit log writer.
+     * @return The {@link MeterBinder} registering the audit metrics.
+     */
+    @Bean
+    public MeterBinder auditLogMetrics(AuditLogWriter writer) {
+        return registry -> {
+            Gauge.builder("ctlabs.auth.audit.queue", writer, AuditLogWriter::queued)
+                    .description("Audit events waiting to be written")
+                    .register(registry);
+            FunctionCounter.builder("ctlabs.auth.audit.events", writer, AuditLogWriter::written)
+                    .tag("result", "written")
+                    .description("Audit events processed by the writer")
+                    .register(registry);
+            FunctionCounter.builder("ctlabs.auth.audit.events", writer, AuditLogWriter::dropped)
+                    .tag("result", "dropped")
+                    .description("Audit events processed by the writer")
+                    .register(registry);
+            FunctionCounter.builder("ctlabs.auth.audit.events", writer, AuditLogWriter::failed)
+                    .tag("result", "failed")
+                    .description("Audit events processed by the writer")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Exposes the number of expired rows deleted per table, and the runs skipped because another node held the
+     * lock.
+     *
+     * @param reaper The expired row reaper.
+     * @return The {@link MeterBinder} registering the reaper metrics.
+     */
+    @Bean
+    public MeterBinder expiredRowReaperMetrics(ExpiredRowReaper reaper) {
+        return registry -> {
+            for (String table : List.of(ExpiredRowReaper.TABLE_REFRESH_TOKENS,
+                    ExpiredRowReaper.TABLE_VERIFICATION_CODES, ExpiredRowReaper.TABLE_REVOKED_TOKENS)) {
+                FunctionCounter.builder("ctlabs.auth.reaper.purged", reaper, r -> r.purged(table))
+                        .tag("table", table)
+                        .description("Expired rows deleted by the reaper")
+                        .register(registry);
+            }
+            FunctionCounter.builder("ctlabs.auth.reaper.skipped", reaper, ExpiredRowReaper::skipped)
+                    .description("Reaper runs skipped because another node was running the job")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Exposes the queue depth, busy threads, queue wait time and rejections of the password-hashing pool.
+     * Registers nothing if the application provides its own {@link PasswordEncoder}.
+     *
+     * @param passwordEncoder The password encoder.
+     * @return The {@link MeterBinder} registering the hashing metrics.
+     */
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordEncoder passwordEncoder) {
+        return registry -> {
+            if (!(passwordEncoder instanceof OffloadingPasswordEncoder encoder)) {
+                return;
+            }
+            Gauge.builder("ctlabs.auth.password.hashing.queue", encoder, OffloadingPasswordEncoder::queued)
+                    .description("Password hashes waiting for a hashing thread")
+                    .register(registry);
+            Gauge.builder("ctlabs.auth.password.hashing.active", encoder, OffloadingPasswordEncoder::active)
+                    .description("Password hashes being computed")
+                    .register(registry);
+            FunctionTimer.builder("ctlabs.auth.password.hashing.wait", encoder,
+                            OffloadingPasswordEncoder::waits, OffloadingPasswordEncoder::waitNanos,
+                            TimeUnit.NANOSECONDS)
+                    .description("Time password hashes spent waiting for a hashing thread")
+                    .register(registry);
+            FunctionCounter.builder("ctlabs.auth.password.hashing.rejections", encoder,
+                            OffloadingPasswordEncoder::rejected)
+                    .description("Requests refused because the password-hashing pool was saturated")
+                    .register(registry);
+        };
+    }
+}
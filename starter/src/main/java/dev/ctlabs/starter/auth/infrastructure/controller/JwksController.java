@@ -0,0 +1,44 @@
+package dev.ctlabs.starter.auth.infrastructure.controller;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtKeyRing;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller that publishes the token verification keys.
+ * Resource servers fetch this JSON Web Key Set to verify access tokens locally.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequestMapping("${ctlabs.auth.base-url:/api/auth}")
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+    private final AuthProperties authProperties;
+
+    public JwksController(JwtKeyRing keyRing, AuthProperties authProperties) {
+        this.keyRing = keyRing;
+        this.authProperties = authProperties;
+    }
+
+    /**
+     * Returns the public keys that verify access tokens.
+     * The response carries an ETag, so conditional requests are answered with 304 Not Modified.
+     *
+     * @return The JWKS document.
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        JwtKeyRing.JsonWebKeySet jwks = keyRing.jwks();
+        return ResponseEntity.ok()
+                .eTag(jwks.etag())
+                .cacheControl(CacheControl.maxAge(authProperties.getJwt().getJwksCacheMaxAge()).cachePublic())
+                .body(jwks.json());
+    }
+}
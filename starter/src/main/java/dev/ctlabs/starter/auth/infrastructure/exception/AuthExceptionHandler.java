@@ -1,9 +1,14 @@
 package dev.ctlabs.starter.auth.infrastructure.exception;
 
 import dev.ctlabs.starter.auth.infrastructure.controller.AuthController;
+import dev.ctlabs.starter.auth.infrastructure.security.HashingCapacityExceededException;
+import dev.ctlabs.starter.auth.infrastructure.security.LoginThrottledException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -17,6 +22,7 @@ import java.util.Map;
  * Maps exceptions to RFC 7807 ProblemDetail responses.
  */
 @Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RestControllerAdvice(assignableTypes = AuthController.class)
 public class AuthExceptionHandler {
 
@@ -57,6 +63,28 @@ public class AuthExceptionHandler {
         return e.getProblemDetail();
     }
 
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<ProblemDetail> handleHashingCapacityExceededException(HashingCapacityExceededException e) {
+        log.warn("Password hashing saturated, rejecting request: {}", e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE, "The server is busy, please retry later");
+        problemDetail.setTitle("Service Unavailable");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ProblemDetail> handleLoginThrottledException(LoginThrottledException e) {
+        log.warn("Login throttled: {}", e.getMessage());
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.TOO_MANY_REQUESTS, "Too many failed login attempts, please retry later");
+        problemDetail.setTitle("Too Many Requests");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                .body(problemDetail);
+    }
+
     @ExceptionHandler(jakarta.persistence.EntityNotFoundException.class)
     public ProblemDetail handleEntityNotFoundException(jakarta.persistence.EntityNotFoundException e) {
         log.error("Entity not found: {}", e.getMessage());
@@ -0,0 +1,133 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the {@link DelegatingPasswordEncoder} used to hash and check passwords.
+ * <p>
+ * New hashes are prefixed with the id of the configured algorithm ({@code {bcrypt}} or {@code {argon2}}). Hashes
+ * of the other algorithms, PBKDF2 hashes and unprefixed BCrypt hashes written by earlier versions are still
+ * accepted; {@link PasswordEncoder#upgradeEncoding(String)} reports them, and hashes with a lower cost than the
+ * current one, so that they are rehashed on the next successful login.
+ * <p>
+ * When a target hash time is configured, the cost is calibrated once at startup by timing a few hashes at the
+ * default cost. BCrypt and Argon2 record their cost in the hash, so nodes calibrated differently still verify
+ * each other's hashes.
+ */
+@Slf4j
+public final class AdaptivePasswordEncoderFactory {
+
+    static final int MIN_BCRYPT_STRENGTH = 10;
+    static final int MAX_BCRYPT_STRENGTH = 16;
+    static final int MIN_ARGON2_ITERATIONS = 2;
+    static final int MAX_ARGON2_ITERATIONS = 10;
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final int ARGON2_PARALLELISM = 1;
+    private static final int ARGON2_MEMORY_KIB = 19 * 1024;
+    private static final String ARGON2_REQUIRED_CLASS = "org.bouncycastle.crypto.generators.Argon2BytesGenerator";
+    private static final String CALIBRATION_PASSWORD = "calibration-Password-1";
+    private static final int CALIBRATION_RUNS = 3;
+
+    private AdaptivePasswordEncoderFactory() {
+    }
+
+    /**
+     * Creates the password encoder for the given settings, calibrating its cost if a target time is set.
+     *
+     * @param password The password settings.
+     * @return The delegating password encoder.
+     * @throws IllegalStateException If Argon2 is configured but BouncyCastle is not on the classpath.
+     */
+    public static PasswordEncoder create(AuthProperties.Password password) {
+        boolean argon2Available = ClassUtils.isPresent(ARGON2_REQUIRED_CLASS, null);
+        Duration target = password.getHashTargetTime();
+
+        BCryptPasswordEncoder bcrypt;
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        String idForEncode;
+        if (password.getHashAlgorithm() == AuthProperties.Password.HashAlgorithm.ARGON2) {
+            if (!argon2Available) {
+                throw new IllegalStateException(
+                        "Argon2 password hashing requires org.bouncycastle:bcprov-jdk18on on the classpath");
+            }
+            int iterations = target != null ? argon2Iterations(target) : MIN_ARGON2_ITERATIONS;
+            log.info("Hashing passwords with Argon2id, {} KiB, {} iterations", ARGON2_MEMORY_KIB, iterations);
+            encoders.put("argon2", argon2(iterations));
+            bcrypt = new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH);
+            idForEncode = "argon2";
+        } else {
+            int strength = target != null ? bcryptStrength(target) : MIN_BCRYPT_STRENGTH;
+            log.info("Hashing passwords with BCrypt, strength {}", strength);
+            bcrypt = new BCryptPasswordEncoder(strength);
+            if (argon2Available) {
+                encoders.put("argon2", argon2(MIN_ARGON2_ITERATIONS));
+            }
+            idForEncode = "bcrypt";
+        }
+        encoders.put("bcrypt", bcrypt);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Picks the highest BCrypt strength whose hash time stays within the target. Each step doubles the time.
+     *
+     * @param target The target hash time.
+     * @return The strength, between 10 and 16.
+     */
+    static int bcryptStrength(Duration target) {
+        long nanos = measure(new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH));
+        int strength = MIN_BCRYPT_STRENGTH;
+        while (strength < MAX_BCRYPT_STRENGTH && nanos * 2 <= target.toNanos()) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * Picks the highest Argon2 iteration count whose hash time stays within the target. The time grows linearly
+     * with the iterations.
+     *
+     * @param target The target hash time.
+     * @return The iteration count, between 2 and 10.
+     */
+    static int argon2Iterations(Duration target) {
+        long perIteration = Math.max(measure(argon2(MIN_ARGON2_ITERATIONS)) / MIN_ARGON2_ITERATIONS, 1);
+        long iterations = target.toNanos() / perIteration;
+        return Math.clamp(iterations, MIN_ARGON2_ITERATIONS, MAX_ARGON2_ITERATIONS);
+    }
+
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(
+                ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM, ARGON2_MEMORY_KIB, iterations);
+    }
+
+    private static long measure(PasswordEncoder encoder) {
+        encoder.encode(CALIBRATION_PASSWORD);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest;
+    }
+}
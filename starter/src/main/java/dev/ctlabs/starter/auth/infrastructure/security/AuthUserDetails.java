@@ -0,0 +1,102 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.domain.model.User;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of a user taken when it is loaded for authentication.
+ * <p>
+ * Besides the {@link UserDetails} contract it keeps the user id and the {@link RbacCatalog.Grant} of its roles, so
+ * that a successful login can store the session and mint the access token without loading the user again.
+ */
+@Getter
+public final class AuthUserDetails implements UserDetails, CredentialsContainer {
+
+    private final UUID userId;
+    private final String username;
+    private String password;
+    private final boolean enabled;
+    private final boolean accountNonLocked;
+    private final RbacCatalog.Grant grant;
+    private final List<GrantedAuthority> authorities;
+
+    private AuthUserDetails(
+            UUID userId,
+            String username,
+            String password,
+            boolean enabled,
+            boolean accountNonLocked,
+            RbacCatalog.Grant grant) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.accountNonLocked = accountNonLocked;
+        this.grant = grant;
+        List<GrantedAuthority> granted = new ArrayList<>(grant.roles().size() + grant.permissions().size());
+        grant.roles().forEach(role -> granted.add(new SimpleGrantedAuthority("ROLE_" + role)));
+        grant.permissions().forEach(permission -> granted.add(new SimpleGrantedAuthority(permission)));
+        this.authorities = List.copyOf(granted);
+    }
+
+    /**
+     * Takes a snapshot of a user, named after its {@link #principal(User) principal} whatever identifier it
+     * logged in with.
+     *
+     * @param user    The user.
+     * @param enabled Whether the user is verified and active.
+     * @param grant   The role names and permission slugs of the user's roles.
+     * @return The snapshot.
+     */
+    public static AuthUserDetails of(User user, boolean enabled, RbacCatalog.Grant grant) {
+        boolean accountNonLocked =
+                !"suspended".equalsIgnoreCase(user.getStatus()) && !"banned".equalsIgnoreCase(user.getStatus());
+        return new AuthUserDetails(
+                user.getId(),
+                principal(user),
+                user.getPassword() == null ? "" : user.getPassword(),
+                enabled,
+                accountNonLocked,
+                grant);
+    }
+
+    /**
+     * Returns the name a user is known by in access tokens: its email, or its phone number if it has none. Matches
+     * the {@code COALESCE(email, phone_number)} subject used when refresh tokens are rotated.
+     *
+     * @param user The user.
+     * @return The principal name.
+     */
+    public static String principal(User user) {
+        return user.getEmail() != null ? user.getEmail() : user.getPhoneNumber();
+    }
+
+    /**
+     * Returns a copy of this snapshot with another password hash.
+     *
+     * @param newPassword The new password hash.
+     * @return The updated snapshot.
+     */
+    public AuthUserDetails withPassword(String newPassword) {
+        return new AuthUserDetails(userId, username, newPassword, enabled, accountNonLocked, grant);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
@@ -0,0 +1,77 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable combination of roles and permissions granted by access tokens.
+ * <p>
+ * Instances are shared by every token with the same combination (see {@link AuthoritySets}), and the
+ * {@link GrantedAuthority} objects are only built the first time Spring Security asks for them.
+ */
+public final class AuthoritySet implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A set without roles or permissions.
+     */
+    public static final AuthoritySet EMPTY = new AuthoritySet(List.of(), List.of());
+
+    private final List<String> roles;
+    private final List<String> permissions;
+    private transient volatile List<GrantedAuthority> authorities;
+
+    AuthoritySet(List<String> roles, List<String> permissions) {
+        this.roles = List.copyOf(roles);
+        this.permissions = List.copyOf(permissions);
+    }
+
+    public List<String> roles() {
+        return roles;
+    }
+
+    public List<String> permissions() {
+        return permissions;
+    }
+
+    /**
+     * Returns the granted authorities: one "ROLE_" authority per role followed by one authority per permission.
+     *
+     * @return An unmodifiable list, built on first access.
+     */
+    public List<GrantedAuthority> authorities() {
+        List<GrantedAuthority> result = authorities;
+        if (result == null) {
+            List<GrantedAuthority> built = new ArrayList<>(roles.size() + permissions.size());
+            roles.forEach(role -> built.add(new SimpleGrantedAuthority("ROLE_" + role)));
+            permissions.forEach(permission -> built.add(new SimpleGrantedAuthority(permission)));
+            result = Collections.unmodifiableList(built);
+            authorities = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o
+                || (o instanceof AuthoritySet other && roles.equals(other.roles) && permissions.equals(other.permissions));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * roles.hashCode() + permissions.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AuthoritySet[roles=" + roles + ", permissions=" + permissions + "]";
+    }
+}
@@ -0,0 +1,51 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns {@link AuthoritySet}s so that all tokens granting the same roles and permissions share one instance.
+ * <p>
+ * Applications typically have a handful of distinct combinations. The pool is bounded anyway; once it is full,
+ * new combinations are returned without being interned.
+ */
+@Component
+public class AuthoritySets {
+
+    static final int MAX_SIZE = 4_096;
+
+    private final Map<Key, AuthoritySet> pool = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared set for the given roles and permissions.
+     *
+     * @param roles       The role names.
+     * @param permissions The permission slugs.
+     * @return The interned set.
+     */
+    public AuthoritySet intern(List<String> roles, List<String> permissions) {
+        if (roles.isEmpty() && permissions.isEmpty()) {
+            return AuthoritySet.EMPTY;
+        }
+        Key key = new Key(roles, permissions);
+        AuthoritySet existing = pool.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        AuthoritySet created = new AuthoritySet(roles, permissions);
+        if (pool.size() >= MAX_SIZE) {
+            return created;
+        }
+        existing = pool.putIfAbsent(new Key(created.roles(), created.permissions()), created);
+        return existing != null ? existing : created;
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    private record Key(List<String> roles, List<String> permissions) {}
+}
@@ -0,0 +1,74 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over strings.
+ * <p>
+ * Sized for about 1% false positives at the given capacity (10 bits and 7 probes per element). Bits are set
+ * atomically, so concurrent additions are never lost and {@link #mightContain(String)} has no false negatives.
+ */
+final class BloomFilter {
+
+    private static final int BITS_PER_ELEMENT = 10;
+    private static final int PROBES = 7;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int capacity;
+
+    BloomFilter(int capacity) {
+        this.capacity = Math.max(capacity, 1_024);
+        this.words = new AtomicLongArray((int) (((long) this.capacity * BITS_PER_ELEMENT + 63) / 64));
+        this.bitCount = (long) words.length() * 64;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= PROBES; i++) {
+            long bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= PROBES; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combined) {
+        return (combined & 0x7fffffffL) % bitCount;
+    }
+
+    /** 64-bit FNV-1a over the UTF-16 code units, finished with the SplitMix64 mixer. */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,60 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import io.jsonwebtoken.MalformedJwtException;
+
+import java.util.Base64;
+import java.util.BitSet;
+
+/**
+ * Compact encoding of the roles and permissions carried by an access token.
+ * <p>
+ * The "authz" claim has the form {@code 1.<roles>.<permissions>}, where both parts are Base64URL-encoded
+ * little-endian bitsets in which bit {@code n} is set when the role (or permission) with database id {@code n}
+ * is granted. With a catalog of 150 permissions the claim stays under 30 characters.
+ *
+ * @param roleIds       The granted role ids.
+ * @param permissionIds The granted permission ids.
+ */
+public record CompactAuthorities(BitSet roleIds, BitSet permissionIds) {
+
+    /**
+     * Name of the claim holding the encoded authorities.
+     */
+    public static final String CLAIM = "authz";
+
+    private static final String VERSION = "1";
+
+    /**
+     * Encodes these id sets.
+     *
+     * @return The claim value.
+     */
+    public String claimValue() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return VERSION + "." + encoder.encodeToString(roleIds.toByteArray())
+                + "." + encoder.encodeToString(permissionIds.toByteArray());
+    }
+
+    /**
+     * Parses a claim value produced by {@link #claimValue()}.
+     *
+     * @param value The claim value.
+     * @return The decoded id sets.
+     * @throws MalformedJwtException If the value is not a supported encoding.
+     */
+    public static CompactAuthorities parse(String value) {
+        int firstDot = value.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : value.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || !VERSION.equals(value.substring(0, firstDot))) {
+            throw new MalformedJwtException("Unsupported authorities encoding");
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            return new CompactAuthorities(
+                    BitSet.valueOf(decoder.decode(value.substring(firstDot + 1, secondDot))),
+                    BitSet.valueOf(decoder.decode(value.substring(secondDot + 1))));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Invalid authorities encoding", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.application.service.IdentifierNormalizer;
+import dev.ctlabs.starter.auth.domain.model.User;
+import dev.ctlabs.starter.auth.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Custom implementation of {@link UserDetailsService}.
+ * Loads user details from the database for Spring Security authentication, and stores rehashed passwords
+ * after a successful login with an outdated hash. The user and its role ids are fetched in a single query;
+ * permissions come from the {@link RbacCatalog}. The result is an {@link AuthUserDetails} snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final RbacCatalog rbacCatalog;
+
+    @Override
+    @Transactional(readOnly = true)
+    public @NonNull UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        boolean isEmailLogin = IdentifierNormalizer.isEmail(username);
+        User user = userRepository
+                .findWithRolesByIdentifier(IdentifierNormalizer.normalize(username))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+        boolean isVerified = isEmailLogin ? user.isEmailVerified() : user.isPhoneVerified();
+        boolean isActive = "active".equalsIgnoreCase(user.getStatus());
+
+        return AuthUserDetails.of(user, isVerified && isActive, rbacCatalog.grant(user.getRoles()));
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        AuthUserDetails authUserDetails = (AuthUserDetails) userDetails;
+        userRepository.findById(authUserDetails.getUserId()).ifPresent(user -> {
+            user.setPassword(newPassword);
+            userRepository.save(user);
+        });
+        return authUserDetails.withPassword(newPassword);
+    }
+}
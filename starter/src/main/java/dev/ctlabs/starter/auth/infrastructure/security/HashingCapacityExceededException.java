@@ -0,0 +1,27 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a password hash cannot be computed because the hashing pool is saturated: its queue is full, or
+ * the request waited longer than the configured maximum. Mapped to 503 Service Unavailable with a
+ * {@code Retry-After} header.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public HashingCapacityExceededException(Duration retryAfter) {
+        super("Password hashing capacity exceeded");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long clients should wait before retrying.
+     *
+     * @return The suggested delay, at least one second.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,549 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Allocation-lean verifier for the HMAC-signed access tokens issued by {@link JwtService}.
+ * <p>
+ * Segments are Base64URL-decoded into reused buffers and only the claims the authentication filter needs
+ * are read. Tokens with a malformed header, an unexpected algorithm or an elapsed "exp" are rejected before any
+ * cryptographic work; the signature is then checked with a reused {@link Mac} and compared in constant time.
+ * Platform threads keep their buffers in a thread-local; virtual threads borrow them from a small shared pool.
+ * <p>
+ * Tokens this verifier does not handle (asymmetric keys, unusual header parameters, oversized tokens) make
+ * {@link #verify(String)} return {@code null}, and the caller falls back to the jjwt parser.
+ */
+@Component
+public class HmacTokenVerifier {
+
+    private static final int MAX_TOKEN_LENGTH = 16 * 1024;
+    private static final int MAX_JSON_DEPTH = 16;
+    private static final int MAX_SHARED_WORKSPACES = 256;
+    private static final byte[] BASE64_URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_URL, (byte) -1);
+        for (int i = 0; i < 26; i++) {
+            BASE64_URL['A' + i] = (byte) i;
+            BASE64_URL['a' + i] = (byte) (26 + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            BASE64_URL['0' + i] = (byte) (52 + i);
+        }
+        BASE64_URL['-'] = 62;
+        BASE64_URL['_'] = 63;
+    }
+
+    private final JwtKeyRing keyRing;
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+    // Virtual threads are created per request, so a thread-local workspace would never be reused.
+    private final BlockingQueue<Workspace> sharedWorkspaces = new ArrayBlockingQueue<>(MAX_SHARED_WORKSPACES);
+
+    public HmacTokenVerifier(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    /**
+     * Verifies a compact HMAC-signed JWT.
+     *
+     * @param token The compact token.
+     * @return The verified claims, or {@code null} if the token must be verified by jjwt instead.
+     * @throws io.jsonwebtoken.JwtException If the token is malformed, expired or its signature is invalid.
+     */
+    public VerifiedToken verify(String token) {
+        if (!Thread.currentThread().isVirtual()) {
+            return verify(token, workspaces.get());
+        }
+        Workspace ws = sharedWorkspaces.poll();
+        if (ws == null) {
+            ws = new Workspace();
+        }
+        try {
+            return verify(token, ws);
+        } finally {
+            sharedWorkspaces.offer(ws);
+        }
+    }
+
+    private VerifiedToken verify(String token, Workspace ws) {
+        int length = token.length();
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new MalformedJwtException("JWT must consist of three segments");
+        }
+        if (length > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+
+        JsonCursor json = ws.json;
+
+        int headerLength = decode(token, 0, firstDot, ws.header);
+        json.reset(ws.header, headerLength);
+        String algorithm = null;
+        String keyId = null;
+        json.expect('{');
+        if (!json.consumeIf('}')) {
+            do {
+                json.readString();
+                json.expect(':');
+                if (json.spanEquals("alg")) {
+                    json.readString();
+                    algorithm = jcaAlgorithm(json);
+                } else if (json.spanEquals("kid")) {
+                    json.readString();
+                    keyId = ws.keyId(json);
+                } else if (json.spanEquals("typ")) {
+                    json.skipValue(0);
+                } else {
+                    return null;
+                }
+            } while (json.consumeIf(','));
+            json.expect('}');
+        }
+        json.expectEnd();
+
+        if (algorithm == null) {
+            return null;
+        }
+        JwtKeyRing.JwtKey key = keyRing.verificationKey(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key: " + keyId);
+        }
+        if (!(key.verificationKey() instanceof SecretKey)) {
+            return null;
+        }
+
+        int payloadLength = decode(token, firstDot + 1, secondDot, ws.payload);
+        json.reset(ws.payload, payloadLength);
+        String subject = null;
+        String tokenId = null;
+        String sessionId = null;
+        long issuedAt = 0;
+        long expiresAt = 0;
+        long notBefore = 0;
+        List<String> roles = Collections.emptyList();
+        List<String> permissions = Collections.emptyList();
+        String authorities = null;
+        json.expect('{');
+        if (!json.consumeIf('}')) {
+            do {
+                json.readString();
+                json.expect(':');
+                if (json.spanEquals("sub")) {
+                    json.readString();
+                    subject = json.spanToString();
+                } else if (json.spanEquals("exp")) {
+                    expiresAt = json.readSeconds() * 1000;
+                } else if (json.spanEquals("jti")) {
+                    json.readString();
+                    tokenId = json.spanToString();
+                } else if (json.spanEquals(JwtService.SESSION_CLAIM)) {
+                    json.readString();
+                    sessionId = json.spanToString();
+                } else if (json.spanEquals("iat")) {
+                    issuedAt = json.readSeconds() * 1000;
+                } else if (json.spanEquals("nbf")) {
+                    notBefore = json.readSeconds() * 1000;
+                } else if (json.spanEquals("roles")) {
+                    roles = json.readStringArray();
+                } else if (json.spanEquals("permissions")) {
+                    permissions = json.readStringArray();
+                } else if (json.spanEquals(CompactAuthorities.CLAIM)) {
+                    json.readString();
+                    authorities = json.spanToString();
+                } else {
+                    json.skipValue(0);
+                }
+            } while (json.consumeIf(','));
+            json.expect('}');
+        }
+        json.expectEnd();
+
+        long now = System.currentTimeMillis();
+        if (expiresAt != 0 && now > expiresAt) {
+            throw new ExpiredJwtException(null, null, "JWT expired");
+        }
+        if (notBefore != 0 && now < notBefore) {
+            throw new PrematureJwtException(null, null, "JWT not yet valid");
+        }
+
+        Mac mac = ws.mac(algorithm, key.verificationKey());
+        int signatureLength = decode(token, secondDot + 1, length, ws.signature);
+        if (signatureLength != mac.getMacLength()) {
+            throw new SignatureException("JWT signature length does not match the algorithm");
+        }
+        byte[] input = ws.signingInput(secondDot);
+        for (int i = 0; i < secondDot; i++) {
+            input[i] = (byte) token.charAt(i);
+        }
+        mac.update(input, 0, secondDot);
+        try {
+            mac.doFinal(ws.expected, 0);
+        } catch (GeneralSecurityException e) {
+            throw new SignatureException("Could not compute JWT signature", e);
+        }
+        int diff = 0;
+        for (int i = 0; i < signatureLength; i++) {
+            diff |= ws.expected[i] ^ ws.signature.bytes[i];
+        }
+        if (diff != 0) {
+            throw new SignatureException("JWT signature does not match");
+        }
+
+        return new VerifiedToken(subject, tokenId, sessionId, issuedAt, expiresAt, roles, permissions, authorities);
+    }
+
+    private static String jcaAlgorithm(JsonCursor json) {
+        if (json.spanEquals("HS256")) {
+            return "HmacSHA256";
+        }
+        if (json.spanEquals("HS384")) {
+            return "HmacSHA384";
+        }
+        if (json.spanEquals("HS512")) {
+            return "HmacSHA512";
+        }
+        return null;
+    }
+
+    /**
+     * Decodes a Base64URL segment of {@code source} into the reusable {@code target} buffer.
+     *
+     * @return The number of decoded bytes.
+     */
+    private static int decode(String source, int from, int to, Buffer target) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            throw new MalformedJwtException("Invalid Base64URL segment length");
+        }
+        byte[] out = target.ensureCapacity(length * 3 / 4 + 1);
+        int written = 0;
+        int accumulator = 0;
+        int bits = 0;
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            int value = c < 128 ? BASE64_URL[c] : -1;
+            if (value < 0) {
+                throw new MalformedJwtException("Invalid Base64URL character");
+            }
+            accumulator = (accumulator << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                out[written++] = (byte) (accumulator >>> bits);
+                accumulator &= (1 << bits) - 1;
+            }
+        }
+        return written;
+    }
+
+    /** A growable byte array reused across requests on the same thread. */
+    private static final class Buffer {
+        private byte[] bytes = new byte[512];
+
+        byte[] ensureCapacity(int capacity) {
+            if (bytes.length < capacity) {
+                bytes = new byte[Math.max(capacity, bytes.length * 2)];
+            }
+            return bytes;
+        }
+    }
+
+    /** Buffers, JSON cursor and MAC instance, owned by one thread at a time. */
+    private static final class Workspace {
+        private final Buffer header = new Buffer();
+        private final Buffer payload = new Buffer();
+        private final Buffer signature = new Buffer();
+        private final Buffer input = new Buffer();
+        private final byte[] expected = new byte[64];
+        private final JsonCursor json = new JsonCursor();
+        private String lastKeyId;
+        private Mac mac;
+        private String macAlgorithm;
+        private Key macKey;
+
+        byte[] signingInput(int length) {
+            return input.ensureCapacity(length);
+        }
+
+        /** Returns the "kid" value, reusing the previous string when the same key signed the last token. */
+        String keyId(JsonCursor json) {
+            if (lastKeyId == null || !json.spanEquals(lastKeyId)) {
+                lastKeyId = json.spanToString();
+            }
+            return lastKeyId;
+        }
+
+        Mac mac(String algorithm, Key key) {
+            if (mac == null || key != macKey || !algorithm.equals(macAlgorithm)) {
+                try {
+                    Mac created = Mac.getInstance(algorithm);
+                    if (key.getEncoded().length < created.getMacLength()) {
+                        throw new SignatureException("Signing key is too short for " + algorithm);
+                    }
+                    created.init(key);
+                    mac = created;
+                    macAlgorithm = algorithm;
+                    macKey = key;
+                } catch (GeneralSecurityException e) {
+                    throw new SignatureException("Could not initialize " + algorithm, e);
+                }
+            }
+            return mac;
+        }
+    }
+
+    /** Minimal forward-only JSON reader over a decoded segment. */
+    private static final class JsonCursor {
+        private byte[] bytes;
+        private int position;
+        private int end;
+        private int spanStart;
+        private int spanEnd;
+        private boolean spanEscaped;
+
+        void reset(Buffer buffer, int length) {
+            this.bytes = buffer.bytes;
+            this.position = 0;
+            this.end = length;
+        }
+
+        void expect(char c) {
+            if (peek() != c) {
+                throw malformed();
+            }
+            position++;
+        }
+
+        boolean consumeIf(char c) {
+            if (peek() == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (position != end) {
+                throw malformed();
+            }
+        }
+
+        /** Reads a string and records its raw bounds as the current span. */
+        void readString() {
+            expect('"');
+            spanStart = position;
+            spanEscaped = false;
+            while (position < end) {
+                byte b = bytes[position];
+                if (b == '"') {
+                    spanEnd = position++;
+                    return;
+                }
+                if (b == '\\') {
+                    spanEscaped = true;
+                    position += 2;
+                } else if ((b & 0xFF) < 0x20) {
+                    throw malformed();
+                } else {
+                    position++;
+                }
+            }
+            throw malformed();
+        }
+
+        boolean spanEquals(String ascii) {
+            if (spanEscaped) {
+                return spanToString().equals(ascii);
+            }
+            int length = spanEnd - spanStart;
+            if (length != ascii.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[spanStart + i] != ascii.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String spanToString() {
+            if (!spanEscaped) {
+                return new String(bytes, spanStart, spanEnd - spanStart, StandardCharsets.UTF_8);
+            }
+            StringBuilder result = new StringBuilder(spanEnd - spanStart);
+            int runStart = spanStart;
+            int i = spanStart;
+            while (i < spanEnd) {
+                if (bytes[i] != '\\') {
+                    i++;
+                    continue;
+                }
+                result.append(new String(bytes, runStart, i - runStart, StandardCharsets.UTF_8));
+                if (i + 1 >= spanEnd) {
+                    throw malformed();
+                }
+                byte escaped = bytes[i + 1];
+                switch (escaped) {
+                    case '"', '\\', '/' -> result.append((char) escaped);
+                    case 'b' -> result.append('\b');
+                    case 'f' -> result.append('\f');
+                    case 'n' -> result.append('\n');
+                    case 'r' -> result.append('\r');
+                    case 't' -> result.append('\t');
+                    case 'u' -> {
+                        if (i + 6 > spanEnd) {
+                            throw malformed();
+                        }
+                        result.append((char) Integer.parseInt(
+                                new String(bytes, i + 2, 4, StandardCharsets.US_ASCII), 16));
+                        i += 4;
+                    }
+                    default -> throw malformed();
+                }
+                i += 2;
+                runStart = i;
+            }
+            result.append(new String(bytes, runStart, spanEnd - runStart, StandardCharsets.UTF_8));
+            return result.toString();
+        }
+
+        /** Reads a NumericDate, truncating fractional seconds. */
+        long readSeconds() {
+            skipWhitespace();
+            int start = position;
+            boolean fractional = false;
+            while (position < end) {
+                byte b = bytes[position];
+                if (b == '.' || b == 'e' || b == 'E' || b == '+') {
+                    fractional = true;
+                } else if ((b < '0' || b > '9') && b != '-') {
+                    break;
+                }
+                position++;
+            }
+            int length = position - start;
+            if (length == 0) {
+                throw malformed();
+            }
+            if (fractional || length > 15) {
+                return (long) Double.parseDouble(new String(bytes, start, length, StandardCharsets.US_ASCII));
+            }
+            boolean negative = bytes[start] == '-';
+            long value = 0;
+            for (int i = negative ? start + 1 : start; i < position; i++) {
+                if (bytes[i] == '-') {
+                    throw malformed();
+                }
+                value = value * 10 + (bytes[i] - '0');
+            }
+            return negative ? -value : value;
+        }
+
+        List<String> readStringArray() {
+            if (peek() == 'n') {
+                expectLiteral("null");
+                return Collections.emptyList();
+            }
+            expect('[');
+            if (consumeIf(']')) {
+                return Collections.emptyList();
+            }
+            List<String> values = new ArrayList<>();
+            do {
+                readString();
+                values.add(spanToString());
+            } while (consumeIf(','));
+            expect(']');
+            return values;
+        }
+
+        void skipValue(int depth) {
+            if (depth > MAX_JSON_DEPTH) {
+                throw malformed();
+            }
+            switch (peek()) {
+                case '"' -> readString();
+                case '{' -> {
+                    position++;
+                    if (consumeIf('}')) {
+                        return;
+                    }
+                    do {
+                        readString();
+                        expect(':');
+                        skipValue(depth + 1);
+                    } while (consumeIf(','));
+                    expect('}');
+                }
+                case '[' -> {
+                    position++;
+                    if (consumeIf(']')) {
+                        return;
+                    }
+                    do {
+                        skipValue(depth + 1);
+                    } while (consumeIf(','));
+                    expect(']');
+                }
+                case 't' -> expectLiteral("true");
+                case 'f' -> expectLiteral("false");
+                case 'n' -> expectLiteral("null");
+                default -> readSeconds();
+            }
+        }
+
+        private void expectLiteral(String literal) {
+            if (end - position < literal.length()) {
+                throw malformed();
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (bytes[position + i] != literal.charAt(i)) {
+                    throw malformed();
+                }
+            }
+            position += literal.length();
+        }
+
+        private byte peek() {
+            skipWhitespace();
+            if (position >= end) {
+                throw malformed();
+            }
+            return bytes[position];
+        }
+
+        private void skipWhitespace() {
+            while (position < end) {
+                byte b = bytes[position];
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private static MalformedJwtException malformed() {
+            return new MalformedJwtException("Malformed JWT JSON");
+        }
+    }
+}
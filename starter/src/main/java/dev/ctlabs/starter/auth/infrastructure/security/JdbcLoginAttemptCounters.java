@@ -0,0 +1,80 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+
+/**
+ * {@link LoginAttemptCounters} stored in {@code auth_login_attempts}, shared by every node of a deployment.
+ * <p>
+ * Each fixed window of a key is one row, incremented with an upsert, so that concurrent attempts on different
+ * nodes never lose an update. Counting reads at most two rows through the primary key.
+ */
+public class JdbcLoginAttemptCounters implements LoginAttemptCounters {
+
+    private static final String COUNT = """
+            SELECT window_start, attempts
+            FROM auth_login_attempts
+            WHERE throttle_key = ? AND window_start >= ?
+            """;
+    private static final String INCREMENT = """
+            INSERT INTO auth_login_attempts (throttle_key, window_start, attempts)
+            VALUES (?, ?, 1)
+            ON CONFLICT (throttle_key, window_start) DO UPDATE SET attempts = auth_login_attempts.attempts + 1
+            """;
+    private static final String RESET = "DELETE FROM auth_login_attempts WHERE throttle_key = ?";
+    private static final String PRUNE = "DELETE FROM auth_login_attempts WHERE window_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long windowMillis;
+
+    public JdbcLoginAttemptCounters(JdbcTemplate jdbcTemplate, Duration window) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    public double count(String key, long nowMillis) {
+        long[] attempts = attempts(key, nowMillis);
+        return LoginAttemptCounters.slidingCount(attempts[0], attempts[1], nowMillis, windowMillis);
+    }
+
+    @Override
+    public long millisUntilBelow(String key, int limit, long nowMillis) {
+        long[] attempts = attempts(key, nowMillis);
+        return LoginAttemptCounters.millisUntilBelow(attempts[0], attempts[1], limit, nowMillis, windowMillis);
+    }
+
+    @Override
+    public void increment(String key, long nowMillis) {
+        jdbcTemplate.update(INCREMENT, key, new Timestamp(windowStart(nowMillis)));
+    }
+
+    @Override
+    public void reset(String key) {
+        jdbcTemplate.update(RESET, key);
+    }
+
+    @Override
+    public void prune(long nowMillis) {
+        jdbcTemplate.update(PRUNE, new Timestamp(windowStart(nowMillis) - windowMillis));
+    }
+
+    /**
+     * Reads the attempts of the previous and current fixed windows, in that order.
+     */
+    private long[] attempts(String key, long nowMillis) {
+        long currentStart = windowStart(nowMillis);
+        long[] attempts = new long[2];
+        jdbcTemplate.query(COUNT, rs -> {
+            boolean current = rs.getTimestamp("window_start").getTime() == currentStart;
+            attempts[current ? 1 : 0] += rs.getLong("attempts");
+        }, key, new Timestamp(currentStart - windowMillis));
+        return attempts;
+    }
+
+    private long windowStart(long nowMillis) {
+        return nowMillis - nowMillis % windowMillis;
+    }
+}
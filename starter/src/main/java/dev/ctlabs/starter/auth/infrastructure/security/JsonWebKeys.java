@@ -0,0 +1,88 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * Renders public verification keys as a JSON Web Key Set (RFC 7517).
+ * Secret (HMAC) keys are never published.
+ */
+final class JsonWebKeys {
+
+    private static final int P256_COORDINATE_LENGTH = 32;
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private JsonWebKeys() {}
+
+    /**
+     * Builds the JWKS document for the given keys.
+     *
+     * @param keys The keys in the ring.
+     * @return The JWKS document and its entity tag.
+     */
+    static JwtKeyRing.JsonWebKeySet toKeySet(Collection<JwtKeyRing.JwtKey> keys) {
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        boolean first = true;
+        for (JwtKeyRing.JwtKey key : keys) {
+            if (key.verificationKey() instanceof PublicKey publicKey) {
+                if (!first) {
+                    json.append(',');
+                }
+                appendJwk(json, key.id(), publicKey);
+                first = false;
+            }
+        }
+        String document = json.append("]}").toString();
+        return new JwtKeyRing.JsonWebKeySet(document, etag(document));
+    }
+
+    private static void appendJwk(StringBuilder json, String keyId, PublicKey key) {
+        if (key instanceof ECPublicKey ecKey) {
+            json.append("{\"kty\":\"EC\",\"crv\":\"P-256\",\"x\":\"")
+                    .append(base64Url(unsigned(ecKey.getW().getAffineX())))
+                    .append("\",\"y\":\"")
+                    .append(base64Url(unsigned(ecKey.getW().getAffineY())))
+                    .append("\",\"alg\":\"ES256\"");
+        } else if (key instanceof EdECPublicKey) {
+            byte[] encoded = key.getEncoded();
+            byte[] raw = Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+            json.append("{\"kty\":\"OKP\",\"crv\":\"Ed25519\",\"x\":\"")
+                    .append(base64Url(raw))
+                    .append("\",\"alg\":\"EdDSA\"");
+        } else {
+            throw new IllegalArgumentException("Unsupported public key type: " + key.getAlgorithm());
+        }
+        json.append(",\"use\":\"sig\",\"kid\":\"")
+                .append(keyId.replace("\\", "\\\\").replace("\"", "\\\""))
+                .append("\"}");
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] result = new byte[P256_COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, P256_COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, result, P256_COORDINATE_LENGTH - length, length);
+        return result;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String etag(String document) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(document.getBytes(StandardCharsets.UTF_8));
+            return base64Url(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * Authentication created by {@link JwtAuthenticationFilter} for a verified access token.
+ * <p>
+ * Unlike {@link org.springframework.security.authentication.UsernamePasswordAuthenticationToken}, it does not
+ * copy the authorities: they are read from the principal's shared {@link AuthoritySet} when requested.
+ */
+public class JwtAuthentication implements Authentication {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final TokenPrincipal principal;
+    private Object details;
+    private boolean authenticated = true;
+
+    public JwtAuthentication(TokenPrincipal principal) {
+        this.principal = principal;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return details;
+    }
+
+    public void setDetails(Object details) {
+        this.details = details;
+    }
+
+    @Override
+    public TokenPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (authenticated) {
+            throw new IllegalArgumentException("Cannot mark a token authentication as trusted after creation");
+        }
+        this.authenticated = false;
+    }
+
+    @Override
+    public String getName() {
+        return principal.getUsername();
+    }
+
+    @Override
+    public String toString() {
+        return "JwtAuthentication[principal=" + principal + ", authenticated=" + authenticated + "]";
+    }
+}
@@ -0,0 +1,164 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of access tokens that have already been verified.
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the token, so raw tokens are never kept in memory, and are
+ * dropped once the token expires. When the cache is full, expired entries are swept at most once per
+ * second; if it is still full, new tokens are simply not cached.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(JwtAuthenticationCache::newDigest);
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final Map<TokenDigest, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public JwtAuthenticationCache(AuthProperties authProperties) {
+        this.enabled = authProperties.getJwt().getCache().isEnabled();
+        this.maxSize = authProperties.getJwt().getCache().getMaxSize();
+    }
+
+    /**
+     * Returns the authentication built for a token on an earlier request.
+     *
+     * @param token The raw access token.
+     * @return The cached entry, or {@code null} if the cache is disabled, the token is unknown or it expired.
+     */
+    public Entry get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        TokenDigest digest = digest(token);
+        Entry entry = entries.get(digest);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            if (entries.remove(digest, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * Caches the authentication built for a verified token.
+     *
+     * @param token The raw access token.
+     * @param entry The authentication data, valid until the token expires.
+     */
+    public void put(String token, Entry entry) {
+        if (!enabled || entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            sweepExpired();
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(digest(token), entry);
+    }
+
+    /**
+     * Removes every cached token. Used when previously valid tokens must be verified again.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void sweepExpired() {
+        long now = System.currentTimeMillis();
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_MILLIS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().expiresAtMillis() <= now;
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+    }
+
+    private static TokenDigest digest(String token) {
+        // Virtual threads live for a single request, so caching a digest per thread would not pay off.
+        MessageDigest sha256 = Thread.currentThread().isVirtual() ? newDigest() : SHA_256.get();
+        byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenDigest(buffer.getLong(), buffer.getLong());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Authentication data derived from a verified token.
+     *
+     * @param principal The authenticated principal, carrying the authorities granted by the token.
+     * @param token     The verified token.
+     */
+    public record Entry(TokenPrincipal principal, VerifiedToken token) {
+
+        /**
+         * Returns the token expiration, in epoch milliseconds.
+         */
+        public long expiresAtMillis() {
+            return token.expiresAtMillis();
+        }
+    }
+
+    /** First 128 bits of the SHA-256 digest of a token. */
+    private record TokenDigest(long high, long low) {}
+}
@@ -0,0 +1,107 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filter that intercepts requests to validate JWT tokens.
+ * Extracts the token from the Authorization header and authenticates the user
+ * if valid.
+ */
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final JwtAuthenticationCache authenticationCache;
+    private final RbacCatalog rbacCatalog;
+    private final AuthoritySets authoritySets;
+    private final TokenDenyList denyList;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            JwtAuthenticationCache authenticationCache,
+            RbacCatalog rbacCatalog,
+            AuthoritySets authoritySets,
+            TokenDenyList denyList) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.authenticationCache = authenticationCache;
+        this.rbacCatalog = rbacCatalog;
+        this.authoritySets = authoritySets;
+        this.denyList = denyList;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        final String authHeader = request.getHeader("Authorization");
+        final String jwt;
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        jwt = authHeader.substring(7);
+
+        try {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                JwtAuthenticationCache.Entry entry = authenticationCache.get(jwt);
+                if (entry == null) {
+                    entry = verify(jwt);
+                    if (entry != null) {
+                        authenticationCache.put(jwt, entry);
+                    }
+                }
+
+                if (entry != null && !denyList.isRevoked(entry.token())) {
+                    JwtAuthentication authToken = new JwtAuthentication(entry.principal());
+                    authToken.setDetails(detailsSource.buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not set user authentication in security context error:{}", e.getMessage());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private JwtAuthenticationCache.Entry verify(String jwt) {
+        VerifiedToken token = jwtService.verify(jwt);
+        String userEmail = token.subject();
+        if (userEmail == null) {
+            return null;
+        }
+
+        AuthoritySet authorities;
+        if (token.authorities() != null) {
+            RbacCatalog.Authorities resolved = rbacCatalog.resolve(token.authorities());
+            authorities = authoritySets.intern(resolved.roles(), resolved.permissions());
+        } else {
+            authorities = authoritySets.intern(token.roles(), token.permissions());
+        }
+
+        return new JwtAuthenticationCache.Entry(new TokenPrincipal(userEmail, authorities), token);
+    }
+}
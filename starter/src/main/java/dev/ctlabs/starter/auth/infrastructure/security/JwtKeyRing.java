@@ -0,0 +1,356 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the keys used to sign and verify JWTs.
+ * <p>
+ * The active key signs every new token and stamps its identifier in the "kid" header. Retired keys keep
+ * verifying the tokens they signed until those tokens expire, which allows rotating keys without logging
+ * every user out. A new key can be staged first, verifying but not signing, and activated once every node
+ * has it. Keys are decoded once and published as an immutable snapshot, so the request path only
+ * performs a map lookup.
+ * <p>
+ * With an asymmetric algorithm (ES256 or EdDSA) only the private key signs, and the public keys are
+ * published as a JWKS document so other services can verify tokens without holding signing material.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private final AuthProperties authProperties;
+    private final AuthProperties.Jwt.Algorithm algorithm;
+    private final JwtParser parser;
+    private volatile Snapshot snapshot;
+
+    public JwtKeyRing(AuthProperties authProperties) {
+        this.authProperties = authProperties;
+        AuthProperties.Jwt jwt = authProperties.getJwt();
+        this.algorithm = jwt.getAlgorithm();
+
+        JwtKey active = algorithm == AuthProperties.Jwt.Algorithm.HMAC
+                ? hmacKey(jwt.getKeyId(), jwt.getSecretKey(), null)
+                : asymmetricKey(jwt.getKeyId(), loadOrGenerateKeyPair(jwt), null);
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+        keys.put(active.id(), active);
+        for (AuthProperties.Jwt.VerificationKey previous : jwt.getPreviousKeys()) {
+            JwtKey key = algorithm == AuthProperties.Jwt.Algorithm.HMAC
+                    ? hmacKey(previous.getKeyId(), previous.getSecretKey(), Instant.MAX)
+                    : asymmetricKey(previous.getKeyId(), new KeyPair(publicKey(previous.getPublicKey()), null),
+                            Instant.MAX);
+            keys.putIfAbsent(key.id(), key);
+        }
+        this.snapshot = Snapshot.of(active, keys);
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        JwtKey key = verificationKey(header.getKeyId());
+                        return key != null ? key.verificationKey() : null;
+                    }
+                })
+                .build();
+        log.info("JWT key ring initialized. Algorithm: {}, active key: {}, verification keys: {}",
+                algorithm, active.id(), keys.size());
+    }
+
+    /**
+     * Returns the key that signs new tokens.
+     *
+     * @return The active key.
+     */
+    public JwtKey signingKey() {
+        return snapshot.active();
+    }
+
+    /**
+     * Finds the key that verifies tokens carrying the given "kid" header.
+     * Tokens without a "kid" (issued before key identifiers were introduced) resolve to the active key.
+     *
+     * @param keyId The key identifier, or {@code null}.
+     * @return The matching key, or {@code null} if it is unknown or its retirement period has ended.
+     */
+    public JwtKey verificationKey(String keyId) {
+        Snapshot current = snapshot;
+        if (keyId == null) {
+            return current.active();
+        }
+        JwtKey key = current.keys().get(keyId);
+        if (key == null || (key.retiredUntil() != null && key.retiredUntil().isBefore(Instant.now()))) {
+            return null;
+        }
+        return key;
+    }
+
+    /**
+     * Returns the shared parser. It resolves the verification key through this ring, so it never needs to be
+     * rebuilt when keys rotate.
+     *
+     * @return The JWT parser.
+     */
+    public JwtParser parser() {
+        return parser;
+    }
+
+    /**
+     * Returns the public keys of the ring as a JWKS document.
+     * The document is rendered once per rotation; with HMAC signing it contains no keys.
+     *
+     * @return The JWKS document and its entity tag.
+     */
+    public JsonWebKeySet jwks() {
+        return snapshot.jwks();
+    }
+
+    /**
+     * Adds an HMAC secret that verifies tokens but does not sign them yet, so that it can be activated later
+     * with {@link #activate(String)}. With several nodes, stage the key on every node before activating it on
+     * any, or the nodes without it reject the tokens it signs.
+     *
+     * @param keyId     The identifier of the new key, or {@code null} to derive it from the key.
+     * @param secretKey The Base64-encoded secret key.
+     * @return The identifier of the staged key.
+     */
+    public String stage(String keyId, String secretKey) {
+        requireAlgorithm(AuthProperties.Jwt.Algorithm.HMAC);
+        return stage(hmacKey(keyId, secretKey, Instant.MAX));
+    }
+
+    /**
+     * Adds a key pair that verifies tokens, and is published in the JWKS document, but does not sign them yet,
+     * so that it can be activated later with {@link #activate(String)}. With several nodes, stage the key on
+     * every node before activating it on any, or the nodes without it reject the tokens it signs.
+     *
+     * @param keyId   The identifier of the new key, or {@code null} to derive it from the public key.
+     * @param keyPair The key pair matching the configured asymmetric algorithm.
+     * @return The identifier of the staged key.
+     */
+    public String stage(String keyId, KeyPair keyPair) {
+        requireAsymmetric();
+        return stage(asymmetricKey(keyId, keyPair, Instant.MAX));
+    }
+
+    /**
+     * Makes a staged key the active signing key without a restart.
+     * The previous active key keeps verifying tokens for one access-token lifetime and is then dropped.
+     *
+     * @param keyId The identifier of a key added with {@code stage}.
+     */
+    public synchronized void activate(String keyId) {
+        Snapshot current = snapshot;
+        JwtKey next = verificationKey(keyId);
+        if (next == null || next.signingKey() == null) {
+            throw new IllegalArgumentException("No staged signing key in the key ring: " + keyId);
+        }
+        if (next.id().equals(current.active().id())) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Instant retiredUntil = now.plus(authProperties.getJwt().getExpiration());
+        JwtKey active = next.retire(null);
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+        keys.put(active.id(), active);
+        for (JwtKey key : current.keys().values()) {
+            if (key == current.active()) {
+                keys.put(key.id(), key.retire(retiredUntil));
+            } else if (key.retiredUntil() == null || key.retiredUntil().isAfter(now)) {
+                keys.putIfAbsent(key.id(), key);
+            }
+        }
+        this.snapshot = Snapshot.of(active, keys);
+        log.info("JWT signing key rotated. Active key: {}, previous key {} retired until {}",
+                active.id(), current.active().id(), retiredUntil);
+    }
+
+    /**
+     * Makes a new HMAC secret the active signing key at once, i.e. {@link #stage(String, String)} followed by
+     * {@link #activate(String)}. Only safe with a single node: other nodes reject the tokens signed with the new
+     * key until they have it, so multi-node deployments must stage it everywhere first (at runtime, or through
+     * {@code previous-keys}).
+     *
+     * @param keyId     The identifier of the new key, or {@code null} to derive it from the key.
+     * @param secretKey The Base64-encoded secret key.
+     */
+    public synchronized void rotate(String keyId, String secretKey) {
+        activate(stage(keyId, secretKey));
+    }
+
+    /**
+     * Makes a new key pair the active signing key at once, i.e. {@link #stage(String, KeyPair)} followed by
+     * {@link #activate(String)}. Only safe with a single node: other nodes reject the tokens signed with the new
+     * key until they have it, so multi-node deployments must stage it everywhere first (at runtime, or through
+     * {@code previous-keys}).
+     *
+     * @param keyId   The identifier of the new key, or {@code null} to derive it from the public key.
+     * @param keyPair The key pair matching the configured asymmetric algorithm.
+     */
+    public synchronized void rotate(String keyId, KeyPair keyPair) {
+        activate(stage(keyId, keyPair));
+    }
+
+    private synchronized String stage(JwtKey next) {
+        Snapshot current = snapshot;
+        if (current.keys().containsKey(next.id())) {
+            throw new IllegalArgumentException("Key already present in the key ring: " + next.id());
+        }
+        Map<String, JwtKey> keys = new LinkedHashMap<>(current.keys());
+        keys.put(next.id(), next);
+        this.snapshot = Snapshot.of(current.active(), keys);
+        log.info("JWT key {} staged for verification. Active key: {}", next.id(), current.active().id());
+        return next.id();
+    }
+
+    private void requireAsymmetric() {
+        if (algorithm == AuthProperties.Jwt.Algorithm.HMAC) {
+            throw new IllegalStateException("Key pairs can only be rotated in with an asymmetric algorithm");
+        }
+    }
+
+    private void requireAlgorithm(AuthProperties.Jwt.Algorithm expected) {
+        if (algorithm != expected) {
+            throw new IllegalStateException("Key ring is configured for " + algorithm + ", not " + expected);
+        }
+    }
+
+    private static JwtKey hmacKey(String keyId, String secretKey, Instant retiredUntil) {
+        if (secretKey == null || secretKey.isBlank()) {
+            throw new IllegalStateException("JWT secret key is not configured (ctlabs.auth.jwt.secret-key)");
+        }
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        String id = keyId == null || keyId.isBlank() ? fingerprint(keyBytes) : keyId;
+        Key key = Keys.hmacShaKeyFor(keyBytes);
+        return new JwtKey(id, key, key, retiredUntil);
+    }
+
+    private JwtKey asymmetricKey(String keyId, KeyPair keyPair, Instant retiredUntil) {
+        PublicKey publicKey = keyPair.getPublic();
+        boolean matches = algorithm == AuthProperties.Jwt.Algorithm.ES256
+                ? publicKey instanceof ECPublicKey ec && ec.getParams().getCurve().getField().getFieldSize() == 256
+                : "EdDSA".equals(publicKey.getAlgorithm()) || "Ed25519".equals(publicKey.getAlgorithm());
+        if (!matches) {
+            throw new IllegalStateException("Public key does not match the " + algorithm + " algorithm");
+        }
+        String id = keyId == null || keyId.isBlank() ? fingerprint(publicKey.getEncoded()) : keyId;
+        return new JwtKey(id, keyPair.getPrivate(), publicKey, retiredUntil);
+    }
+
+    private KeyPair loadOrGenerateKeyPair(AuthProperties.Jwt jwt) {
+        if (jwt.getPrivateKey() == null || jwt.getPrivateKey().isBlank()) {
+            log.warn("\n\n"
+                    + "*** CONFIGURATION WARNING ***\n"
+                    + "No 'ctlabs.auth.jwt.private-key' configured for " + algorithm + " signing.\n"
+                    + "An ephemeral key pair was generated; tokens will not survive a restart"
+                    + " and will not verify on other nodes.\n");
+            return generateKeyPair();
+        }
+        if (jwt.getPublicKey() == null || jwt.getPublicKey().isBlank()) {
+            throw new IllegalStateException("JWT public key is not configured (ctlabs.auth.jwt.public-key)");
+        }
+        return new KeyPair(publicKey(jwt.getPublicKey()), privateKey(jwt.getPrivateKey()));
+    }
+
+    private KeyPair generateKeyPair() {
+        try {
+            if (algorithm == AuthProperties.Jwt.Algorithm.ES256) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                return generator.generateKeyPair();
+            }
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate a " + algorithm + " key pair", e);
+        }
+    }
+
+    private PrivateKey privateKey(String pem) {
+        try {
+            return keyFactory().generatePrivate(new PKCS8EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid JWT private key (ctlabs.auth.jwt.private-key)", e);
+        }
+    }
+
+    private PublicKey publicKey(String pem) {
+        if (pem == null || pem.isBlank()) {
+            throw new IllegalStateException("JWT public key is not configured");
+        }
+        try {
+            return keyFactory().generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid JWT public key", e);
+        }
+    }
+
+    private KeyFactory keyFactory() throws NoSuchAlgorithmException {
+        return KeyFactory.getInstance(algorithm == AuthProperties.Jwt.Algorithm.ES256 ? "EC" : "Ed25519");
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static String fingerprint(byte[] keyBytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(keyBytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A key in the ring.
+     *
+     * @param id              The identifier published in the "kid" header.
+     * @param signingKey      The secret or private key, or {@code null} for verification-only keys.
+     * @param verificationKey The secret or public key.
+     * @param retiredUntil    When the key stops verifying tokens, or {@code null} for the active key.
+     */
+    public record JwtKey(String id, Key signingKey, Key verificationKey, Instant retiredUntil) {
+        JwtKey retire(Instant until) {
+            return new JwtKey(id, signingKey, verificationKey, until);
+        }
+    }
+
+    /**
+     * A rendered JWKS document.
+     *
+     * @param json The JWKS document.
+     * @param etag The entity tag of the document, without quotes.
+     */
+    public record JsonWebKeySet(String json, String etag) {}
+
+    private record Snapshot(JwtKey active, Map<String, JwtKey> keys, JsonWebKeySet jwks) {
+        static Snapshot of(JwtKey active, Map<String, JwtKey> keys) {
+            return new Snapshot(active, Map.copyOf(keys), JsonWebKeys.toKeySet(keys.values()));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service for JWT (JSON Web Token) operations.
+ * Handles token generation, validation, and claim extraction.
+ * Signing and verification keys come from the {@link JwtKeyRing}.
+ */
+@Service
+public class JwtService {
+
+    /**
+     * Claim holding the id of the refresh token (session) an access token was issued for.
+     */
+    public static final String SESSION_CLAIM = "sid";
+
+    private final AuthProperties authProperties;
+    private final JwtKeyRing keyRing;
+    private final HmacTokenVerifier fastVerifier;
+
+    public JwtService(AuthProperties authProperties, JwtKeyRing keyRing, HmacTokenVerifier fastVerifier) {
+        this.authProperties = authProperties;
+        this.keyRing = keyRing;
+        this.fastVerifier = fastVerifier;
+    }
+
+    /**
+     * Generates a JWT token for a user with extra claims.
+     * The token is signed with the active key and carries its identifier in the "kid" header,
+     * and gets a random "jti" so it can be revoked individually.
+     *
+     * @param extraClaims Additional claims to include in the token.
+     * @param userDetails The user details.
+     * @return The generated JWT token.
+     */
+    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        JwtKeyRing.JwtKey signingKey = keyRing.signingKey();
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .header()
+                .keyId(signingKey.id())
+                .and()
+                .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
+                .subject(userDetails.getUsername())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + authProperties.getJwt().getExpiration().toMillis()))
+                .signWith(signingKey.signingKey())
+                .compact();
+    }
+
+    /**
+     * Extracts all claims from a JWT token.
+     *
+     * @param token The JWT token.
+     * @return The claims.
+     */
+    public Claims extractAllClaims(String token) {
+        return keyRing.parser().parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verifies an access token and extracts the claims needed to authenticate a request.
+     * HMAC-signed tokens take the {@link HmacTokenVerifier} fast path when it is enabled; all other tokens
+     * are parsed by jjwt.
+     *
+     * @param token The JWT token.
+     * @return The verified token.
+     */
+    public VerifiedToken verify(String token) {
+        if (authProperties.getJwt().isFastVerification()) {
+            VerifiedToken verified = fastVerifier.verify(token);
+            if (verified != null) {
+                return verified;
+            }
+        }
+
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getId(),
+                claims.get(SESSION_CLAIM, String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : 0,
+                stringList(claims.get("roles")),
+                stringList(claims.get("permissions")),
+                claims.get(CompactAuthorities.CLAIM, String.class));
+    }
+
+    private static List<String> stringList(Object claim) {
+        if (!(claim instanceof Collection<?> values)) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(values.size());
+        for (Object value : values) {
+            result.add(String.valueOf(value));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+/**
+ * Sliding-window counters of failed login attempts, keyed by identifier or IP address.
+ * <p>
+ * Attempts are counted in fixed windows; the count over the sliding window ending now is the count of the
+ * current window plus the count of the previous one, weighted by how much of it still overlaps the sliding
+ * window. This keeps two numbers per key instead of one timestamp per attempt.
+ */
+public interface LoginAttemptCounters {
+
+    /**
+     * Returns the attempts recorded for a key over the sliding window ending at {@code nowMillis}.
+     *
+     * @param key       The counter key.
+     * @param nowMillis The current time, in epoch milliseconds.
+     * @return The weighted number of attempts.
+     */
+    double count(String key, long nowMillis);
+
+    /**
+     * Returns how long it takes, if no further attempt is recorded, for the attempts of a key to fall below a
+     * limit over the sliding window.
+     *
+     * @param key       The counter key.
+     * @param limit     The maximum number of attempts.
+     * @param nowMillis The current time, in epoch milliseconds.
+     * @return The delay in milliseconds, or 0 if the attempts are already below the limit.
+     */
+    long millisUntilBelow(String key, int limit, long nowMillis);
+
+    /**
+     * Records an attempt.
+     *
+     * @param key       The counter key.
+     * @param nowMillis The current time, in epoch milliseconds.
+     */
+    void increment(String key, long nowMillis);
+
+    /**
+     * Forgets the attempts recorded for a key.
+     *
+     * @param key The counter key.
+     */
+    void reset(String key);
+
+    /**
+     * Drops the counters that no longer affect the sliding window.
+     *
+     * @param nowMillis The current time, in epoch milliseconds.
+     */
+    void prune(long nowMillis);
+
+    /**
+     * Combines the counts of two consecutive fixed windows into the count over the sliding window.
+     *
+     * @param previous     Attempts in the previous fixed window.
+     * @param current      Attempts in the current fixed window.
+     * @param nowMillis    The current time, in epoch milliseconds.
+     * @param windowMillis The window length, in milliseconds.
+     * @return The weighted number of attempts.
+     */
+    static double slidingCount(long previous, long current, long nowMillis, long windowMillis) {
+        double overlap = (double) (windowMillis - nowMillis % windowMillis) / windowMillis;
+        return current + previous * overlap;
+    }
+
+    /**
+     * Computes {@link #millisUntilBelow(String, int, long)} from the counts of two consecutive fixed windows.
+     * <p>
+     * The weight of the previous window decays linearly until the end of the current one; if the current window
+     * alone reaches the limit, its own weight must then decay in the next window.
+     *
+     * @param previous     Attempts in the previous fixed window.
+     * @param current      Attempts in the current fixed window.
+     * @param limit        The maximum number of attempts.
+     * @param nowMillis    The current time, in epoch milliseconds.
+     * @param windowMillis The window length, in milliseconds.
+     * @return The delay in milliseconds, or 0 if the attempts are already below the limit.
+     */
+    static long millisUntilBelow(long previous, long current, int limit, long nowMillis, long windowMillis) {
+        if (slidingCount(previous, current, nowMillis, windowMillis) < limit) {
+            return 0;
+        }
+        long remaining = windowMillis - nowMillis % windowMillis;
+        if (current < limit) {
+            // current + previous * (remaining - delay) / window < limit
+            return (long) Math.floor(remaining - (double) windowMillis * (limit - current) / previous) + 1;
+        }
+        // In the next window: current * (window - elapsed) / window < limit
+        return remaining + (long) Math.floor(windowMillis - (double) windowMillis * limit / current) + 1;
+    }
+}
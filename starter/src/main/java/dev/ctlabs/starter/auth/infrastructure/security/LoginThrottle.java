@@ -0,0 +1,121 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.config.AuthTaskScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles logins after repeated failures for the same identifier or from the same IP address.
+ * <p>
+ * Checked before the user is loaded and before the password is hashed, so that credential stuffing is refused
+ * at the cost of a counter lookup. Failed attempts are counted per identifier and per IP over a sliding window;
+ * a successful login clears the identifier's counter but not the IP's.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private static final String IDENTIFIER_PREFIX = "id:";
+    private static final String IP_PREFIX = "ip:";
+
+    private final LoginAttemptCounters counters;
+    private final AuthTaskScheduler scheduler;
+    private final boolean enabled;
+    private final int maxAttemptsPerIdentifier;
+    private final int maxAttemptsPerIp;
+    private final long windowMillis;
+
+    private final LongAdder throttled = new LongAdder();
+
+    public LoginThrottle(LoginAttemptCounters counters, AuthTaskScheduler scheduler, AuthProperties authProperties) {
+        this.counters = counters;
+        this.scheduler = scheduler;
+        AuthProperties.LoginThrottle properties = authProperties.getLoginThrottle();
+        this.enabled = properties.isEnabled();
+        this.maxAttemptsPerIdentifier = properties.getMaxAttemptsPerIdentifier();
+        this.maxAttemptsPerIp = properties.getMaxAttemptsPerIp();
+        this.windowMillis = properties.getWindow().toMillis();
+    }
+
+    /**
+     * Starts dropping the counters of windows that have passed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(
+                    "login-throttle",
+                    () -> counters.prune(System.currentTimeMillis()),
+                    Duration.ofMillis(windowMillis));
+        }
+    }
+
+    /**
+     * Refuses a login if too many attempts failed recently for the identifier or from the IP address.
+     *
+     * @param identifier The normalized login identifier.
+     * @param ipAddress  The client IP address, or {@code null} if unknown.
+     * @throws LoginThrottledException If either limit has been reached.
+     */
+    public void checkAllowed(String identifier, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long retryAfterMillis = millisUntilBelow(IDENTIFIER_PREFIX + identifier, maxAttemptsPerIdentifier, now);
+        if (ipAddress != null) {
+            retryAfterMillis = Math.max(
+                    retryAfterMillis, millisUntilBelow(IP_PREFIX + ipAddress, maxAttemptsPerIp, now));
+        }
+        if (retryAfterMillis > 0) {
+            throttled.increment();
+            log.warn("Login throttled for identifier {} from {}", identifier, ipAddress);
+            throw new LoginThrottledException(Duration.ofSeconds(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        }
+    }
+
+    /**
+     * Records a failed login.
+     *
+     * @param identifier The normalized login identifier.
+     * @param ipAddress  The client IP address, or {@code null} if unknown.
+     */
+    public void recordFailure(String identifier, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        counters.increment(IDENTIFIER_PREFIX + identifier, now);
+        if (ipAddress != null) {
+            counters.increment(IP_PREFIX + ipAddress, now);
+        }
+    }
+
+    /**
+     * Records a successful login, clearing the failures recorded for the identifier.
+     *
+     * @param identifier The normalized login identifier.
+     */
+    public void recordSuccess(String identifier) {
+        if (enabled) {
+            counters.reset(IDENTIFIER_PREFIX + identifier);
+        }
+    }
+
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    /**
+     * Returns how long until the weighted failures of a key fall below its limit, or 0 if they already are.
+     */
+    private long millisUntilBelow(String key, int maxAttempts, long now) {
+        return maxAttempts > 0 ? counters.millisUntilBelow(key, maxAttempts, now) : 0;
+    }
+}
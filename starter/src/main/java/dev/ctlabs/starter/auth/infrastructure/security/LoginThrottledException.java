@@ -0,0 +1,26 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a login is refused because too many attempts failed recently for the same identifier or from the
+ * same IP address. Mapped to 429 Too Many Requests with a {@code Retry-After} header.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException(Duration retryAfter) {
+        super("Too many failed login attempts");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long clients should wait before retrying.
+     *
+     * @return The suggested delay, at least one second.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,153 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PasswordEncoder} that runs the delegate on a fixed pool of platform threads with a bounded queue.
+ * <p>
+ * Password hashing is deliberately slow CPU work. Running it on request threads lets a login burst occupy every
+ * servlet thread (or, with virtual threads, every carrier thread) and starve cheap requests. Here at most
+ * {@code poolSize} hashes are computed at once and at most {@code queueCapacity} wait; beyond that, or when a
+ * queued hash has waited longer than {@code maxWait}, the call fails fast with a
+ * {@link HashingCapacityExceededException} instead of piling up.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitNanos;
+    private final Duration retryAfter;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, Duration maxWait) {
+        this.delegate = delegate;
+        int threads = Math.max(poolSize, 1);
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), new HashingThreadFactory());
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfter = Duration.ofSeconds(Math.max(1, (maxWait.toMillis() + 999) / 1000));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the number of hashes waiting for a thread.
+     *
+     * @return The queue depth.
+     */
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of hashes being computed.
+     *
+     * @return The number of busy threads.
+     */
+    public int active() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns the number of hashes refused because the queue was full or the wait too long.
+     *
+     * @return The rejection count.
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of hashes that left the queue, whether computed or shed.
+     *
+     * @return The number of recorded waits.
+     */
+    public long waits() {
+        return waits.sum();
+    }
+
+    /**
+     * Returns the total time hashes spent in the queue.
+     *
+     * @return The total wait in nanoseconds.
+     */
+    public double waitNanos() {
+        return waitNanos.sum();
+    }
+
+    private <T> T call(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - submittedAt;
+                waits.increment();
+                waitNanos.add(waited);
+                if (waited > maxWaitNanos) {
+                    rejected.increment();
+                    throw new HashingCapacityExceededException(retryAfter);
+                }
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingCapacityExceededException(retryAfter);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ctlabs-auth-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
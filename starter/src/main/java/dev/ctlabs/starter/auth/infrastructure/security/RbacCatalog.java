@@ -0,0 +1,283 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.domain.model.Permission;
+import dev.ctlabs.starter.auth.domain.model.Role;
+import dev.ctlabs.starter.auth.domain.repository.PermissionRepository;
+import dev.ctlabs.starter.auth.domain.repository.RoleRepository;
+import dev.ctlabs.starter.auth.infrastructure.config.AuthTaskScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable in-memory snapshot of the roles, the permissions and which permissions each role grants, indexed by
+ * database id.
+ * <p>
+ * Used to turn the role ids of a user into role names and distinct permission slugs when a token is issued, and
+ * to turn the {@link CompactAuthorities} of an access token back into names, without touching the database.
+ * The snapshot is loaded on first use, replaced when a {@link RbacChangedEvent} commits and every
+ * {@code ctlabs.auth.rbac.refresh-interval}, and reloaded when a role or token references an id it does not
+ * know, at most once every few seconds so that stale ids cannot hammer the database. Results are memoized per
+ * snapshot, so the common case is a single map lookup.
+ */
+@Slf4j
+@Component
+public class RbacCatalog {
+
+    private static final long RELOAD_INTERVAL_MILLIS = 5_000;
+    private static final int MAX_RESOLVED = 4_096;
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final AuthTaskScheduler scheduler;
+    private final Duration refreshInterval;
+
+    // A lock rather than synchronized: loading blocks on the database, which would pin a virtual thread.
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private volatile long lastReload;
+
+    public RbacCatalog(
+            RoleRepository roleRepository,
+            PermissionRepository permissionRepository,
+            AuthTaskScheduler scheduler,
+            AuthProperties authProperties) {
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.scheduler = scheduler;
+        this.refreshInterval = authProperties.getRbac().getRefreshInterval();
+    }
+
+    /**
+     * Starts reloading the catalog periodically, to pick up changes committed by other nodes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (refreshInterval != null && refreshInterval.isPositive()) {
+            scheduler.scheduleWithFixedDelay("rbac-catalog", this::reload, refreshInterval);
+        }
+    }
+
+    /**
+     * Reloads the catalog once a change to roles or permissions has committed.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRbacChanged(RbacChangedEvent event) {
+        log.debug("Reloading RBAC catalog after change: {}", event.change());
+        reload();
+    }
+
+    /**
+     * Resolves the role names and the distinct permission slugs granted by a set of roles.
+     * Roles that are still unknown after a reload (e.g. deleted roles) are ignored.
+     *
+     * @param roles The roles of a user; only their ids are read.
+     * @return The names, slugs and ids to put in an access token.
+     */
+    public Grant grant(Collection<Role> roles) {
+        BitSet roleIds = new BitSet();
+        roles.forEach(role -> roleIds.set(role.getId()));
+        return grant(roleIds);
+    }
+
+    /**
+     * Resolves the role names and the distinct permission slugs granted by a set of role ids.
+     * Roles that are still unknown after a reload (e.g. deleted roles) are ignored.
+     *
+     * @param roleIds The role ids of a user.
+     * @return The names, slugs and ids to put in an access token.
+     */
+    public Grant grantRoleIds(Collection<Integer> roleIds) {
+        BitSet ids = new BitSet();
+        roleIds.forEach(ids::set);
+        return grant(ids);
+    }
+
+    private Grant grant(BitSet roleIds) {
+        Snapshot current = snapshot();
+        Grant cached = current.granted().get(roleIds);
+        if (cached != null) {
+            return cached;
+        }
+        if (!Snapshot.covers(roleIds, current.roleNames())) {
+            current = reloadIfStale();
+        }
+        BitSet knownRoleIds = new BitSet();
+        BitSet permissionIds = new BitSet();
+        BitSet[] rolePermissions = current.rolePermissions();
+        for (int id = roleIds.nextSetBit(0); id >= 0; id = roleIds.nextSetBit(id + 1)) {
+            if (id < rolePermissions.length && rolePermissions[id] != null) {
+                knownRoleIds.set(id);
+                permissionIds.or(rolePermissions[id]);
+            }
+        }
+        Grant grant = new Grant(
+                names(knownRoleIds, current.roleNames()),
+                names(permissionIds, current.permissionSlugs()),
+                new CompactAuthorities(knownRoleIds, permissionIds));
+        if (knownRoleIds.equals(roleIds) && current.granted().size() < MAX_RESOLVED) {
+            current.granted().put(roleIds, grant);
+        }
+        return grant;
+    }
+
+    /**
+     * Resolves the names of the roles and permissions encoded in an "authz" claim.
+     * Ids that are still unknown after a reload (e.g. deleted roles) are ignored.
+     *
+     * @param compact The claim value.
+     * @return The role names and permission slugs.
+     */
+    public Authorities resolve(String compact) {
+        Snapshot current = snapshot();
+        Authorities cached = current.resolved().get(compact);
+        if (cached != null) {
+            return cached;
+        }
+        CompactAuthorities ids = CompactAuthorities.parse(compact);
+        if (!current.knows(ids)) {
+            current = reloadIfStale();
+        }
+        Authorities authorities = new Authorities(
+                names(ids.roleIds(), current.roleNames()),
+                names(ids.permissionIds(), current.permissionSlugs()));
+        if (current.knows(ids) && current.resolved().size() < MAX_RESOLVED) {
+            current.resolved().put(compact, authorities);
+        }
+        return authorities;
+    }
+
+    /**
+     * Reloads the catalog from the database. Call after roles or permissions have been changed.
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void load() {
+        List<Role> roles = roleRepository.findAllWithPermissions();
+        List<Permission> permissions = permissionRepository.findAll();
+
+        int maxRoleId = roles.stream().mapToInt(Role::getId).max().orElse(0);
+        String[] roleNames = new String[maxRoleId + 1];
+        BitSet[] rolePermissions = new BitSet[maxRoleId + 1];
+        for (Role role : roles) {
+            roleNames[role.getId()] = role.getName();
+            BitSet permissionIds = new BitSet();
+            role.getPermissions().forEach(permission -> permissionIds.set(permission.getId()));
+            rolePermissions[role.getId()] = permissionIds;
+        }
+
+        int maxPermissionId = permissions.stream().mapToInt(Permission::getId).max().orElse(0);
+        String[] permissionSlugs = new String[maxPermissionId + 1];
+        permissions.forEach(permission -> permissionSlugs[permission.getId()] = permission.getSlug());
+
+        snapshot = new Snapshot(
+                roleNames, permissionSlugs, rolePermissions, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        lastReload = System.currentTimeMillis();
+        log.debug("RBAC catalog loaded: {} roles, {} permissions", roles.size(), permissions.size());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reloadLock.lock();
+            try {
+                if (snapshot == null) {
+                    load();
+                }
+                current = snapshot;
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Snapshot reloadIfStale() {
+        reloadLock.lock();
+        try {
+            if (System.currentTimeMillis() - lastReload >= RELOAD_INTERVAL_MILLIS) {
+                load();
+            }
+            return snapshot;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static List<String> names(BitSet ids, String[] namesById) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            if (id < namesById.length && namesById[id] != null) {
+                names.add(namesById[id]);
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Role names and permission slugs decoded from a token.
+     *
+     * @param roles       The role names.
+     * @param permissions The permission slugs.
+     */
+    public record Authorities(List<String> roles, List<String> permissions) {}
+
+    /**
+     * Role names, distinct permission slugs and their ids granted to a user.
+     *
+     * @param roles       The role names.
+     * @param permissions The distinct permission slugs of all roles.
+     * @param ids         The role and permission ids, for the compact claim.
+     */
+    public record Grant(List<String> roles, List<String> permissions, CompactAuthorities ids) {}
+
+    /**
+     * Names and role permissions indexed by id, plus the role sets and claim values already resolved against
+     * them. Never modified after loading, apart from the memoized results.
+     */
+    private record Snapshot(
+            String[] roleNames,
+            String[] permissionSlugs,
+            BitSet[] rolePermissions,
+            Map<BitSet, Grant> granted,
+            Map<String, Authorities> resolved) {
+
+        boolean knows(CompactAuthorities ids) {
+            return covers(ids.roleIds(), roleNames) && covers(ids.permissionIds(), permissionSlugs);
+        }
+
+        static boolean covers(BitSet ids, String[] namesById) {
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                if (id >= namesById.length || namesById[id] == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
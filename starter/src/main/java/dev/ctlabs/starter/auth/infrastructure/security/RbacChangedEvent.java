@@ -0,0 +1,9 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+/**
+ * Published when roles, permissions or their assignment change, so that the {@link RbacCatalog} reloads once the
+ * change has committed.
+ *
+ * @param change A short description of the change, for logging.
+ */
+public record RbacChangedEvent(String change) {}
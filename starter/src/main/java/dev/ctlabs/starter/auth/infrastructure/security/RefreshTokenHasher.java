@@ -0,0 +1,170 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues refresh tokens and hashes their secrets with HMAC-SHA-256 under a server-side pepper.
+ * <p>
+ * Refresh token secrets are 256 random bits, so a slow password hash adds no protection over a keyed hash; it
+ * only costs tens of milliseconds of CPU on every login, refresh and logout. Tokens are the Base64URL encoding of
+ * the 16-byte session id followed by the 32-byte secret. Tokens in the former {@code <uuid>:<secret>} format and
+ * BCrypt hashes are still recognized, so that existing sessions can be verified and rehashed on first use.
+ * <p>
+ * The pepper must be configured explicitly. It is never derived from the JWT keys, so that rotating the signing key
+ * does not invalidate every session.
+ */
+@Component
+public class RefreshTokenHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HASH_PREFIX = "{hmac}";
+    private static final int ID_LENGTH = 16;
+    private static final int SECRET_LENGTH = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SecretKeySpec pepper;
+
+    public RefreshTokenHasher(AuthProperties authProperties) {
+        this.pepper = new SecretKeySpec(pepper(authProperties), ALGORITHM);
+    }
+
+    /**
+     * Generates a new random secret.
+     *
+     * @return The secret bytes.
+     */
+    public byte[] newSecret() {
+        byte[] secret = new byte[SECRET_LENGTH];
+        RANDOM.nextBytes(secret);
+        return secret;
+    }
+
+    /**
+     * Hashes a secret for storage.
+     *
+     * @param secret The secret bytes.
+     * @return The hash, prefixed with {@code {hmac}}.
+     */
+    public String hash(byte[] secret) {
+        return HASH_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(secret));
+    }
+
+    /**
+     * Formats the token handed to the client.
+     *
+     * @param id     The refresh token (session) id.
+     * @param secret The secret bytes.
+     * @return The Base64URL-encoded token.
+     */
+    public String format(UUID id, byte[] secret) {
+        ByteBuffer buffer = ByteBuffer.allocate(ID_LENGTH + secret.length);
+        buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).put(secret);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Parses a token received from a client, in either the compact or the former {@code <uuid>:<secret>} format.
+     *
+     * @param token The token.
+     * @return The session id and secret.
+     * @throws IllegalArgumentException If the token is malformed.
+     */
+    public Token parse(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Invalid refresh token format");
+        }
+        try {
+            int separator = token.indexOf(':');
+            if (separator >= 0) {
+                return new Token(
+                        UUID.fromString(token.substring(0, separator)),
+                        token.substring(separator + 1).getBytes(StandardCharsets.UTF_8));
+            }
+            byte[] decoded = Base64.getUrlDecoder().decode(token);
+            if (decoded.length != ID_LENGTH + SECRET_LENGTH) {
+                throw new IllegalArgumentException("Invalid refresh token format");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(decoded);
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            byte[] secret = new byte[SECRET_LENGTH];
+            buffer.get(secret);
+            return new Token(id, secret);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid refresh token format", e);
+        }
+    }
+
+    /**
+     * Checks a secret against a stored HMAC hash in constant time.
+     *
+     * @param token      The parsed token.
+     * @param storedHash The stored hash.
+     * @return {@code true} if the hash is an HMAC hash of the token's secret; {@code false} for legacy hashes.
+     */
+    public boolean matches(Token token, String storedHash) {
+        if (storedHash == null || !storedHash.startsWith(HASH_PREFIX)) {
+            return false;
+        }
+        byte[] expected = hash(token.secret()).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, storedHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Tells whether a stored hash predates this hasher and must be checked with the password encoder.
+     *
+     * @param storedHash The stored hash.
+     * @return {@code true} for BCrypt (or other password encoder) hashes.
+     */
+    public boolean isLegacyHash(String storedHash) {
+        return storedHash != null && !storedHash.startsWith(HASH_PREFIX);
+    }
+
+    private byte[] mac(byte[] secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(pepper);
+            return mac.doFinal(secret);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] pepper(AuthProperties authProperties) {
+        String configured = authProperties.getRefreshToken().getPepper();
+        if (configured == null || configured.isBlank()) {
+            throw new IllegalStateException(
+                    "Refresh token pepper is not configured (ctlabs.auth.refresh-token.pepper); "
+                            + "set a stable secret that is independent of the JWT signing keys");
+        }
+        return configured.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A refresh token received from a client.
+     *
+     * @param id     The refresh token (session) id.
+     * @param secret The secret bytes; for tokens in the former format, the UTF-8 bytes of the secret.
+     */
+    public record Token(UUID id, byte[] secret) {
+
+        /**
+         * Returns the secret as text, as it was passed to the password encoder by earlier versions.
+         *
+         * @return The secret as a string.
+         */
+        public String legacySecret() {
+            return new String(secret, StandardCharsets.UTF_8);
+        }
+    }
+}
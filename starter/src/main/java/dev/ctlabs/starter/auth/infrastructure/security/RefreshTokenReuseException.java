@@ -0,0 +1,12 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+/**
+ * Thrown when a refresh token that was already replaced by rotation is presented again. The token may have been
+ * stolen, so its whole family has been revoked. Mapped to 400 Bad Request like other invalid refresh tokens.
+ */
+public class RefreshTokenReuseException extends IllegalArgumentException {
+
+    public RefreshTokenReuseException() {
+        super("Refresh token has already been used");
+    }
+}
@@ -0,0 +1,95 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Replaces a refresh token with its successor in a single statement.
+ * <p>
+ * The statement revokes the presented token only if it is live and its hash matches, inserts the successor in
+ * the same family, and returns what is needed to issue the new access token: the subject, the status and the
+ * role ids of the user. Two concurrent refreshes with the same token cannot both succeed, since the second one
+ * no longer finds a live token.
+ */
+@Component
+public class RefreshTokenRotator {
+
+    private static final String ROTATE = """
+            WITH old AS (
+                UPDATE auth_refresh_tokens
+                SET revoked_at = ?, replaced_by = ?
+                WHERE id = ? AND token_hash = ? AND revoked_at IS NULL AND expires_at > ?
+                RETURNING user_id, family_id, device_info, ip_address),
+            successor AS (
+                INSERT INTO auth_refresh_tokens
+                    (id, user_id, family_id, token_hash, device_info, ip_address, expires_at, created_at)
+                SELECT ?, user_id, family_id, ?, device_info, ip_address, ?, ?
+                FROM old
+                RETURNING user_id)
+            SELECT u.id, COALESCE(u.email, u.phone_number) AS subject, u.status,
+                   ARRAY(SELECT r.role_id FROM auth_user_roles r WHERE r.user_id = u.id) AS role_ids
+            FROM successor s
+                     JOIN auth_users u ON u.id = s.user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RefreshTokenRotator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Revokes a live refresh token and inserts its successor, which inherits the family, device and IP address.
+     *
+     * @param id            The ID of the presented token.
+     * @param hash          The hash of the presented secret.
+     * @param successorId   The ID of the successor.
+     * @param successorHash The hash of the successor's secret.
+     * @param now           The current time.
+     * @param expiresAt     The expiration of the successor.
+     * @return The user of the token, or empty if the token is unknown, revoked, expired or its hash differs.
+     */
+    public Optional<Rotation> rotate(
+            UUID id, String hash, UUID successorId, String successorHash, Instant now, Instant expiresAt) {
+        Timestamp timestamp = Timestamp.from(now);
+        List<Rotation> rotations = jdbcTemplate.query(
+                ROTATE,
+                (rs, rowNum) -> rotation(rs),
+                timestamp, successorId, id, hash, timestamp,
+                successorId, successorHash, Timestamp.from(expiresAt), timestamp);
+        return rotations.stream().findFirst();
+    }
+
+    private static Rotation rotation(ResultSet rs) throws SQLException {
+        Array roleIds = rs.getArray("role_ids");
+        try {
+            return new Rotation(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("subject"),
+                    rs.getString("status"),
+                    Arrays.stream((Integer[]) roleIds.getArray()).toList());
+        } finally {
+            roleIds.free();
+        }
+    }
+
+    /**
+     * The user of a rotated refresh token.
+     *
+     * @param userId  The ID of the user.
+     * @param subject The access-token subject (email, or phone number when there is no email).
+     * @param status  The status of the user.
+     * @param roleIds The IDs of the user's roles.
+     */
+    public record Rotation(UUID userId, String subject, String status, List<Integer> roleIds) {}
+}
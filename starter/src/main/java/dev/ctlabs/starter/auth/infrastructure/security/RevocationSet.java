@@ -0,0 +1,100 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of {@code auth_revoked_tokens}, shared by the servlet and reactive deny lists.
+ * <p>
+ * Holds an exact map of revoked token and session ids, a map of per-user cutoffs, and a Bloom filter in front of
+ * both so that the common case (a token that is not revoked) is answered without a map lookup. Loading rows from
+ * the table is left to the caller.
+ */
+public final class RevocationSet {
+
+    private final Map<String, Long> revokedIds = new ConcurrentHashMap<>();
+    private final Map<String, SubjectCutoff> subjectCutoffs = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter = new BloomFilter(0);
+
+    /**
+     * Checks whether a verified token is covered by a revocation.
+     *
+     * @param token The verified token.
+     * @return {@code true} if the token must be rejected.
+     */
+    public boolean contains(VerifiedToken token) {
+        BloomFilter filter = bloomFilter;
+        if (isRevokedId(filter, token.sessionId()) || isRevokedId(filter, token.tokenId())) {
+            return true;
+        }
+        if (token.subject() != null && filter.mightContain(token.subject())) {
+            SubjectCutoff cutoff = subjectCutoffs.get(token.subject());
+            return cutoff != null && token.issuedAtMillis() < cutoff.cutoffMillis();
+        }
+        return false;
+    }
+
+    /**
+     * Adds a revocation. Synchronized with {@link #prune(long)} so that a rebuilt Bloom filter never misses an
+     * entry.
+     *
+     * @param type      One of the {@code TokenDenyList.TYPE_*} constants.
+     * @param value     The revoked token id, session id or subject.
+     * @param createdAt When the revocation was recorded.
+     * @param expiresAt When every token it can affect has expired.
+     */
+    public synchronized void add(String type, String value, Instant createdAt, Instant expiresAt) {
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (TokenDenyList.TYPE_SUBJECT.equals(type)) {
+            // "iat" has second precision: tokens issued in the same second as the revocation stay valid,
+            // so that a login right after a password reset is not rejected.
+            long cutoffMillis = createdAt.truncatedTo(ChronoUnit.SECONDS).toEpochMilli();
+            subjectCutoffs.merge(value, new SubjectCutoff(cutoffMillis, expiresAtMillis), SubjectCutoff::max);
+        } else {
+            revokedIds.merge(value, expiresAtMillis, Math::max);
+        }
+        if (size() > bloomFilter.capacity()) {
+            rebuildBloomFilter();
+        } else {
+            bloomFilter.add(value);
+        }
+    }
+
+    /**
+     * Drops the revocations that no longer affect any unexpired token.
+     *
+     * @param nowMillis The current time.
+     */
+    public synchronized void prune(long nowMillis) {
+        boolean removed = revokedIds.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        removed |= subjectCutoffs.values().removeIf(cutoff -> cutoff.expiresAtMillis() <= nowMillis);
+        if (removed) {
+            rebuildBloomFilter();
+        }
+    }
+
+    public int size() {
+        return revokedIds.size() + subjectCutoffs.size();
+    }
+
+    private boolean isRevokedId(BloomFilter filter, String id) {
+        return id != null && filter.mightContain(id) && revokedIds.containsKey(id);
+    }
+
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(size() * 2);
+        revokedIds.keySet().forEach(rebuilt::add);
+        subjectCutoffs.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+
+    private record SubjectCutoff(long cutoffMillis, long expiresAtMillis) {
+
+        SubjectCutoff max(SubjectCutoff other) {
+            return new SubjectCutoff(
+                    Math.max(cutoffMillis, other.cutoffMillis), Math.max(expiresAtMillis, other.expiresAtMillis));
+        }
+    }
+}
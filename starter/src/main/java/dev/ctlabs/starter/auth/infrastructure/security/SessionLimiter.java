@@ -0,0 +1,179 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.domain.model.RefreshToken;
+import dev.ctlabs.starter.auth.domain.repository.RefreshTokenRepository;
+import dev.ctlabs.starter.auth.infrastructure.service.AuditEvent;
+import dev.ctlabs.starter.auth.infrastructure.service.AuditLogWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opens sessions while keeping each user within {@code maxActiveSessions} live refresh tokens.
+ * <p>
+ * The new refresh token is saved and the surplus is revoked in the same transaction. A single statement ranks
+ * the user's live tokens from newest to oldest, revokes those ranked beyond the limit and returns how many were
+ * live, so a login costs one round trip whatever the number of sessions. The access tokens issued with the
+ * revoked sessions are deny-listed once the transaction commits. Two logins of the same user committing at the
+ * same time do not see each other's new token, so the user may keep one session too many until the next login.
+ * <p>
+ * With {@code sessionCountCache}, the number of live sessions found by the last check is kept for a minute and
+ * counted up on each login on this node; while it stays within the limit, the check is skipped. The cap is then
+ * approximate: logins on other nodes are not counted, so with N nodes a user may hold about N times the limit
+ * until the count expires or exceeds the limit and a check revokes the surplus. Sessions ended meanwhile are
+ * not subtracted either, which merely causes an early check.
+ */
+@Slf4j
+@Component
+public class SessionLimiter {
+
+    private static final long COUNT_TTL_MILLIS = 60_000;
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private static final String EVICT_OLDEST = """
+            WITH live AS (
+                SELECT id, row_number() OVER (ORDER BY created_at DESC, id DESC) AS position
+                FROM auth_refresh_tokens
+                WHERE user_id = ? AND revoked_at IS NULL AND expires_at > ?),
+            evicted AS (
+                UPDATE auth_refresh_tokens t
+                SET revoked_at = ?
+                FROM live
+                WHERE t.id = live.id AND live.position > ?
+                RETURNING t.id)
+            SELECT (SELECT count(*) FROM live) AS live, ARRAY(SELECT id FROM evicted) AS evicted
+            """;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenDenyList tokenDenyList;
+    private final AuditLogWriter auditLogWriter;
+    private final int maxActiveSessions;
+    private final boolean countCacheEnabled;
+    private final Map<UUID, CachedCount> counts = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+
+    public SessionLimiter(
+            RefreshTokenRepository refreshTokenRepository,
+            JdbcTemplate jdbcTemplate,
+            TokenDenyList tokenDenyList,
+            AuditLogWriter auditLogWriter,
+            AuthProperties authProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tokenDenyList = tokenDenyList;
+        this.auditLogWriter = auditLogWriter;
+        this.maxActiveSessions = authProperties.getRefreshToken().getMaxActiveSessions();
+        this.countCacheEnabled = authProperties.getRefreshToken().isSessionCountCache();
+    }
+
+    /**
+     * Saves a new refresh token and revokes the user's oldest live sessions beyond the limit.
+     *
+     * @param refreshToken The new refresh token.
+     * @return The saved refresh token.
+     */
+    @Transactional
+    public RefreshToken open(RefreshToken refreshToken) {
+        if (maxActiveSessions <= 0) {
+            return refreshTokenRepository.save(refreshToken);
+        }
+        // Flushed so that the statement below counts the new token.
+        RefreshToken saved = refreshTokenRepository.saveAndFlush(refreshToken);
+        UUID userId = saved.getUser().getId();
+        if (!withinCachedCount(userId)) {
+            evictOldest(userId, Instant.now());
+        }
+        return saved;
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private void evictOldest(UUID userId, Instant now) {
+        Timestamp timestamp = Timestamp.from(now);
+        Eviction eviction = jdbcTemplate.queryForObject(
+                EVICT_OLDEST,
+                (rs, rowNum) -> eviction(rs),
+                userId, timestamp, timestamp, maxActiveSessions);
+        cacheCount(userId, eviction.live() - eviction.sessionIds().size());
+        if (eviction.sessionIds().isEmpty()) {
+            return;
+        }
+        tokenDenyList.revokeSessions(eviction.sessionIds());
+        evictions.add(eviction.sessionIds().size());
+        auditLogWriter.record(
+                AuditEvent.TYPE_SESSIONS_REVOKED, userId, String.valueOf(eviction.sessionIds().size()));
+        log.info("Revoked {} oldest session(s) of user {} beyond the limit of {}",
+                eviction.sessionIds().size(), userId, maxActiveSessions);
+    }
+
+    private boolean withinCachedCount(UUID userId) {
+        if (!countCacheEnabled) {
+            return false;
+        }
+        CachedCount cached = counts.get(userId);
+        if (cached == null) {
+            return false;
+        }
+        if (cached.expiresAtMillis() <= System.currentTimeMillis()) {
+            counts.remove(userId, cached);
+            return false;
+        }
+        return cached.count().incrementAndGet() <= maxActiveSessions;
+    }
+
+    private void cacheCount(UUID userId, int count) {
+        if (!countCacheEnabled) {
+            return;
+        }
+        if (counts.size() >= MAX_CACHED_USERS && !counts.containsKey(userId)) {
+            sweepExpired();
+            if (counts.size() >= MAX_CACHED_USERS) {
+                return;
+            }
+        }
+        counts.put(userId, new CachedCount(new AtomicInteger(count), System.currentTimeMillis() + COUNT_TTL_MILLIS));
+    }
+
+    private void sweepExpired() {
+        long now = System.currentTimeMillis();
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_MILLIS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        counts.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+    }
+
+    private static Eviction eviction(ResultSet rs) throws SQLException {
+        Array sessionIds = rs.getArray("evicted");
+        try {
+            return new Eviction(rs.getInt("live"), Arrays.stream((UUID[]) sessionIds.getArray()).toList());
+        } finally {
+            sessionIds.free();
+        }
+    }
+
+    private record Eviction(int live, List<UUID> sessionIds) {}
+
+    private record CachedCount(AtomicInteger count, long expiresAtMillis) {}
+}
@@ -0,0 +1,173 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory {@link LoginAttemptCounters}, local to this node.
+ * <p>
+ * Keys are spread over a fixed number of shards, each a plain map guarded by its own lock, so that concurrent
+ * logins for different keys rarely contend and both fixed-window counts of a key are updated atomically.
+ * <p>
+ * Each shard holds at most {@code maxKeys / 64} keys, so that failures from many distinct addresses or
+ * identifiers cannot exhaust the heap; beyond that, the least recently used key of the shard is forgotten.
+ */
+public class StripedLoginAttemptCounters implements LoginAttemptCounters {
+
+    private static final int STRIPES = 64;
+
+    private final long windowMillis;
+    private final int maxKeysPerShard;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<String, Window>[] shards;
+    private final LongAdder evicted = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public StripedLoginAttemptCounters(Duration window, int maxKeys) {
+        this.windowMillis = window.toMillis();
+        this.maxKeysPerShard = Math.max((maxKeys + STRIPES - 1) / STRIPES, 1);
+        this.shards = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+            shards[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    if (size() <= maxKeysPerShard) {
+                        return false;
+                    }
+                    evicted.increment();
+                    return true;
+                }
+            };
+        }
+    }
+
+    @Override
+    public double count(String key, long nowMillis) {
+        int stripe = stripe(key);
+        locks[stripe].lock();
+        try {
+            Window window = shards[stripe].get(key);
+            if (window == null) {
+                return 0;
+            }
+            window.roll(nowMillis / windowMillis);
+            return LoginAttemptCounters.slidingCount(window.previous, window.current, nowMillis, windowMillis);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    @Override
+    public long millisUntilBelow(String key, int limit, long nowMillis) {
+        int stripe = stripe(key);
+        locks[stripe].lock();
+        try {
+            Window window = shards[stripe].get(key);
+            if (window == null) {
+                return 0;
+            }
+            window.roll(nowMillis / windowMillis);
+            return LoginAttemptCounters.millisUntilBelow(
+                    window.previous, window.current, limit, nowMillis, windowMillis);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    @Override
+    public void increment(String key, long nowMillis) {
+        int stripe = stripe(key);
+        long bucket = nowMillis / windowMillis;
+        locks[stripe].lock();
+        try {
+            Window window = shards[stripe].computeIfAbsent(key, k -> new Window(bucket));
+            window.roll(bucket);
+            window.current++;
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        int stripe = stripe(key);
+        locks[stripe].lock();
+        try {
+            shards[stripe].remove(key);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    @Override
+    public void prune(long nowMillis) {
+        long previousBucket = nowMillis / windowMillis - 1;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            locks[stripe].lock();
+            try {
+                shards[stripe].values().removeIf(window -> window.bucket < previousBucket);
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys currently tracked.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        int size = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            locks[stripe].lock();
+            try {
+                size += shards[stripe].size();
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of keys forgotten because their shard was full.
+     *
+     * @return The number of evicted keys.
+     */
+    public long evicted() {
+        return evicted.sum();
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * Attempt counts of the current and previous fixed windows of a key. Guarded by the lock of its shard.
+     */
+    private static final class Window {
+
+        private long bucket;
+        private int current;
+        private int previous;
+
+        private Window(long bucket) {
+            this.bucket = bucket;
+        }
+
+        private void roll(long nowBucket) {
+            if (nowBucket == bucket) {
+                return;
+            }
+            previous = nowBucket == bucket + 1 ? current : 0;
+            current = 0;
+            bucket = nowBucket;
+        }
+    }
+}
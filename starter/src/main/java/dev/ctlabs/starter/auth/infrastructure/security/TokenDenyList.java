@@ -0,0 +1,218 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.domain.model.RevokedToken;
+import dev.ctlabs.starter.auth.domain.repository.RevokedTokenRepository;
+import dev.ctlabs.starter.auth.infrastructure.config.AuthTaskScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deny list of access tokens revoked before their expiration.
+ * <p>
+ * Revocations are stored in {@code auth_revoked_tokens} and mirrored into a {@link RevocationSet} on every node,
+ * so that checking a token never touches the database. Each node polls the table for revocations recorded by
+ * other nodes. Entries are kept until every access token they can affect has expired.
+ */
+@Slf4j
+@Component
+public class TokenDenyList {
+
+    public static final String TYPE_TOKEN = "JTI";
+    public static final String TYPE_SESSION = "SESSION";
+    public static final String TYPE_SUBJECT = "SUBJECT";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final AuthTaskScheduler scheduler;
+    private final boolean enabled;
+    private final Duration tokenLifetime;
+    private final Duration pollInterval;
+    private final Duration pollLookback;
+
+    private final RevocationSet revocations = new RevocationSet();
+    private final LongAdder rejected = new LongAdder();
+    private volatile Instant lastPoll;
+
+    public TokenDenyList(
+            RevokedTokenRepository revokedTokenRepository, AuthTaskScheduler scheduler, AuthProperties authProperties) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.scheduler = scheduler;
+        AuthProperties.Jwt.Revocation revocation = authProperties.getJwt().getRevocation();
+        this.enabled = revocation.isEnabled();
+        this.tokenLifetime = authProperties.getJwt().getExpiration();
+        this.pollInterval = revocation.getPollInterval();
+        this.pollLookback = revocation.getPollLookback();
+    }
+
+    /**
+     * Loads the revocations still in effect and starts polling for new ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Could not load revoked tokens: {}", e.getMessage());
+        }
+        scheduler.scheduleWithFixedDelay("token-deny-list", this::poll, pollInterval);
+    }
+
+    /**
+     * Revokes every access token issued for a session (refresh token).
+     *
+     * @param sessionId The refresh token id.
+     */
+    public void revokeSession(UUID sessionId) {
+        record(TYPE_SESSION, sessionId.toString(), Instant.now().plus(tokenLifetime));
+    }
+
+    /**
+     * Revokes every access token issued for a set of sessions, with one batch of inserts.
+     *
+     * @param sessionIds The refresh token ids.
+     */
+    public void revokeSessions(Collection<UUID> sessionIds) {
+        recordAll(TYPE_SESSION, sessionIds.stream().map(UUID::toString).toList(), Instant.now().plus(tokenLifetime));
+    }
+
+    /**
+     * Revokes every access token issued to a set of users up to now, with one batch of inserts.
+     *
+     * @param subjects The token subjects (email or phone number).
+     */
+    public void revokeSubjects(Collection<String> subjects) {
+        recordAll(TYPE_SUBJECT, subjects, Instant.now().plus(tokenLifetime));
+    }
+
+    /**
+     * Revokes every access token issued to a user up to now. Tokens issued afterwards stay valid.
+     *
+     * @param subject The token subject (email or phone number).
+     */
+    public void revokeSubject(String subject) {
+        record(TYPE_SUBJECT, subject, Instant.now().plus(tokenLifetime));
+    }
+
+    /**
+     * Revokes a single access token.
+     *
+     * @param tokenId   The "jti" claim of the token.
+     * @param expiresAt The expiration of the token.
+     */
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        record(TYPE_TOKEN, tokenId, expiresAt);
+    }
+
+    /**
+     * Checks whether a verified token has been revoked. Never touches the database.
+     *
+     * @param token The verified token.
+     * @return {@code true} if the token must be rejected.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (!enabled) {
+            return false;
+        }
+        if (revocations.contains(token)) {
+            rejected.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Applies the revocations recorded since the last poll (by any node) and drops the expired ones.
+     */
+    public void poll() {
+        Instant now = Instant.now();
+        List<RevokedToken> recorded = lastPoll == null
+                ? revokedTokenRepository.findAllByExpiresAtAfter(now)
+                : revokedTokenRepository.findAllByCreatedAtAfter(lastPoll.minus(pollLookback));
+        for (RevokedToken revocation : recorded) {
+            revocations.add(
+                    revocation.getType(), revocation.getValue(), revocation.getCreatedAt(), revocation.getExpiresAt());
+        }
+        lastPoll = now;
+        revocations.prune(now.toEpochMilli());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public int size() {
+        return revocations.size();
+    }
+
+    private void record(String type, String value, Instant expiresAt) {
+        if (!enabled || value == null) {
+            return;
+        }
+        RevokedToken revocation = new RevokedToken();
+        revocation.setType(type);
+        revocation.setValue(value);
+        revocation.setExpiresAt(expiresAt);
+        revocation = revokedTokenRepository.save(revocation);
+
+        Instant createdAt = revocation.getCreatedAt() != null ? revocation.getCreatedAt() : Instant.now();
+        afterCommit(() -> revocations.add(type, value, createdAt, expiresAt));
+    }
+
+    private void recordAll(String type, Collection<String> values, Instant expiresAt) {
+        if (!enabled || values.isEmpty()) {
+            return;
+        }
+        List<RevokedToken> rows = values.stream()
+                .map(value -> {
+                    RevokedToken revocation = new RevokedToken();
+                    revocation.setType(type);
+                    revocation.setValue(value);
+                    revocation.setExpiresAt(expiresAt);
+                    return revocation;
+                })
+                .toList();
+        List<RevokedToken> saved = revokedTokenRepository.saveAll(rows);
+
+        Instant now = Instant.now();
+        afterCommit(() -> saved.forEach(revocation -> revocations.add(
+                type,
+                revocation.getValue(),
+                revocation.getCreatedAt() != null ? revocation.getCreatedAt() : now,
+                expiresAt)));
+    }
+
+    /**
+     * Runs a task once the current transaction commits, or right away outside a transaction, so that a
+     * rolled-back revocation never reaches the in-memory structures.
+     */
+    private static void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
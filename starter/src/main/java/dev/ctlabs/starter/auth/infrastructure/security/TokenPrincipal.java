@@ -0,0 +1,60 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * Principal of a request authenticated with an access token.
+ * <p>
+ * Holds the token subject and a shared {@link AuthoritySet}; it never carries a password.
+ */
+public final class TokenPrincipal implements UserDetails {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String username;
+    private final AuthoritySet authoritySet;
+
+    public TokenPrincipal(String username, AuthoritySet authoritySet) {
+        this.username = username;
+        this.authoritySet = authoritySet;
+    }
+
+    public AuthoritySet getAuthoritySet() {
+        return authoritySet;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authoritySet.authorities();
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof TokenPrincipal other && username.equals(other.username));
+    }
+
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "TokenPrincipal[username=" + username + ", " + authoritySet + "]";
+    }
+}
@@ -0,0 +1,25 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import java.util.List;
+
+/**
+ * The claims of a verified access token that the authentication filter needs.
+ *
+ * @param subject         The "sub" claim (email or phone number).
+ * @param tokenId         The "jti" claim, or {@code null} if the token has none.
+ * @param sessionId       The "sid" claim (the refresh token the access token was issued for), or {@code null}.
+ * @param issuedAtMillis  The "iat" claim in epoch milliseconds, or 0 if the token has none.
+ * @param expiresAtMillis The "exp" claim in epoch milliseconds, or 0 if the token has none.
+ * @param roles           The role names.
+ * @param permissions     The permission slugs.
+ * @param authorities     The compact "authz" claim, or {@code null} if the token carries role and permission names.
+ */
+public record VerifiedToken(
+        String subject,
+        String tokenId,
+        String sessionId,
+        long issuedAtMillis,
+        long expiresAtMillis,
+        List<String> roles,
+        List<String> permissions,
+        String authorities) {}
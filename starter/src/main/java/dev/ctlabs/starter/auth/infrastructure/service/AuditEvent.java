@@ -0,0 +1,38 @@
+package dev.ctlabs.starter.auth.infrastructure.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An entry waiting to be written to {@code auth_audit_logs}.
+ *
+ * @param userId    The user the event concerns, or {@code null} if unknown.
+ * @param eventType One of the {@code TYPE_*} constants.
+ * @param details   Free-form context, e.g. the identifier of a failed login or a role name.
+ * @param ipAddress The client IP address, or {@code null} outside a request.
+ * @param userAgent The client user agent, or {@code null} outside a request.
+ * @param createdAt When the event happened.
+ */
+public record AuditEvent(
+        UUID userId, String eventType, String details, String ipAddress, String userAgent, Instant createdAt) {
+
+    public static final String TYPE_LOGIN_SUCCESS = "LOGIN_SUCCESS";
+    public static final String TYPE_LOGIN_FAILURE = "LOGIN_FAILURE";
+    public static final String TYPE_TOKEN_REFRESH = "TOKEN_REFRESH";
+    public static final String TYPE_TOKEN_REUSE = "TOKEN_REUSE";
+    public static final String TYPE_LOGOUT = "LOGOUT";
+    public static final String TYPE_SESSION_REVOKED = "SESSION_REVOKED";
+    public static final String TYPE_SESSIONS_REVOKED = "SESSIONS_REVOKED";
+    public static final String TYPE_PASSWORD_RESET_REQUESTED = "PASSWORD_RESET_REQUESTED";
+    public static final String TYPE_PASSWORD_RESET = "PASSWORD_RESET";
+    public static final String TYPE_EMAIL_VERIFIED = "EMAIL_VERIFIED";
+    public static final String TYPE_PHONE_VERIFIED = "PHONE_VERIFIED";
+    public static final String TYPE_USER_STATUS_CHANGED = "USER_STATUS_CHANGED";
+    public static final String TYPE_USER_DELETED = "USER_DELETED";
+    public static final String TYPE_ROLE_ASSIGNED = "ROLE_ASSIGNED";
+    public static final String TYPE_ROLE_REMOVED = "ROLE_REMOVED";
+    public static final String TYPE_ROLE_CREATED = "ROLE_CREATED";
+    public static final String TYPE_PERMISSION_CREATED = "PERMISSION_CREATED";
+    public static final String TYPE_PERMISSION_ASSIGNED = "PERMISSION_ASSIGNED";
+    public static final String TYPE_PERMISSION_REMOVED = "PERMISSION_REMOVED";
+}
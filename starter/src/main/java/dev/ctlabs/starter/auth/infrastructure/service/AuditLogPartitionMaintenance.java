@@ -0,0 +1,122 @@
+package dev.ctlabs.starter.auth.infrastructure.service;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.config.AuthTaskScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code auth_audit_logs} in shape when "ctlabs.auth.audit.partitioned" is set.
+ * <p>
+ * On startup and then every {@code maintenanceInterval}, creates the partitions of the current month and the
+ * next {@code partitionsAhead} months, and drops the partitions whose whole month is older than the retention
+ * period. Dropping a partition is a catalog operation, so retention never deletes rows one by one. Several
+ * nodes may run the job concurrently; a partition another node just created is skipped.
+ * <p>
+ * If rows of a month were written to the default partition because that month's partition was missing, the
+ * partition cannot be created as is. The rows are then moved into the new partition, and the gap is logged as
+ * an error.
+ */
+@Slf4j
+@Service
+public class AuditLogPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuthTaskScheduler scheduler;
+    private final boolean partitioned;
+    private final int partitionsAhead;
+    private final Duration retention;
+    private final Duration interval;
+
+    public AuditLogPartitionMaintenance(
+            JdbcTemplate jdbcTemplate, AuthTaskScheduler scheduler, AuthProperties authProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scheduler = scheduler;
+        AuthProperties.Audit audit = authProperties.getAudit();
+        this.partitioned = audit.isPartitioned();
+        this.partitionsAhead = Math.max(audit.getPartitionsAhead(), 0);
+        this.retention = audit.getRetention();
+        this.interval = audit.getMaintenanceInterval();
+    }
+
+    /**
+     * Runs the maintenance once and schedules it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!partitioned) {
+            return;
+        }
+        try {
+            run();
+        } catch (Exception e) {
+            log.warn("Could not maintain audit log partitions: {}", e.getMessage());
+        }
+        scheduler.scheduleWithFixedDelay("audit-log-partitions", this::run, interval);
+    }
+
+    /**
+     * Creates the upcoming partitions and drops the expired ones.
+     */
+    public void run() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        createPartitions(today);
+        if (retention != null && retention.isPositive()) {
+            dropPartitions(today.minusDays(retention.toDays()));
+        }
+    }
+
+    private void createPartitions(LocalDate today) {
+        LocalDate month = today.withDayOfMonth(1);
+        for (int i = 0; i <= partitionsAhead; i++, month = month.plusMonths(1)) {
+            try {
+                String created = jdbcTemplate.queryForObject(
+                        "SELECT auth_audit_logs_create_partition(?)", String.class, Date.valueOf(month));
+                if (created != null) {
+                    log.info("Created audit log partition {}", created);
+                }
+            } catch (DataAccessException e) {
+                if (holdsDefaultRows(month)) {
+                    splitDefault(month);
+                } else {
+                    // Another node created it concurrently.
+                    log.warn("Could not create audit log partition for {}: {}", month, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean holdsDefaultRows(LocalDate month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM auth_audit_logs_default WHERE created_at >= ? AND created_at < ?)",
+                Boolean.class,
+                Timestamp.from(month.atStartOfDay(ZoneOffset.UTC).toInstant()),
+                Timestamp.from(month.plusMonths(1).atStartOfDay(ZoneOffset.UTC).toInstant())));
+    }
+
+    private void splitDefault(LocalDate month) {
+        Long moved = jdbcTemplate.queryForObject(
+                "SELECT auth_audit_logs_split_default(?)", Long.class, Date.valueOf(month));
+        log.error("Audit log partition for {} was missing; moved {} rows out of the default partition into it",
+                month, moved);
+    }
+
+    private void dropPartitions(LocalDate retainFrom) {
+        List<String> dropped = jdbcTemplate.queryForList(
+                "SELECT auth_audit_logs_drop_partitions(?)", String.class, Date.valueOf(retainFrom));
+        if (!dropped.isEmpty()) {
+            log.info("Dropped audit log partitions past retention: {}", dropped);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package dev.ctlabs.starter.auth.infrastructure.service;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes {@link AuditEvent}s to {@code auth_audit_logs} in the background.
+ * <p>
+ * Recording an event only captures the request's IP address and user agent and puts the event in a bounded
+ * queue; a single writer thread drains the queue and inserts up to {@code flushSize} rows per statement, at
+ * least every {@code flushInterval}. When the queue is full the event is dropped, or, with the BLOCK overflow
+ * policy, the caller waits up to {@code flushInterval} for room first. Events recorded inside a transaction
+ * are queued once it commits, so that rolled-back changes are not audited. A batch rejected by a constraint is
+ * split until only the offending events are left out.
+ * <p>
+ * The writer stops after the web server, so that the events of requests completed during graceful shutdown are
+ * still queued and written. Pending events are written when it stops; events recorded afterwards are written
+ * inline by the caller.
+ */
+@Slf4j
+@Service
+public class AuditLogWriter implements SmartLifecycle {
+
+    // Six bind parameters per row keep a full batch far below PostgreSQL's limit of 65535.
+    private static final int MAX_FLUSH_SIZE = 1_000;
+    private static final int MAX_DETAILS_LENGTH = 255;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    // Spring Boot stops the web server in phase DEFAULT_PHASE - 2048, after its graceful shutdown (- 1024).
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    // Upper bound of each wait for events, so that the writer notices a shutdown quickly.
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final String INSERT =
+            "INSERT INTO auth_audit_logs (user_id, event_type, details, ip_address, user_agent, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final boolean blockOnOverflow;
+    private final String fullBatchInsert;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private Thread writer;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, AuthProperties authProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        AuthProperties.Audit audit = authProperties.getAudit();
+        this.enabled = audit.isEnabled();
+        this.queue = new ArrayBlockingQueue<>(Math.max(audit.getQueueCapacity(), 1));
+        this.flushSize = Math.clamp(audit.getFlushSize(), 1, MAX_FLUSH_SIZE);
+        this.flushIntervalNanos = audit.getFlushInterval().toNanos();
+        this.blockOnOverflow = audit.getOverflowPolicy() == AuthProperties.Audit.OverflowPolicy.BLOCK;
+        this.fullBatchInsert = insert(flushSize);
+    }
+
+    /**
+     * Records an event about a user, with the IP address and user agent of the current request, if any.
+     *
+     * @param eventType One of the {@code AuditEvent.TYPE_*} constants.
+     * @param userId    The user, or {@code null} if unknown.
+     * @param details   Free-form context, or {@code null}. Truncated to 255 characters.
+     */
+    public void record(String eventType, UUID userId, String details) {
+        if (!enabled) {
+            return;
+        }
+        String ipAddress = null;
+        String userAgent = null;
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            ipAddress = request.getRemoteAddr();
+            userAgent = request.getHeader("User-Agent");
+        }
+        if (details != null && details.length() > MAX_DETAILS_LENGTH) {
+            details = details.substring(0, MAX_DETAILS_LENGTH);
+        }
+        AuditEvent event = new AuditEvent(userId, eventType, details, ipAddress, userAgent, Instant.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        stopped = false;
+        writer = Thread.ofPlatform().name("ctlabs-auth-audit").daemon(true).start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stopped = true;
+        if (writer.isAlive()) {
+            log.warn("{} audit events were not written before shutdown", queue.size());
+        } else {
+            writeQueued();
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    public long written() {
+        return written.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (stopped) {
+            write(List.of(event));
+            return;
+        }
+        boolean queued;
+        try {
+            queued = blockOnOverflow
+                    ? queue.offer(event, flushIntervalNanos, TimeUnit.NANOSECONDS)
+                    : queue.offer(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            dropped.increment();
+        } else if (stopped) {
+            // The writer stopped while the event was being queued.
+            writeQueued();
+        }
+    }
+
+    /**
+     * Writes the events left in the queue from the calling thread.
+     */
+    private void writeQueued() {
+        List<AuditEvent> batch = new ArrayList<>(flushSize);
+        while (queue.drainTo(batch, flushSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch, flushSize - batch.size());
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for a first event, then collects more until the batch is full, the flush interval has passed or the
+     * writer is stopping.
+     */
+    private void fill(List<AuditEvent> batch) throws InterruptedException {
+        AuditEvent first = queue.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < flushSize && running) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= flushSize || remaining <= 0) {
+                return;
+            }
+            AuditEvent next = queue.poll(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+        queue.drainTo(batch, flushSize - batch.size());
+    }
+
+    private void write(List<AuditEvent> batch) {
+        Object[] args = new Object[batch.size() * 6];
+        int i = 0;
+        for (AuditEvent event : batch) {
+            args[i++] = event.userId();
+            args[i++] = event.eventType();
+            args[i++] = event.details();
+            args[i++] = event.ipAddress();
+            args[i++] = event.userAgent();
+            args[i++] = Timestamp.from(event.createdAt());
+        }
+        String sql = batch.size() == flushSize ? fullBatchInsert : insert(batch.size());
+        try {
+            jdbcTemplate.update(sql, args);
+            written.add(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                failed.increment();
+                log.warn("Could not write audit event {} of user {}: {}",
+                        batch.getFirst().eventType(), batch.getFirst().userId(), e.getMessage());
+                return;
+            }
+            // A single bad row, typically of a user deleted since it was recorded, fails the whole statement.
+            // Halving the batch until the statements succeed drops only the offending events.
+            int half = batch.size() / 2;
+            write(batch.subList(0, half));
+            write(batch.subList(half, batch.size()));
+        } catch (DataAccessException e) {
+            failed.add(batch.size());
+            log.warn("Could not write {} audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static String insert(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT.length() + rows * (ROW.length() + 2)).append(INSERT);
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+        }
+        return sql.toString();
+    }
+}
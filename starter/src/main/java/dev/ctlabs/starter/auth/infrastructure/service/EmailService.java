@@ -1,6 +1,7 @@
 package dev.ctlabs.starter.auth.infrastructure.service;
 
 import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.config.AsyncConfig;
 import dev.ctlabs.starter.auth.infrastructure.service.mail.EmailType;
 import dev.ctlabs.starter.auth.infrastructure.service.mail.MailSenderStrategy;
 import jakarta.annotation.PostConstruct;
@@ -68,7 +69,7 @@ public class EmailService {
      * @param expiration The expiration time value.
      * @param unit       The expiration time unit (e.g., "minutes").
      */
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     public void sendVerificationEmail(String to, String name, String code, long expiration, String unit) {
         Map<String, Object> variables = new HashMap<>();
         variables.put("name", name);
@@ -95,7 +96,7 @@ public class EmailService {
      * @param expiration The expiration time value.
      * @param unit       The expiration time unit.
      */
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     public void sendPasswordResetEmail(String to, String name, String code, long expiration, String unit) {
         Map<String, Object> variables = new HashMap<>();
         variables.put("name", name);
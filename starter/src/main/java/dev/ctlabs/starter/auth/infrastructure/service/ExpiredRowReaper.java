@@ -0,0 +1,207 @@
+package dev.ctlabs.starter.auth.infrastructure.service;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.infrastructure.config.AuthTaskScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes expired rows that nothing else ever removes: refresh tokens that expired or were revoked more than
+ * {@code revokedRetention} ago, expired verification codes and expired access-token revocations.
+ * <p>
+ * Rotated refresh tokens (with a successor in {@code replaced_by}) are kept until they expire, whatever the
+ * retention, since presenting one of them again is how the reuse of a stolen token is detected.
+ * <p>
+ * Rows are deleted in chunks of {@code batchSize}, each in its own short transaction, with a pause in between,
+ * so that a large backlog never holds locks or bloats the WAL for long. Rows locked by a concurrent request are
+ * skipped and picked up by a later run. Only the node holding a PostgreSQL advisory lock runs the job; the
+ * other nodes skip the run.
+ */
+@Slf4j
+@Service
+public class ExpiredRowReaper {
+
+    public static final String TABLE_REFRESH_TOKENS = "auth_refresh_tokens";
+    public static final String TABLE_VERIFICATION_CODES = "auth_verification_codes";
+    public static final String TABLE_REVOKED_TOKENS = "auth_revoked_tokens";
+
+    // Arbitrary key shared by every node running the starter ("ctlabs" followed by 1).
+    private static final long LOCK_KEY = 0x6374_6c61_6273_0001L;
+    private static final String DELETE_REFRESH_TOKENS = """
+            DELETE FROM auth_refresh_tokens WHERE ctid IN (
+                SELECT ctid FROM auth_refresh_tokens
+                WHERE expires_at < ? OR (revoked_at < ? AND replaced_by IS NULL)
+                LIMIT ? FOR UPDATE SKIP LOCKED)
+            """;
+    private static final String DELETE_VERIFICATION_CODES = """
+            DELETE FROM auth_verification_codes WHERE ctid IN (
+                SELECT ctid FROM auth_verification_codes
+                WHERE expires_at < ?
+                LIMIT ? FOR UPDATE SKIP LOCKED)
+            """;
+    private static final String DELETE_REVOKED_TOKENS = """
+            DELETE FROM auth_revoked_tokens WHERE ctid IN (
+                SELECT ctid FROM auth_revoked_tokens
+                WHERE expires_at < ?
+                LIMIT ? FOR UPDATE SKIP LOCKED)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuthTaskScheduler scheduler;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int batchSize;
+    private final Duration pause;
+    private final Duration revokedRetention;
+
+    private final Map<String, LongAdder> purged = Map.of(
+            TABLE_REFRESH_TOKENS, new LongAdder(),
+            TABLE_VERIFICATION_CODES, new LongAdder(),
+            TABLE_REVOKED_TOKENS, new LongAdder());
+    private final LongAdder skipped = new LongAdder();
+
+    public ExpiredRowReaper(JdbcTemplate jdbcTemplate, AuthTaskScheduler scheduler, AuthProperties authProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scheduler = scheduler;
+        AuthProperties.Reaper reaper = authProperties.getReaper();
+        this.enabled = reaper.isEnabled();
+        this.interval = reaper.getInterval();
+        this.batchSize = Math.max(reaper.getBatchSize(), 1);
+        this.pause = reaper.getPause();
+        this.revokedRetention = reaper.getRevokedRetention();
+    }
+
+    /**
+     * Schedules the job. The first run starts one interval after startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay("expired-row-reaper", this::run, interval);
+    }
+
+    /**
+     * Deletes the expired rows of every table, unless another node is already doing so.
+     *
+     * @return {@code false} if the run was skipped because another node holds the lock.
+     */
+    public boolean run() {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            // The advisory lock belongs to the session, so every statement must run on this connection.
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try {
+                if (!tryLock(connection)) {
+                    return false;
+                }
+                try {
+                    reap(connection);
+                } finally {
+                    unlock(connection);
+                }
+                return true;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+        if (!Boolean.TRUE.equals(ran)) {
+            skipped.increment();
+            log.debug("Skipped expired row cleanup, another node is running it");
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of rows deleted from a table since startup.
+     *
+     * @param table One of the {@code TABLE_*} constants.
+     * @return The number of rows deleted.
+     */
+    public long purged(String table) {
+        return purged.get(table).sum();
+    }
+
+    public long skipped() {
+        return skipped.sum();
+    }
+
+    private void reap(Connection connection) throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp revokedBefore = Timestamp.from(now.toInstant().minus(revokedRetention));
+        reap(connection, TABLE_REFRESH_TOKENS, DELETE_REFRESH_TOKENS, now, revokedBefore);
+        reap(connection, TABLE_VERIFICATION_CODES, DELETE_VERIFICATION_CODES, now);
+        reap(connection, TABLE_REVOKED_TOKENS, DELETE_REVOKED_TOKENS, now);
+    }
+
+    /**
+     * Deletes chunks until one comes back short.
+     */
+    private void reap(Connection connection, String table, String sql, Timestamp... bounds) throws SQLException {
+        long total = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < bounds.length; i++) {
+                statement.setTimestamp(i + 1, bounds[i]);
+            }
+            statement.setInt(bounds.length + 1, batchSize);
+            int deleted;
+            do {
+                deleted = statement.executeUpdate();
+                purged.get(table).add(deleted);
+                total += deleted;
+            } while (deleted == batchSize && pause());
+        }
+        if (total > 0) {
+            log.info("Deleted {} expired rows from {}", total, table);
+        }
+    }
+
+    private boolean pause() {
+        if (!pause.isPositive()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        }
+    }
+}
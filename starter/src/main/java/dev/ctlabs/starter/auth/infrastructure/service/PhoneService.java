@@ -1,5 +1,6 @@
 package dev.ctlabs.starter.auth.infrastructure.service;
 
+import dev.ctlabs.starter.auth.infrastructure.config.AsyncConfig;
 import dev.ctlabs.starter.auth.infrastructure.service.phone.PhoneSenderStrategy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -17,7 +18,7 @@ public class PhoneService {
         this.phoneSenderStrategy = phoneSenderStrategy;
     }
 
-    @Async
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
     public void sendVerificationCode(String to, String code) {
         String message = "Your verification code is: " + code;
         phoneSenderStrategy.send(to, message);
@@ -0,0 +1,84 @@
+---
+--- PARTITIONED AUDIT LOG (optional, ctlabs.auth.audit.partitioned=true)
+---
+--- Replaces auth_audit_logs with a table range-partitioned by month of created_at (UTC),
+--- so that queries filtered by time only scan the matching months and retention drops
+--- whole partitions instead of deleting rows. Partitions are named auth_audit_logs_YYYY_MM;
+--- rows outside every monthly partition land in auth_audit_logs_default.
+---
+ALTER TABLE auth_audit_logs RENAME TO auth_audit_logs_unpartitioned;
+ALTER TABLE auth_audit_logs_unpartitioned RENAME CONSTRAINT auth_audit_logs_pkey TO auth_audit_logs_unpartitioned_pkey;
+ALTER SEQUENCE auth_audit_logs_id_seq OWNED BY NONE;
+
+CREATE TABLE auth_audit_logs
+(
+    id         BIGINT                   NOT NULL DEFAULT nextval('auth_audit_logs_id_seq'),
+    user_id    UUID REFERENCES auth_users (id) ON DELETE SET NULL,
+    event_type VARCHAR(50)              NOT NULL,
+    details    VARCHAR(255),
+    ip_address VARCHAR(45),
+    user_agent TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE auth_audit_logs_id_seq OWNED BY auth_audit_logs.id;
+
+CREATE INDEX idx_auth_audit_logs_user ON auth_audit_logs (user_id, created_at);
+
+CREATE TABLE auth_audit_logs_default PARTITION OF auth_audit_logs DEFAULT;
+
+--- Creates the partition of the month containing month_start, unless it exists.
+--- Returns the name of the created partition, or NULL.
+CREATE FUNCTION auth_audit_logs_create_partition(month_start DATE) RETURNS TEXT AS
+$$
+DECLARE
+    first_day      TIMESTAMP := date_trunc('month', month_start::TIMESTAMP);
+    partition_name TEXT      := 'auth_audit_logs_' || to_char(first_day, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    EXECUTE format('CREATE TABLE %I PARTITION OF auth_audit_logs FOR VALUES FROM (%L) TO (%L)',
+                   partition_name,
+                   first_day AT TIME ZONE 'UTC',
+                   (first_day + INTERVAL '1 month') AT TIME ZONE 'UTC');
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+--- Drops the monthly partitions that end on or before the first day of the month containing retain_from.
+--- Returns the names of the dropped partitions.
+CREATE FUNCTION auth_audit_logs_drop_partitions(retain_from DATE) RETURNS SETOF TEXT AS
+$$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+                 JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'auth_audit_logs'::regclass
+          AND c.relname ~ '^auth_audit_logs_[0-9]{4}_[0-9]{2}$'
+          AND to_date(substring(c.relname FROM 17), 'YYYY_MM') < date_trunc('month', retain_from::TIMESTAMP)
+        ORDER BY c.relname
+        LOOP
+            EXECUTE format('DROP TABLE %I', partition_name);
+            RETURN NEXT partition_name;
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+--- One partition per month from the oldest existing row up to two months ahead.
+SELECT auth_audit_logs_create_partition(month::DATE)
+FROM generate_series(
+             date_trunc('month', COALESCE((SELECT min(created_at) FROM auth_audit_logs_unpartitioned), now())
+                 AT TIME ZONE 'UTC'),
+             date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '2 months',
+             INTERVAL '1 month') AS month;
+
+INSERT INTO auth_audit_logs (id, user_id, event_type, details, ip_address, user_agent, created_at)
+SELECT id, user_id, event_type, details, ip_address, user_agent, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM auth_audit_logs_unpartitioned;
+
+DROP TABLE auth_audit_logs_unpartitioned;
@@ -0,0 +1,31 @@
+---
+--- DEFAULT PARTITION SPLIT
+---
+--- Rows written while the partition of their month was missing land in
+--- auth_audit_logs_default, after which that partition can no longer be created.
+--- auth_audit_logs_split_default detaches the default partition, creates the monthly
+--- partition, moves the month's rows into it and re-attaches the default partition,
+--- all in one transaction. Inserts wait for the locks meanwhile.
+---
+CREATE FUNCTION auth_audit_logs_split_default(month_start DATE) RETURNS BIGINT AS
+$$
+DECLARE
+    first_day TIMESTAMP WITH TIME ZONE := date_trunc('month', month_start::TIMESTAMP) AT TIME ZONE 'UTC';
+    next_day  TIMESTAMP WITH TIME ZONE := (date_trunc('month', month_start::TIMESTAMP) + INTERVAL '1 month')
+        AT TIME ZONE 'UTC';
+    moved     BIGINT;
+BEGIN
+    ALTER TABLE auth_audit_logs DETACH PARTITION auth_audit_logs_default;
+    PERFORM auth_audit_logs_create_partition(month_start);
+    WITH month_rows AS (
+        DELETE FROM auth_audit_logs_default
+        WHERE created_at >= first_day AND created_at < next_day
+        RETURNING id, user_id, event_type, details, ip_address, user_agent, created_at)
+    INSERT INTO auth_audit_logs (id, user_id, event_type, details, ip_address, user_agent, created_at)
+    SELECT id, user_id, event_type, details, ip_address, user_agent, created_at
+    FROM month_rows;
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    ALTER TABLE auth_audit_logs ATTACH PARTITION auth_audit_logs_default DEFAULT;
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,18 @@
+---
+--- ACCESS TOKEN REVOCATION
+---
+--- type: JTI (single access token), SESSION (all access tokens of a refresh token)
+---       or SUBJECT (all access tokens of a user issued before created_at).
+--- Rows are only needed until expires_at, when every affected access token has expired.
+---
+CREATE TABLE auth_revoked_tokens
+(
+    id         BIGSERIAL PRIMARY KEY,
+    type       VARCHAR(20)              NOT NULL,
+    value      VARCHAR(255)             NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_auth_revoked_tokens_created_at ON auth_revoked_tokens (created_at);
+CREATE INDEX idx_auth_revoked_tokens_expires_at ON auth_revoked_tokens (expires_at);
@@ -0,0 +1,80 @@
+---
+--- USER IDENTIFIERS
+---
+--- One row per way a user can log in, keyed by the canonical identifier:
+--- lower-cased email, or phone number without separators (E.164).
+--- Maintained by a trigger on auth_users, so every writer keeps it in sync.
+---
+CREATE TABLE auth_user_identifiers
+(
+    identifier VARCHAR(255) PRIMARY KEY,
+    kind       VARCHAR(10) NOT NULL,
+    user_id    UUID        NOT NULL REFERENCES auth_users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_auth_user_identifiers_user ON auth_user_identifiers (user_id);
+
+CREATE FUNCTION auth_sync_user_identifiers() RETURNS TRIGGER AS
+$$
+BEGIN
+    DELETE FROM auth_user_identifiers WHERE user_id = NEW.id;
+    IF NEW.email IS NOT NULL AND btrim(NEW.email) <> '' THEN
+        INSERT INTO auth_user_identifiers (identifier, kind, user_id)
+        VALUES (lower(btrim(NEW.email)), 'EMAIL', NEW.id);
+    END IF;
+    IF NEW.phone_number IS NOT NULL AND btrim(NEW.phone_number) <> '' THEN
+        INSERT INTO auth_user_identifiers (identifier, kind, user_id)
+        VALUES (regexp_replace(NEW.phone_number, '[\s().-]', '', 'g'), 'PHONE', NEW.id);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_auth_users_identifiers
+    AFTER INSERT OR UPDATE OF email, phone_number
+    ON auth_users
+    FOR EACH ROW
+EXECUTE FUNCTION auth_sync_user_identifiers();
+
+--- Users whose identifiers only differ by case or separators cannot both keep them.
+--- Fails rather than silently dropping one of them, naming the users to merge or fix.
+DO
+$$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(format('%s (users %s)', identifier, user_ids), '; ')
+    INTO conflicts
+    FROM (SELECT identifier, string_agg(user_id::TEXT, ', ' ORDER BY user_id) AS user_ids
+          FROM (SELECT lower(btrim(email)) AS identifier, id AS user_id
+                FROM auth_users
+                WHERE email IS NOT NULL AND btrim(email) <> ''
+                UNION
+                SELECT regexp_replace(phone_number, '[\s().-]', '', 'g'), id
+                FROM auth_users
+                WHERE phone_number IS NOT NULL AND btrim(phone_number) <> '') AS identifiers
+          GROUP BY identifier
+          HAVING count(*) > 1
+          ORDER BY identifier
+          LIMIT 50) AS duplicates;
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Several users share a login identifier once normalized: %', conflicts
+            USING HINT = 'Emails are compared case-insensitively and phone numbers without separators. '
+                || 'Merge the duplicate users or change their email or phone number, then run the migration again.';
+    END IF;
+END;
+$$;
+
+INSERT INTO auth_user_identifiers (identifier, kind, user_id)
+SELECT lower(btrim(email)), 'EMAIL', id
+FROM auth_users
+WHERE email IS NOT NULL AND btrim(email) <> '';
+
+INSERT INTO auth_user_identifiers (identifier, kind, user_id)
+SELECT regexp_replace(phone_number, '[\s().-]', '', 'g'), 'PHONE', id
+FROM auth_users
+WHERE phone_number IS NOT NULL AND btrim(phone_number) <> '';
+
+--- The UNIQUE constraints on email and phone_number already create these indexes.
+DROP INDEX IF EXISTS idx_auth_users_email;
+DROP INDEX IF EXISTS idx_auth_users_phone;
@@ -0,0 +1,16 @@
+---
+--- FAILED LOGIN ATTEMPTS
+---
+--- Used by the login throttle when ctlabs.auth.login-throttle.store is DATABASE.
+--- One row per throttle key ("id:<identifier>" or "ip:<address>") and fixed window.
+--- Rows older than the previous window are deleted periodically.
+---
+CREATE TABLE auth_login_attempts
+(
+    throttle_key VARCHAR(300)             NOT NULL,
+    window_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts     INTEGER                  NOT NULL,
+    PRIMARY KEY (throttle_key, window_start)
+);
+
+CREATE INDEX idx_auth_login_attempts_window_start ON auth_login_attempts (window_start);
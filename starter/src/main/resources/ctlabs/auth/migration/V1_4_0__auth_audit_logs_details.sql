@@ -0,0 +1,8 @@
+---
+--- AUDIT LOG DETAILS
+---
+--- Free-form context of an audit event, e.g. the identifier of a failed login
+--- (which has no user) or the role and permission of an admin change.
+---
+ALTER TABLE auth_audit_logs
+    ADD COLUMN details VARCHAR(255);
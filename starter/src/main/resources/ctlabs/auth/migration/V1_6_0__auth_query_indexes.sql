@@ -0,0 +1,27 @@
+---
+--- QUERY INDEXES
+---
+--- Indexes for the repository queries and foreign keys that had none, so that they
+--- stay index lookups as the tables grow. QueryPlanTest checks every one of them.
+---
+
+--- Sessions of a user: listing, per-user revocation and ON DELETE CASCADE from auth_users.
+CREATE INDEX idx_auth_refresh_tokens_user ON auth_refresh_tokens (user_id, created_at);
+--- Revocation of the live sessions created before a point in time.
+CREATE INDEX idx_auth_refresh_tokens_created_at ON auth_refresh_tokens (created_at) WHERE revoked_at IS NULL;
+--- Expiry reaper.
+CREATE INDEX idx_auth_refresh_tokens_expires_at ON auth_refresh_tokens (expires_at);
+CREATE INDEX idx_auth_refresh_tokens_revoked_at ON auth_refresh_tokens (revoked_at) WHERE revoked_at IS NOT NULL;
+
+--- Code lookup and replacement by user and type, and ON DELETE CASCADE from auth_users.
+CREATE INDEX idx_auth_verification_codes_user ON auth_verification_codes (user_id, type, code);
+--- Expiry reaper.
+CREATE INDEX idx_auth_verification_codes_expires_at ON auth_verification_codes (expires_at);
+--- No query looks a code up without its user.
+DROP INDEX IF EXISTS idx_auth_verification_code;
+
+--- ON DELETE CASCADE from auth_users, auth_roles and auth_permissions. The primary keys
+--- of the join tables lead with the other column.
+CREATE INDEX idx_auth_social_accounts_user ON auth_social_accounts (user_id);
+CREATE INDEX idx_auth_user_roles_role ON auth_user_roles (role_id);
+CREATE INDEX idx_auth_role_permissions_permission ON auth_role_permissions (permission_id);
@@ -0,0 +1,20 @@
+---
+--- REFRESH TOKEN FAMILIES
+---
+--- With ctlabs.auth.refresh-token.rotation, every refresh replaces the token with a
+--- successor of the same family. replaced_by points to the successor, so that reuse
+--- of a replaced token can be told apart from a plain revocation and revokes the
+--- whole family. Existing tokens start a family of their own.
+---
+ALTER TABLE auth_refresh_tokens
+    ADD COLUMN family_id   UUID,
+    ADD COLUMN replaced_by UUID;
+
+UPDATE auth_refresh_tokens
+SET family_id = id;
+
+ALTER TABLE auth_refresh_tokens
+    ALTER COLUMN family_id SET DEFAULT gen_random_uuid(),
+    ALTER COLUMN family_id SET NOT NULL;
+
+CREATE INDEX idx_auth_refresh_tokens_family ON auth_refresh_tokens (family_id);
@@ -0,0 +1,10 @@
+---
+--- ACTIVE SESSIONS INDEX
+---
+--- Serves the keyset-paginated listing of a user's live sessions, newest first,
+--- without visiting revoked tokens. Expired tokens are filtered while scanning and
+--- deleted by the reaper.
+---
+CREATE INDEX idx_auth_refresh_tokens_active
+    ON auth_refresh_tokens (user_id, created_at DESC, id DESC)
+    WHERE revoked_at IS NULL;
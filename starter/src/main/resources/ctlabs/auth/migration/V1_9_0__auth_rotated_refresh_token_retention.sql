@@ -0,0 +1,10 @@
+---
+--- ROTATED REFRESH TOKEN RETENTION
+---
+--- The reaper keeps rotated refresh tokens (replaced_by set) until they expire, so that
+--- their reuse is still detected. Only plain revocations are deleted after the short
+--- retention, so the revocation index no longer covers rotated tokens.
+---
+DROP INDEX IF EXISTS idx_auth_refresh_tokens_revoked_at;
+CREATE INDEX idx_auth_refresh_tokens_revoked_at ON auth_refresh_tokens (revoked_at)
+    WHERE revoked_at IS NOT NULL AND replaced_by IS NULL;
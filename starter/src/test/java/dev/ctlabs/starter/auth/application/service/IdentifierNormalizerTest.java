@@ -0,0 +1,30 @@
+package dev.ctlabs.starter.auth.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentifierNormalizerTest {
+
+    @Test
+    void shouldNormalizeEmails() {
+        assertThat(IdentifierNormalizer.normalize("  John.Doe@Example.COM ")).isEqualTo("john.doe@example.com");
+        assertThat(IdentifierNormalizer.email(" ")).isNull();
+        assertThat(IdentifierNormalizer.isEmail("john@example.com")).isTrue();
+    }
+
+    @Test
+    void shouldNormalizePhoneNumbers() {
+        assertThat(IdentifierNormalizer.normalize("+591 (707) 123-45")).isEqualTo("+59170712345");
+        assertThat(IdentifierNormalizer.normalize("+59170712345")).isEqualTo("+59170712345");
+        assertThat(IdentifierNormalizer.isE164("+59170712345")).isTrue();
+        assertThat(IdentifierNormalizer.isE164("0059170712345")).isFalse();
+    }
+
+    @Test
+    void shouldReturnNullForMissingIdentifiers() {
+        assertThat(IdentifierNormalizer.normalize(null)).isNull();
+        assertThat(IdentifierNormalizer.normalize("   ")).isNull();
+        assertThat(IdentifierNormalizer.phone(null)).isNull();
+    }
+}
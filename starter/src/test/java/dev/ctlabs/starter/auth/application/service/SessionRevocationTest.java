@@ -0,0 +1,160 @@
+package dev.ctlabs.starter.auth.application.service;
+
+import dev.ctlabs.starter.auth.application.dto.SessionPage;
+import dev.ctlabs.starter.auth.domain.model.RefreshToken;
+import dev.ctlabs.starter.auth.domain.model.User;
+import dev.ctlabs.starter.auth.domain.repository.RefreshTokenRepository;
+import dev.ctlabs.starter.auth.domain.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@Testcontainers
+class SessionRevocationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserManagementService userManagementService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldRevokeAllOtherSessions() {
+        User user = user("others@test.com");
+        RefreshToken current = session(user);
+        session(user);
+        session(user);
+
+        int revoked = authService.revokeOtherSessions(user.getId(), current.getId());
+
+        assertThat(revoked).isEqualTo(2);
+        assertThat(authService.getActiveSessions(user.getId()))
+                .extracting("id")
+                .containsExactly(current.getId());
+    }
+
+    @Test
+    void shouldRevokeAllSessionsOfSetOfUsers() {
+        User first = user("first@test.com");
+        User second = user("second@test.com");
+        User untouched = user("untouched@test.com");
+        session(first);
+        session(first);
+        session(second);
+        session(untouched);
+
+        int revoked = userManagementService.revokeAllSessions(List.of(first.getId(), second.getId()));
+
+        assertThat(revoked).isEqualTo(3);
+        assertThat(authService.getActiveSessions(first.getId())).isEmpty();
+        assertThat(authService.getActiveSessions(second.getId())).isEmpty();
+        assertThat(authService.getActiveSessions(untouched.getId())).hasSize(1);
+    }
+
+    @Test
+    void shouldRevokeSessionsCreatedBeforeGivenTime() {
+        User user = user("older@test.com");
+        RefreshToken old = session(user);
+        RefreshToken recent = session(user);
+        Instant cutoff = Instant.now().minus(Duration.ofDays(1));
+        jdbcTemplate.update(
+                "UPDATE auth_refresh_tokens SET created_at = ? WHERE id = ?",
+                Timestamp.from(cutoff.minus(Duration.ofDays(1))),
+                old.getId());
+
+        int revoked = userManagementService.revokeSessionsCreatedBefore(cutoff);
+
+        assertThat(revoked).isEqualTo(1);
+        assertThat(authService.getActiveSessions(user.getId()))
+                .extracting("id")
+                .containsExactly(recent.getId());
+    }
+
+    @Test
+    void shouldNotCountSessionsAlreadyRevoked() {
+        User user = user("twice@test.com");
+        session(user);
+
+        assertThat(refreshTokenRepository.revokeAllByUserId(user.getId(), Instant.now())).isEqualTo(1);
+        assertThat(refreshTokenRepository.revokeAllByUserId(user.getId(), Instant.now())).isZero();
+    }
+
+    @Test
+    void shouldPageActiveSessionsNewestFirst() {
+        User user = user("paged@test.com");
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.addFirst(session(user).getId());
+        }
+        refreshTokenRepository.revokeAllByUserIdExcept(user.getId(), ids.get(4), Instant.now());
+        for (int i = 0; i < 4; i++) {
+            ids.add(session(user).getId());
+        }
+        // Newest first: the four live sessions created last, then the oldest one.
+        List<UUID> expected = List.of(ids.get(8), ids.get(7), ids.get(6), ids.get(5), ids.get(4));
+
+        SessionPage first = authService.getActiveSessions(user.getId(), null, 2);
+        SessionPage second = authService.getActiveSessions(user.getId(), first.nextCursor(), 2);
+        SessionPage last = authService.getActiveSessions(user.getId(), second.nextCursor(), 2);
+
+        assertThat(first.sessions()).extracting("id").containsExactlyElementsOf(expected.subList(0, 2));
+        assertThat(second.sessions()).extracting("id").containsExactlyElementsOf(expected.subList(2, 4));
+        assertThat(last.sessions()).extracting("id").containsExactlyElementsOf(expected.subList(4, 5));
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectMalformedSessionCursor() {
+        User user = user("cursor@test.com");
+
+        assertThatThrownBy(() -> authService.getActiveSessions(user.getId(), "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid session cursor");
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+
+    private RefreshToken session(User user) {
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(UUID.randomUUID().toString());
+        token.setFamilyId(UUID.randomUUID());
+        token.setExpiresAt(Instant.now().plus(Duration.ofDays(7)));
+        return refreshTokenRepository.saveAndFlush(token);
+    }
+}
@@ -0,0 +1,41 @@
+package dev.ctlabs.starter.auth.autoconfigure;
+
+import dev.ctlabs.starter.auth.application.service.AuthService;
+import dev.ctlabs.starter.auth.application.service.UserManagementService;
+import dev.ctlabs.starter.auth.infrastructure.controller.AuthController;
+import dev.ctlabs.starter.auth.infrastructure.security.JwtAuthenticationFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers
+class NonWebApplicationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void shouldProvideServicesWithoutWebPieces() {
+        assertThat(context.getBeanNamesForType(UserManagementService.class)).hasSize(1);
+        assertThat(context.getBeanNamesForType(AuthService.class)).hasSize(1);
+        assertThat(context.getBeanNamesForType(AuthenticationManager.class)).hasSize(1);
+
+        assertThat(context.getBeanNamesForType(AuthController.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(JwtAuthenticationFilter.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(SecurityFilterChain.class)).isEmpty();
+    }
+}
@@ -0,0 +1,52 @@
+package dev.ctlabs.starter.auth.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadsEnvironmentPostProcessorTest {
+
+    private final VirtualThreadsEnvironmentPostProcessor postProcessor = new VirtualThreadsEnvironmentPostProcessor();
+
+    @Test
+    void shouldEnableSpringVirtualThreads() {
+        StandardEnvironment environment = environment(Map.of("ctlabs.auth.threads.virtual", "true"));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty("spring.threads.virtual.enabled")).isEqualTo("true");
+    }
+
+    @Test
+    void shouldKeepExplicitSpringSetting() {
+        StandardEnvironment environment = environment(Map.of(
+                "ctlabs.auth.threads.virtual", "true",
+                "spring.threads.virtual.enabled", "false"));
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty("spring.threads.virtual.enabled")).isEqualTo("false");
+        assertThat(environment.getPropertySources()
+                .contains(VirtualThreadsEnvironmentPostProcessor.PROPERTY_SOURCE_NAME)).isFalse();
+    }
+
+    @Test
+    void shouldDoNothingByDefault() {
+        StandardEnvironment environment = environment(Map.of());
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.containsProperty("spring.threads.virtual.enabled")).isFalse();
+    }
+
+    private static StandardEnvironment environment(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        return environment;
+    }
+}
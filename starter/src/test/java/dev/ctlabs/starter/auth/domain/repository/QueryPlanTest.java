@@ -0,0 +1,379 @@
+package dev.ctlabs.starter.auth.domain.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ctlabs.starter.auth.domain.model.RefreshToken;
+import dev.ctlabs.starter.auth.domain.repository.StatementRecorder.RecordedStatement;
+import dev.ctlabs.starter.auth.infrastructure.security.RefreshTokenRotator;
+import dev.ctlabs.starter.auth.infrastructure.security.SessionLimiter;
+import dev.ctlabs.starter.auth.infrastructure.service.ExpiredRowReaper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the queries issued by the repositories, the session limiter, the token rotator, the expiry reaper
+ * and the foreign-key cascades keep using their indexes once the tables hold a realistic number of rows. Each
+ * test calls the real method and explains the statements it executed, as generated by Hibernate and with the
+ * values it bound; only the cascades, which PostgreSQL runs internally, are written by hand. A sequential scan
+ * of the queried table, or plans that no longer use the expected index, fail the test.
+ */
+@SpringBootTest(properties = "ctlabs.auth.refresh-token.max-active-sessions=3")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(StatementRecorder.class)
+class QueryPlanTest {
+
+    private static final int USERS = 20_000;
+    private static final int SESSIONS_PER_USER = 5;
+    private static final int REVOCATIONS = 10_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private VerificationCodeRepository verificationCodeRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private SessionLimiter sessionLimiter;
+
+    @Autowired
+    private RefreshTokenRotator refreshTokenRotator;
+
+    @Autowired
+    private ExpiredRowReaper expiredRowReaper;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UUID userId;
+    private String email;
+    private int rareRoleId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO auth_users (id, email)
+                SELECT gen_random_uuid(), 'user' || i || '@plan.test'
+                FROM generate_series(1, ?) AS i
+                """, USERS);
+        // One revoked session per user, the others live; all created within the last days.
+        jdbcTemplate.update("""
+                INSERT INTO auth_refresh_tokens (id, user_id, token_hash, expires_at, revoked_at, created_at)
+                SELECT gen_random_uuid(),
+                       u.id,
+                       md5(random()::TEXT),
+                       now() + s * INTERVAL '5 days',
+                       CASE WHEN s = 1 THEN now() - INTERVAL '1 hour' END,
+                       now() - s * INTERVAL '1 day'
+                FROM auth_users u
+                         CROSS JOIN generate_series(1, ?) AS s
+                """, SESSIONS_PER_USER);
+        jdbcTemplate.update("""
+                INSERT INTO auth_verification_codes (id, user_id, type, code, expires_at)
+                SELECT gen_random_uuid(), u.id, t.type, md5(random()::TEXT), now() + INTERVAL '1 day'
+                FROM auth_users u
+                         CROSS JOIN (VALUES ('EMAIL_VERIFICATION'), ('PASSWORD_RESET')) AS t (type)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO auth_revoked_tokens (type, value, expires_at, created_at)
+                SELECT 'SESSION', gen_random_uuid()::TEXT, now() + (i % 900) * INTERVAL '1 second',
+                       now() - i * INTERVAL '1 second'
+                FROM generate_series(1, ?) AS i
+                """, REVOCATIONS);
+        Integer commonRoleId = jdbcTemplate.queryForObject(
+                "INSERT INTO auth_roles (name) VALUES ('PLAN_COMMON') RETURNING id", Integer.class);
+        rareRoleId = jdbcTemplate.queryForObject(
+                "INSERT INTO auth_roles (name) VALUES ('PLAN_RARE') RETURNING id", Integer.class);
+        jdbcTemplate.update(
+                "INSERT INTO auth_user_roles (user_id, role_id) SELECT id, ? FROM auth_users", commonRoleId);
+        jdbcTemplate.update(
+                "INSERT INTO auth_user_roles (user_id, role_id) SELECT id, ? FROM auth_users LIMIT 10", rareRoleId);
+        jdbcTemplate.execute("ANALYZE");
+
+        email = "user42@plan.test";
+        userId = jdbcTemplate.queryForObject("SELECT id FROM auth_users WHERE email = ?", UUID.class, email);
+    }
+
+    // <editor-fold desc="Users">
+    @Test
+    void findByEmailShouldUseUniqueIndex() {
+        assertPlan("auth_users", "auth_users_email_key", () -> userRepository.findByEmail(email));
+    }
+
+    @Test
+    void findByIdentifierShouldUseIdentifierAndUserKeys() {
+        assertPlan("auth_user_identifiers", "auth_user_identifiers_pkey",
+                () -> userRepository.findByIdentifier(email));
+        assertPlan("auth_users", "auth_users_pkey", () -> userRepository.findByIdentifier(email));
+    }
+
+    @Test
+    void findWithRolesByIdentifierShouldUseUserKey() {
+        assertPlan("auth_users", "auth_users_pkey", () -> userRepository.findWithRolesByIdentifier(email));
+    }
+
+    @Test
+    void findSubjectsByIdInShouldUsePrimaryKey() {
+        assertPlan("auth_users", "auth_users_pkey",
+                () -> userRepository.findSubjectsByIdIn(List.of(userId, UUID.randomUUID())));
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Refresh tokens">
+    @Test
+    void findAllByUserIdShouldUseUserIndex() {
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_user",
+                () -> refreshTokenRepository.findAllByUser_Id(userId));
+    }
+
+    @Test
+    void findActiveSessionsShouldUseActiveSessionsIndex() {
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_active",
+                () -> refreshTokenRepository.findActiveSessions(userId, Instant.now(), Limit.of(21)));
+    }
+
+    @Test
+    void findActiveSessionsAfterShouldUseActiveSessionsIndex() {
+        Instant now = Instant.now();
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_active",
+                () -> refreshTokenRepository.findActiveSessionsAfter(
+                        userId, now, now, UUID.randomUUID(), Limit.of(21)));
+    }
+
+    @Test
+    void findActiveIdsByUserIdExceptShouldUseUserIndex() {
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_user",
+                () -> refreshTokenRepository.findActiveIdsByUserIdExcept(userId, UUID.randomUUID(), Instant.now()));
+    }
+
+    @Test
+    void findRecentIdsByFamilyIdShouldUseFamilyIndex() {
+        UUID familyId = familyId();
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_family",
+                () -> refreshTokenRepository.findRecentIdsByFamilyId(familyId, Instant.now().minusSeconds(60)));
+    }
+
+    @Test
+    void revokeAllByUserIdShouldUseUserIndex() {
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_user",
+                () -> rolledBack(() -> refreshTokenRepository.revokeAllByUserId(userId, Instant.now())));
+    }
+
+    @Test
+    void revokeAllByUserIdExceptShouldUseUserIndex() {
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_user",
+                () -> rolledBack(() -> refreshTokenRepository.revokeAllByUserIdExcept(
+                        userId, UUID.randomUUID(), Instant.now())));
+    }
+
+    @Test
+    void revokeAllByUserIdInShouldUseUserIndex() {
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_user",
+                () -> rolledBack(() -> refreshTokenRepository.revokeAllByUserIdIn(
+                        List.of(userId, UUID.randomUUID(), UUID.randomUUID()), Instant.now())));
+    }
+
+    @Test
+    void revokeAllCreatedBeforeShouldUsePartialCreatedAtIndex() {
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_created_at",
+                () -> rolledBack(() -> refreshTokenRepository.revokeAllCreatedBefore(
+                        Instant.now().minus(Duration.ofDays(30)), Instant.now())));
+    }
+
+    @Test
+    void revokeAllByFamilyIdShouldUseFamilyIndex() {
+        UUID familyId = familyId();
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_family",
+                () -> rolledBack(() -> refreshTokenRepository.revokeAllByFamilyId(familyId, Instant.now())));
+    }
+
+    @Test
+    void reaperShouldUseExpiryIndexes() {
+        List<RecordedStatement> statements = statementRecorder.record(expiredRowReaper::run);
+
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_expires_at", statements);
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_revoked_at", statements);
+    }
+
+    @Test
+    void sessionLimitShouldUseActiveSessionsIndex() {
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_active", () -> rolledBack(() -> {
+            RefreshToken refreshToken = new RefreshToken();
+            refreshToken.setUser(userRepository.getReferenceById(userId));
+            refreshToken.setTokenHash("hash");
+            refreshToken.setFamilyId(UUID.randomUUID());
+            refreshToken.setExpiresAt(Instant.now().plus(Duration.ofDays(7)));
+            sessionLimiter.open(refreshToken);
+        }));
+    }
+
+    @Test
+    void rotationShouldUsePrimaryKey() {
+        // No token matches, but the statement runs all the same.
+        assertPlan("auth_refresh_tokens", "auth_refresh_tokens_pkey", () -> refreshTokenRotator.rotate(
+                UUID.randomUUID(), "hash", UUID.randomUUID(), "hash", Instant.now(), Instant.now().plusSeconds(60)));
+    }
+
+    @Test
+    void userDeletionCascadeShouldUseUserIndex() {
+        // Run by PostgreSQL itself when a user is deleted, so it cannot be captured.
+        assertPlan("auth_refresh_tokens", "idx_auth_refresh_tokens_user",
+                "DELETE FROM auth_refresh_tokens WHERE user_id = ?", userId);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Verification codes">
+    @Test
+    void findByUserIdAndTypeAndCodeShouldUseUserIndex() {
+        assertPlan("auth_verification_codes", "idx_auth_verification_codes_user",
+                () -> verificationCodeRepository.findByUser_IdAndTypeAndCode(userId, "PASSWORD_RESET", "123456"));
+    }
+
+    @Test
+    void deleteByUserIdAndTypeShouldUseUserIndex() {
+        assertPlan("auth_verification_codes", "idx_auth_verification_codes_user",
+                () -> rolledBack(() -> verificationCodeRepository.deleteByUser_IdAndType(
+                        userId, "EMAIL_VERIFICATION")));
+    }
+
+    @Test
+    void verificationCodeReaperShouldUseExpiryIndex() {
+        assertPlan("auth_verification_codes", "idx_auth_verification_codes_expires_at", expiredRowReaper::run);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Revocations and roles">
+    @Test
+    void findAllByCreatedAtAfterShouldUseCreatedAtIndex() {
+        assertPlan("auth_revoked_tokens", "idx_auth_revoked_tokens_created_at",
+                () -> revokedTokenRepository.findAllByCreatedAtAfter(Instant.now().minus(Duration.ofMinutes(1))));
+    }
+
+    @Test
+    void revocationReaperShouldUseExpiryIndex() {
+        assertPlan("auth_revoked_tokens", "idx_auth_revoked_tokens_expires_at", expiredRowReaper::run);
+    }
+
+    @Test
+    void roleDeletionCascadeShouldUseRoleIndex() {
+        // Run by PostgreSQL itself when a role is deleted, so it cannot be captured.
+        assertPlan("auth_user_roles", "idx_auth_user_roles_role",
+                "DELETE FROM auth_user_roles WHERE role_id = ?", rareRoleId);
+    }
+    // </editor-fold>
+
+    /**
+     * Runs an action and asserts on the plans of the statements it executed against a table.
+     */
+    private void assertPlan(String table, String index, Runnable action) {
+        assertPlan(table, index, statementRecorder.record(action));
+    }
+
+    private void assertPlan(String table, String index, String sql, Object... args) {
+        assertPlan(table, index, List.of(new RecordedStatement(sql, Arrays.asList(args))));
+    }
+
+    /**
+     * Asserts that no statement against a table scans it sequentially, and that at least one uses the given
+     * index. Inserts are left out, since they read no index.
+     */
+    private void assertPlan(String table, String index, List<RecordedStatement> statements) {
+        Pattern tableName = Pattern.compile("\\b" + table + "\\b");
+        List<RecordedStatement> queries = statements.stream()
+                .filter(statement -> tableName.matcher(statement.sql()).find())
+                .filter(statement -> !statement.sql().strip().toLowerCase(Locale.ROOT).startsWith("insert"))
+                .toList();
+        assertThat(queries).as("Statements against %s", table).isNotEmpty();
+
+        List<JsonNode> nodes = new ArrayList<>();
+        for (RecordedStatement query : queries) {
+            List<JsonNode> plan = plan(query);
+            assertThat(plan)
+                    .as("Sequential scan of %s in the plan of: %s", table, query.sql())
+                    .noneMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())
+                            && table.equals(node.path("Relation Name").asText()));
+            nodes.addAll(plan);
+        }
+        assertThat(nodes)
+                .as("Index %s in the plans of: %s", index, queries)
+                .anyMatch(node -> index.equals(node.path("Index Name").asText()));
+    }
+
+    private List<JsonNode> plan(RecordedStatement statement) {
+        Object[] args = statement.parameters().stream()
+                .map(value -> value instanceof Instant instant ? Timestamp.from(instant) : value)
+                .toArray();
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + statement.sql(), String.class, args);
+        try {
+            List<JsonNode> nodes = new ArrayList<>();
+            collect(objectMapper.readTree(json).get(0).get("Plan"), nodes);
+            return nodes;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not read the plan of: " + statement.sql(), e);
+        }
+    }
+
+    /**
+     * Runs an action in a transaction that is rolled back, so that modifying queries leave the seed untouched.
+     */
+    private void rolledBack(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            action.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private UUID familyId() {
+        return jdbcTemplate.queryForObject(
+                "SELECT family_id FROM auth_refresh_tokens WHERE user_id = ? LIMIT 1", UUID.class, userId);
+    }
+
+    private static void collect(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+}
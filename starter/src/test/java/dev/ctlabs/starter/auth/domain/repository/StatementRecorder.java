@@ -0,0 +1,124 @@
+package dev.ctlabs.starter.auth.domain.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps the application's {@link DataSource} to record the prepared statements executed by a thread, with the
+ * values bound to them, so that a test can inspect the exact SQL issued by Hibernate or a {@code JdbcTemplate}.
+ * Statements executed by other threads (background jobs) are ignored.
+ */
+class StatementRecorder implements BeanPostProcessor {
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+    private volatile Thread recordingThread;
+
+    /**
+     * Runs an action and returns the statements it executed, in order.
+     */
+    List<RecordedStatement> record(Runnable action) {
+        statements.clear();
+        recordingThread = Thread.currentThread();
+        try {
+            action.run();
+        } finally {
+            recordingThread = null;
+        }
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+            return new RecordingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * A statement as executed.
+     *
+     * @param sql        The SQL, with {@code ?} placeholders.
+     * @param parameters The values bound to the placeholders, in order.
+     */
+    record RecordedStatement(String sql, List<Object> parameters) {}
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if ("prepareStatement".equals(method.getName()) && args[0] instanceof String sql) {
+                return statement((PreparedStatement) result, sql);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement statement(PreparedStatement target, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, target, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if (name.startsWith("execute") && args == null && recordingThread == Thread.currentThread()) {
+                statements.add(new RecordedStatement(sql, new ArrayList<>(parameters.values())));
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(target.getClass().getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class RecordingDataSource extends DelegatingDataSource implements Closeable {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connection(super.getConnection(username, password));
+        }
+
+        // Lets the context close the connection pool on shutdown.
+        @Override
+        public void close() throws IOException {
+            if (getTargetDataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
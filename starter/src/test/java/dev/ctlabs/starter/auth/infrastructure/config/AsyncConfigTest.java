@@ -0,0 +1,65 @@
+package dev.ctlabs.starter.auth.infrastructure.config;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncConfigTest {
+
+    @Test
+    void shouldUseBoundedPoolWithoutVirtualThreads() {
+        TaskExecutor executor = new AsyncConfig().authNotificationExecutor(properties(false, 4));
+
+        assertThat(executor).isInstanceOfSatisfying(ThreadPoolTaskExecutor.class, pool -> {
+            assertThat(pool.getCorePoolSize()).isEqualTo(4);
+            assertThat(pool.getMaxPoolSize()).isEqualTo(4);
+        });
+    }
+
+    @Test
+    void shouldLimitVirtualThreadsWithoutBlockingTheCaller() throws InterruptedException {
+        TaskExecutor executor = new AsyncConfig().authNotificationExecutor(properties(true, 2));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(5);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    finished.countDown();
+                }
+            });
+        }
+        long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(executor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+        assertThat(submitMillis).isLessThan(1_000);
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    private static AuthProperties properties(boolean virtual, int concurrency) {
+        AuthProperties properties = new AuthProperties();
+        properties.getThreads().setVirtual(virtual);
+        properties.getThreads().setNotificationConcurrency(concurrency);
+        return properties;
+    }
+}
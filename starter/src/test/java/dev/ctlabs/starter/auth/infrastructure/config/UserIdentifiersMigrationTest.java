@@ -0,0 +1,60 @@
+package dev.ctlabs.starter.auth.infrastructure.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs the starter's migrations on a schema holding users created before identifiers were normalized.
+@Testcontainers
+class UserIdentifiersMigrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Test
+    void shouldBackfillIdentifiersOrFailOnConflicts() {
+        var dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(dataSource, "1.1.0").migrate();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO auth_users (id, email) VALUES (?, ?)", first, "Alice@Test.com");
+        jdbcTemplate.update("INSERT INTO auth_users (id, email) VALUES (?, ?)", second, "alice@test.com ");
+        jdbcTemplate.update(
+                "INSERT INTO auth_users (id, email, phone_number) VALUES (?, ?, ?)",
+                UUID.randomUUID(), "bob@test.com", "+1 (415) 555-0100");
+
+        assertThatThrownBy(() -> flyway(dataSource, "1.2.0").migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("alice@test.com")
+                .hasMessageContaining(first.toString())
+                .hasMessageContaining(second.toString());
+
+        jdbcTemplate.update("DELETE FROM auth_users WHERE id = ?", second);
+        flyway(dataSource, "1.2.0").migrate();
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT identifier FROM auth_user_identifiers", String.class))
+                .containsExactlyInAnyOrder("+14155550100", "alice@test.com", "bob@test.com");
+    }
+
+    private static Flyway flyway(DriverManagerDataSource dataSource, String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:ctlabs/auth/migration")
+                .table("ctlabs_auth_schema_history")
+                .target(target)
+                .load();
+    }
+}
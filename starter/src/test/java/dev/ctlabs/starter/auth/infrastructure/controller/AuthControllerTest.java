@@ -17,6 +17,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +27,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -255,6 +257,32 @@ class AuthControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void loginShouldBeThrottledAfterRepeatedFailures() throws Exception {
+        var registerRequest = new RegisterRequest("Login", "Throttled", "throttled@test.com", null, "Password123!");
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isOk());
+
+        var wrongRequest = new LoginRequest("throttled@test.com", "WrongPassword!");
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(wrongRequest)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        var validRequest = new LoginRequest("Throttled@Test.com", "Password123!");
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.title").value("Too Many Requests"));
+    }
+
     @Test
     void loginShouldFailWhenPhoneValidButPasswordIncorrect() throws Exception {
         var registerRequest = new RegisterRequest("Login", "User", null, "+59170712345", "Password123!");
@@ -325,6 +353,44 @@ class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void loginShouldAcceptFormattedPhoneNumbers() throws Exception {
+        var user = new User();
+        user.setPhoneNumber("+59170799999");
+        user.setPassword(passwordEncoder.encode("Password123!"));
+        user.setStatus("active");
+        user.setPhoneVerified(true);
+        userRepository.save(user);
+
+        var loginRequest = new LoginRequest("+591 707-99999", "Password123!");
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void loginShouldRehashLegacyPasswordHashes() throws Exception {
+        var user = new User();
+        user.setEmail("legacy@test.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("Password123!"));
+        user.setStatus("active");
+        user.setEmailVerified(true);
+        userRepository.save(user);
+
+        var loginRequest = new LoginRequest("legacy@test.com", "Password123!");
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        String storedHash = userRepository.findByEmail("legacy@test.com").orElseThrow().getPassword();
+        assertThat(storedHash).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("Password123!", storedHash)).isTrue();
+    }
     // </editor-fold>
 
     // <editor-fold desc="Refresh Token Tests">
@@ -391,8 +457,8 @@ class AuthControllerTest {
 
         var authResponse = objectMapper.readValue(responseJson, AuthResponse.class);
         String validToken = authResponse.refreshToken();
-        String[] parts = validToken.split(":");
-        String tamperedToken = parts[0] + ":tampered-secret";
+        char last = validToken.charAt(validToken.length() - 1);
+        String tamperedToken = validToken.substring(0, validToken.length() - 1) + (last == 'A' ? 'B' : 'A');
 
         var refreshRequest = new RefreshTokenRequest(tamperedToken);
 
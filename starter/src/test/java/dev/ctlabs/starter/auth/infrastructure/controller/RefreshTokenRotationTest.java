@@ -0,0 +1,110 @@
+package dev.ctlabs.starter.auth.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ctlabs.starter.auth.application.dto.AuthResponse;
+import dev.ctlabs.starter.auth.application.dto.LoginRequest;
+import dev.ctlabs.starter.auth.application.dto.RefreshTokenRequest;
+import dev.ctlabs.starter.auth.application.dto.RegisterRequest;
+import dev.ctlabs.starter.auth.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: each request must run in its own transaction, as the rotation is a native statement that
+// bypasses the persistence context.
+@SpringBootTest(properties = "ctlabs.auth.refresh-token.rotation=true")
+@AutoConfigureMockMvc
+@Testcontainers
+class RefreshTokenRotationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void refreshShouldReplaceRefreshToken() throws Exception {
+        String first = login("rotate@test.com");
+
+        AuthResponse rotated = read(refresh(first)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").exists())
+                .andExpect(jsonPath("$.refreshToken").exists()));
+
+        assertThat(rotated.refreshToken()).isNotEqualTo(first);
+        refresh(rotated.refreshToken()).andExpect(status().isOk());
+    }
+
+    @Test
+    void reusingReplacedRefreshTokenShouldRevokeWholeFamily() throws Exception {
+        String first = login("reuse@test.com");
+        String second = read(refresh(first).andExpect(status().isOk())).refreshToken();
+
+        refresh(first)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Refresh token has already been used"));
+        refresh(second)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Refresh token has been revoked"));
+    }
+
+    @Test
+    void refreshShouldFailWhenSecretDoesNotMatch() throws Exception {
+        String token = login("tampered@test.com");
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        refresh(tampered).andExpect(status().isBadRequest());
+        refresh(token).andExpect(status().isOk());
+    }
+
+    private String login(String email) throws Exception {
+        var registerRequest = new RegisterRequest("Rotation", "Test", email, null, "Password123!");
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)));
+
+        var loginRequest = new LoginRequest(email, "Password123!");
+        return read(mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest))))
+                .refreshToken();
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))));
+    }
+
+    private AuthResponse read(ResultActions result) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), AuthResponse.class);
+    }
+}
@@ -0,0 +1,155 @@
+package dev.ctlabs.starter.auth.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ctlabs.starter.auth.application.dto.AuthResponse;
+import dev.ctlabs.starter.auth.application.dto.LoginRequest;
+import dev.ctlabs.starter.auth.application.dto.RefreshTokenRequest;
+import dev.ctlabs.starter.auth.application.dto.RegisterRequest;
+import dev.ctlabs.starter.auth.application.service.AuthService;
+import dev.ctlabs.starter.auth.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not @Transactional: the oldest sessions are revoked by a native statement that bypasses the persistence context.
+@SpringBootTest(properties = "ctlabs.auth.refresh-token.max-active-sessions=2")
+@AutoConfigureMockMvc
+@Testcontainers
+class SessionLimitTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void loginBeyondLimitShouldRevokeOldestSession() throws Exception {
+        register("limit@test.com");
+        String first = login("limit@test.com");
+        String second = login("limit@test.com");
+        String third = login("limit@test.com");
+
+        assertThat(authService.getActiveSessions(userId("limit@test.com"))).hasSize(2);
+        refresh(first)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Refresh token has been revoked"));
+        refresh(second).andExpect(status().isOk());
+        refresh(third).andExpect(status().isOk());
+    }
+
+    @Test
+    void loginsShouldNotRevokeSessionsOfOtherUsers() throws Exception {
+        register("one@test.com");
+        register("other@test.com");
+        String other = login("other@test.com");
+        login("one@test.com");
+        login("one@test.com");
+        login("one@test.com");
+
+        assertThat(authService.getActiveSessions(userId("one@test.com"))).hasSize(2);
+        refresh(other).andExpect(status().isOk());
+    }
+
+    // Spring injects the enclosing instance from the nested context, so the helpers below see the cache enabled.
+    @Nested
+    @TestPropertySource(properties = "ctlabs.auth.refresh-token.session-count-cache=true")
+    class WithSessionCountCache {
+
+        @Test
+        void loginBeyondCachedCountShouldRevokeOldestSession() throws Exception {
+            register("cached@test.com");
+            String first = login("cached@test.com");
+            login("cached@test.com");
+            login("cached@test.com");
+
+            assertThat(authService.getActiveSessions(userId("cached@test.com"))).hasSize(2);
+            refresh(first).andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void sessionsOpenedElsewhereShouldOnlyBeSeenByTheNextCheck() throws Exception {
+            register("approximate@test.com");
+            UUID userId = userId("approximate@test.com");
+            login("approximate@test.com");
+            login("approximate@test.com");
+
+            // Opened by another node: the cached count does not include it, so the limit is exceeded for now.
+            jdbcTemplate.update(
+                    "INSERT INTO auth_refresh_tokens (id, user_id, token_hash, expires_at) VALUES (?, ?, ?, ?)",
+                    UUID.randomUUID(), userId, "hash", Timestamp.from(Instant.now().plus(Duration.ofDays(1))));
+            assertThat(authService.getActiveSessions(userId)).hasSize(3);
+
+            login("approximate@test.com");
+
+            assertThat(authService.getActiveSessions(userId)).hasSize(2);
+        }
+    }
+
+    private void register(String email) throws Exception {
+        var registerRequest = new RegisterRequest("Limit", "Test", email, null, "Password123!");
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)));
+    }
+
+    private String login(String email) throws Exception {
+        var loginRequest = new LoginRequest(email, "Password123!");
+        String content = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(content, AuthResponse.class).refreshToken();
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))));
+    }
+
+    private UUID userId(String email) {
+        return userRepository.findByIdentifier(email).orElseThrow().getId();
+    }
+}
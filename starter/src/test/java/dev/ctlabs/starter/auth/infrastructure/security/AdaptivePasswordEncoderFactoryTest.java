@@ -0,0 +1,56 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePasswordEncoderFactoryTest {
+
+    @Test
+    void shouldPrefixNewHashesAndAcceptLegacyBcryptHashes() {
+        PasswordEncoder encoder = AdaptivePasswordEncoderFactory.create(new AuthProperties.Password());
+        String legacyHash = new BCryptPasswordEncoder(4).encode("Password123!");
+
+        String hash = encoder.encode("Password123!");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$10$");
+        assertThat(encoder.matches("Password123!", hash)).isTrue();
+        assertThat(encoder.matches("Password123!", legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void shouldHashWithArgon2AndUpgradeBcryptHashes() {
+        AuthProperties.Password password = new AuthProperties.Password();
+        password.setHashAlgorithm(AuthProperties.Password.HashAlgorithm.ARGON2);
+        PasswordEncoder encoder = AdaptivePasswordEncoderFactory.create(password);
+        String bcryptHash = "{bcrypt}" + new BCryptPasswordEncoder(10).encode("Password123!");
+
+        String hash = encoder.encode("Password123!");
+
+        assertThat(hash).startsWith("{argon2}$argon2id$");
+        assertThat(encoder.matches("Password123!", hash)).isTrue();
+        assertThat(encoder.matches("Password123!", bcryptHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void shouldKeepCalibratedCostWithinBounds() {
+        assertThat(AdaptivePasswordEncoderFactory.bcryptStrength(Duration.ZERO))
+                .isEqualTo(AdaptivePasswordEncoderFactory.MIN_BCRYPT_STRENGTH);
+        assertThat(AdaptivePasswordEncoderFactory.bcryptStrength(Duration.ofHours(1)))
+                .isEqualTo(AdaptivePasswordEncoderFactory.MAX_BCRYPT_STRENGTH);
+        assertThat(AdaptivePasswordEncoderFactory.argon2Iterations(Duration.ZERO))
+                .isEqualTo(AdaptivePasswordEncoderFactory.MIN_ARGON2_ITERATIONS);
+        assertThat(AdaptivePasswordEncoderFactory.argon2Iterations(Duration.ofHours(1)))
+                .isEqualTo(AdaptivePasswordEncoderFactory.MAX_ARGON2_ITERATIONS);
+    }
+}
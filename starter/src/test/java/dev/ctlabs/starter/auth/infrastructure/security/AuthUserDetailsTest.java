@@ -0,0 +1,67 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.domain.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthUserDetailsTest {
+
+    private final RbacCatalog.Grant grant = new RbacCatalog.Grant(
+            List.of("USER", "ADMIN"),
+            List.of("users:read", "users:write"),
+            new CompactAuthorities(new BitSet(), new BitSet()));
+
+    @Test
+    void shouldSnapshotUserAndAuthorities() {
+        User user = user("active");
+
+        AuthUserDetails details = AuthUserDetails.of(user, true, grant);
+
+        assertThat(details.getUserId()).isEqualTo(user.getId());
+        assertThat(details.getGrant()).isSameAs(grant);
+        assertThat(details.getUsername()).isEqualTo("snapshot@test.com");
+        assertThat(details.getPassword()).isEqualTo("hash");
+        assertThat(details.isEnabled()).isTrue();
+        assertThat(details.isAccountNonLocked()).isTrue();
+        assertThat(details.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN", "users:read", "users:write");
+        assertThat(AuthUserDetails.of(user("banned"), false, grant).isAccountNonLocked()).isFalse();
+    }
+
+    @Test
+    void shouldUsePhoneNumberAsPrincipalWithoutEmail() {
+        User user = user("active");
+        user.setEmail(null);
+        user.setPhoneNumber("+14155550100");
+
+        assertThat(AuthUserDetails.of(user, true, grant).getUsername()).isEqualTo("+14155550100");
+    }
+
+    @Test
+    void shouldReplacePasswordAndEraseCredentials() {
+        AuthUserDetails details = AuthUserDetails.of(user("active"), true, grant);
+
+        AuthUserDetails updated = details.withPassword("{bcrypt}new");
+        details.eraseCredentials();
+
+        assertThat(updated.getPassword()).isEqualTo("{bcrypt}new");
+        assertThat(updated.getAuthorities()).isEqualTo(details.getAuthorities());
+        assertThat(details.getPassword()).isNull();
+    }
+
+    private User user(String status) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("snapshot@test.com");
+        user.setPassword("hash");
+        user.setStatus(status);
+        return user;
+    }
+}
@@ -0,0 +1,45 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthoritySetsTest {
+
+    private final AuthoritySets authoritySets = new AuthoritySets();
+
+    @Test
+    void shouldShareOneInstancePerCombination() {
+        AuthoritySet first = authoritySets.intern(new ArrayList<>(List.of("USER")), List.of("users:read"));
+        AuthoritySet second = authoritySets.intern(List.of("USER"), new ArrayList<>(List.of("users:read")));
+        AuthoritySet other = authoritySets.intern(List.of("ADMIN"), List.of("users:read"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(authoritySets.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldBuildAuthoritiesOnceOnFirstAccess() {
+        AuthoritySet set = authoritySets.intern(List.of("USER"), List.of("users:read"));
+
+        List<GrantedAuthority> authorities = set.authorities();
+
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER", "users:read");
+        assertThat(set.authorities()).isSameAs(authorities);
+    }
+
+    @Test
+    void principalAndAuthenticationShouldExposeSharedAuthorities() {
+        AuthoritySet set = authoritySets.intern(List.of("USER"), List.of());
+        var authentication = new JwtAuthentication(new TokenPrincipal("user@test.com", set));
+
+        assertThat(authentication.getName()).isEqualTo("user@test.com");
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getAuthorities()).isSameAs(set.authorities());
+    }
+}
@@ -0,0 +1,91 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HmacTokenVerifierTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtKeyRing keyRing;
+    private JwtService jwtService;
+    private HmacTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new AuthProperties();
+        properties.getJwt().setSecretKey(SECRET);
+        keyRing = new JwtKeyRing(properties);
+        verifier = new HmacTokenVerifier(keyRing);
+        jwtService = new JwtService(properties, keyRing, verifier);
+    }
+
+    @Test
+    void shouldExtractTheSameClaimsAsJjwt() {
+        String token = jwtService.generateToken(
+                Map.of("roles", List.of("USER", "ADMIN"), "permissions", List.of("users:read"), "id", 42),
+                new User("fast@test.com", "", List.of()));
+
+        VerifiedToken verified = verifier.verify(token);
+        var claims = jwtService.extractAllClaims(token);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.subject()).isEqualTo(claims.getSubject());
+        assertThat(verified.expiresAtMillis()).isEqualTo(claims.getExpiration().getTime());
+        assertThat(verified.roles()).containsExactly("USER", "ADMIN");
+        assertThat(verified.permissions()).containsExactly("users:read");
+    }
+
+    @Test
+    void shouldRejectTamperedSignature() {
+        String token = jwtService.generateToken(Map.of(), new User("fast@test.com", "", List.of()));
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertThatThrownBy(() -> verifier.verify(tampered)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void shouldRejectExpiredTokenBeforeCheckingSignature() {
+        String expired = Jwts.builder()
+                .header().keyId(keyRing.signingKey().id()).and()
+                .subject("old@test.com")
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(keyRing.signingKey().signingKey())
+                .compact();
+        String badSignature = expired.substring(0, expired.lastIndexOf('.') + 1) + "AAAA";
+
+        assertThatThrownBy(() -> verifier.verify(badSignature)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> verifier.verify("not-a-token")).isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> verifier.verify("a.b!.c")).isInstanceOf(MalformedJwtException.class);
+    }
+
+    @Test
+    void shouldDeferUnknownAlgorithmsToJjwt() {
+        var properties = new AuthProperties();
+        properties.getJwt().setAlgorithm(AuthProperties.Jwt.Algorithm.ES256);
+        var ring = new JwtKeyRing(properties);
+        var service = new JwtService(properties, ring, new HmacTokenVerifier(ring));
+        String token = service.generateToken(Map.of(), new User("ec@test.com", "", List.of()));
+
+        assertThat(new HmacTokenVerifier(ring).verify(token)).isNull();
+        assertThat(service.verify(token).subject()).isEqualTo("ec@test.com");
+    }
+}
@@ -0,0 +1,60 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationCacheTest {
+
+    @Test
+    void shouldReturnCachedEntryUntilTokenExpires() {
+        var cache = newCache(true, 10);
+        long later = System.currentTimeMillis() + 60_000;
+
+        cache.put("token-a", entry("a", later));
+        cache.put("token-b", entry("b", System.currentTimeMillis() - 1));
+
+        assertThat(cache.get("token-a")).isNotNull().extracting(entry -> entry.principal().getUsername()).isEqualTo("a");
+        assertThat(cache.get("token-b")).isNull();
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaxSize() {
+        var cache = newCache(true, 2);
+        long later = System.currentTimeMillis() + 60_000;
+
+        cache.put("token-1", entry("1", later));
+        cache.put("token-2", entry("2", later));
+        cache.put("token-3", entry("3", later));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("token-3")).isNull();
+    }
+
+    @Test
+    void shouldBypassWhenDisabled() {
+        var cache = newCache(false, 10);
+
+        cache.put("token", entry("x", System.currentTimeMillis() + 60_000));
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static JwtAuthenticationCache.Entry entry(String username, long expiresAtMillis) {
+        var token = new VerifiedToken(username, null, null, 0, expiresAtMillis, List.of(), List.of(), null);
+        return new JwtAuthenticationCache.Entry(new TokenPrincipal(username, AuthoritySet.EMPTY), token);
+    }
+
+    private static JwtAuthenticationCache newCache(boolean enabled, int maxSize) {
+        var properties = new AuthProperties();
+        properties.getJwt().getCache().setEnabled(enabled);
+        properties.getJwt().getCache().setMaxSize(maxSize);
+        return new JwtAuthenticationCache(properties);
+    }
+}
@@ -0,0 +1,142 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final String FIRST_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String SECOND_SECRET = "5A7134743777217A25432A462D4A614E645267556B58703273357638792F423F";
+
+    private final UserDetails user = new User("ring@test.com", "", List.of());
+
+    private AuthProperties authProperties;
+    private JwtKeyRing keyRing;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        authProperties.getJwt().setSecretKey(FIRST_SECRET);
+        keyRing = new JwtKeyRing(authProperties);
+        jwtService = new JwtService(authProperties, keyRing, new HmacTokenVerifier(keyRing));
+    }
+
+    @Test
+    void generatedTokenShouldCarryActiveKeyId() {
+        String token = jwtService.generateToken(Map.of(), user);
+
+        var header = keyRing.parser().parseSignedClaims(token).getHeader();
+        assertThat(header.getKeyId()).isEqualTo(keyRing.signingKey().id());
+    }
+
+    @Test
+    void tokensSignedBeforeRotationShouldStillVerify() {
+        String before = jwtService.generateToken(Map.of(), user);
+        String previousKeyId = keyRing.signingKey().id();
+
+        keyRing.rotate("second", SECOND_SECRET);
+        String after = jwtService.generateToken(Map.of(), user);
+
+        assertThat(jwtService.extractAllClaims(before).getSubject()).isEqualTo("ring@test.com");
+        assertThat(jwtService.extractAllClaims(after).getSubject()).isEqualTo("ring@test.com");
+        assertThat(keyRing.signingKey().id()).isEqualTo("second");
+        assertThat(keyRing.verificationKey(previousKeyId).retiredUntil()).isNotNull();
+    }
+
+    @Test
+    void stagedKeyShouldVerifyOnOtherNodesOnceActivatedOnOne() {
+        var otherRing = new JwtKeyRing(authProperties);
+        var otherService = new JwtService(authProperties, otherRing, new HmacTokenVerifier(otherRing));
+        String firstKeyId = keyRing.signingKey().id();
+
+        keyRing.stage("second", SECOND_SECRET);
+        otherRing.stage("second", SECOND_SECRET);
+        assertThat(keyRing.signingKey().id()).isEqualTo(firstKeyId);
+
+        keyRing.activate("second");
+        String after = jwtService.generateToken(Map.of(), user);
+
+        assertThat(keyRing.signingKey().id()).isEqualTo("second");
+        assertThat(otherRing.signingKey().id()).isEqualTo(firstKeyId);
+        assertThat(otherService.extractAllClaims(after).getSubject()).isEqualTo("ring@test.com");
+    }
+
+    @Test
+    void activateShouldRejectKeysThatWereNotStaged() {
+        assertThatThrownBy(() -> keyRing.activate("unknown")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void tokensWithoutKeyIdShouldVerifyAgainstActiveKey() {
+        String legacy = Jwts.builder()
+                .subject("legacy@test.com")
+                .signWith(keyRing.signingKey().signingKey())
+                .compact();
+
+        assertThat(jwtService.extractAllClaims(legacy).getSubject()).isEqualTo("legacy@test.com");
+    }
+
+    @Test
+    void tokensWithUnknownKeyIdShouldBeRejected() {
+        String forged = Jwts.builder()
+                .header()
+                .keyId("unknown")
+                .and()
+                .subject("forged@test.com")
+                .signWith(keyRing.signingKey().signingKey())
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.extractAllClaims(forged)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void configuredPreviousKeysShouldVerify() {
+        var previous = new AuthProperties.Jwt.VerificationKey();
+        previous.setKeyId("old");
+        previous.setSecretKey(SECOND_SECRET);
+        authProperties.getJwt().getPreviousKeys().add(previous);
+        var ring = new JwtKeyRing(authProperties);
+
+        String oldToken = Jwts.builder()
+                .header()
+                .keyId("old")
+                .and()
+                .subject("old@test.com")
+                .signWith(ring.verificationKey("old").signingKey())
+                .compact();
+
+        assertThat(ring.parser().parseSignedClaims(oldToken).getPayload().getSubject()).isEqualTo("old@test.com");
+    }
+
+    @Test
+    void asymmetricRingShouldSignWithPrivateKeyAndPublishPublicKey() {
+        var properties = new AuthProperties();
+        properties.getJwt().setAlgorithm(AuthProperties.Jwt.Algorithm.ES256);
+        properties.getJwt().setKeyId("ec-1");
+        var ring = new JwtKeyRing(properties);
+        var service = new JwtService(properties, ring, new HmacTokenVerifier(ring));
+
+        String token = service.generateToken(Map.of(), user);
+
+        assertThat(service.extractAllClaims(token).getSubject()).isEqualTo("ring@test.com");
+        assertThat(ring.parser().parseSignedClaims(token).getHeader().getAlgorithm()).isEqualTo("ES256");
+        assertThat(ring.jwks().json()).contains("\"kty\":\"EC\"", "\"kid\":\"ec-1\"");
+        assertThat(ring.jwks().etag()).isNotBlank();
+    }
+
+    @Test
+    void hmacRingShouldNotPublishSecretKeys() {
+        assertThat(keyRing.jwks().json()).isEqualTo("{\"keys\":[]}");
+    }
+}
@@ -0,0 +1,146 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private AuthProperties properties;
+    private StripedLoginAttemptCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuthProperties();
+        properties.getLoginThrottle().setMaxAttemptsPerIdentifier(3);
+        properties.getLoginThrottle().setMaxAttemptsPerIp(5);
+        properties.getLoginThrottle().setWindow(WINDOW);
+        counters = new StripedLoginAttemptCounters(WINDOW, 1_000);
+    }
+
+    @Test
+    void shouldThrottleIdentifierAfterMaxFailures() {
+        LoginThrottle throttle = new LoginThrottle(counters, null, properties);
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAllowed("user@test.com", "10.0.0.1");
+            throttle.recordFailure("user@test.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.checkAllowed("user@test.com", "10.0.0.2"))
+                .isInstanceOf(LoginThrottledException.class)
+                .satisfies(e -> assertThat(((LoginThrottledException) e).getRetryAfter())
+                        .isBetween(Duration.ofSeconds(1), WINDOW.plusSeconds(1)));
+        assertThatCode(() -> throttle.checkAllowed("other@test.com", "10.0.0.2")).doesNotThrowAnyException();
+        assertThat(throttle.throttled()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldThrottleIpAcrossIdentifiers() {
+        LoginThrottle throttle = new LoginThrottle(counters, null, properties);
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i + "@test.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.checkAllowed("new@test.com", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> throttle.checkAllowed("new@test.com", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldClearIdentifierOnSuccess() {
+        LoginThrottle throttle = new LoginThrottle(counters, null, properties);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user@test.com", "10.0.0.1");
+        }
+
+        throttle.recordSuccess("user@test.com");
+
+        assertThatCode(() -> throttle.checkAllowed("user@test.com", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        properties.getLoginThrottle().setEnabled(false);
+        LoginThrottle throttle = new LoginThrottle(counters, null, properties);
+        for (int i = 0; i < 10; i++) {
+            throttle.recordFailure("user@test.com", "10.0.0.1");
+        }
+
+        assertThatCode(() -> throttle.checkAllowed("user@test.com", "10.0.0.1")).doesNotThrowAnyException();
+        assertThat(counters.size()).isZero();
+    }
+
+    @Test
+    void shouldWeighPreviousWindowBySlidingOverlap() {
+        long window = WINDOW.toMillis();
+        long start = 100 * window;
+        for (int i = 0; i < 4; i++) {
+            counters.increment("ip:10.0.0.1", start + 10);
+        }
+        counters.increment("ip:10.0.0.1", start + window);
+
+        assertThat(counters.count("ip:10.0.0.1", start + window)).isEqualTo(5.0);
+        assertThat(counters.count("ip:10.0.0.1", start + window + window / 4)).isEqualTo(4.0);
+        assertThat(counters.count("ip:10.0.0.1", start + 3 * window)).isZero();
+    }
+
+    @Test
+    void shouldRetryOnceSlidingCountFallsBelowLimit() {
+        long window = WINDOW.toMillis();
+        long start = 100 * window;
+        for (int i = 0; i < 4; i++) {
+            counters.increment("id:user@test.com", start + 10);
+        }
+        counters.increment("id:user@test.com", start + window);
+        long now = start + window + window / 4;
+
+        // 1 + 4 * 3/4 = 4 attempts; below 3 once the previous window weighs less than 1/2.
+        assertThat(counters.millisUntilBelow("id:user@test.com", 3, now)).isEqualTo(window / 4 + 1);
+        assertThat(counters.count("id:user@test.com", now + window / 4 + 1)).isLessThan(3.0);
+        assertThat(counters.millisUntilBelow("id:user@test.com", 5, now)).isZero();
+    }
+
+    @Test
+    void shouldRetryInNextWindowWhenCurrentWindowAloneReachesLimit() {
+        long window = WINDOW.toMillis();
+        long start = 100 * window;
+        for (int i = 0; i < 6; i++) {
+            counters.increment("ip:10.0.0.1", start);
+        }
+        long now = start + window / 6;
+
+        // The 6 attempts must weigh less than 3, halfway through the next window.
+        assertThat(counters.millisUntilBelow("ip:10.0.0.1", 3, now)).isEqualTo(window - window / 6 + window / 2 + 1);
+    }
+
+    @Test
+    void shouldForgetLeastRecentlyUsedKeysOfFullShards() {
+        StripedLoginAttemptCounters capped = new StripedLoginAttemptCounters(WINDOW, 64);
+        for (int i = 0; i < 1_000; i++) {
+            capped.increment("ip:10.0." + (i / 256) + "." + (i % 256), 0);
+        }
+
+        assertThat(capped.size()).isLessThanOrEqualTo(64);
+        assertThat(capped.evicted()).isEqualTo(1_000 - capped.size());
+    }
+
+    @Test
+    void shouldPruneExpiredWindows() {
+        long window = WINDOW.toMillis();
+        counters.increment("id:old@test.com", 0);
+        counters.increment("id:new@test.com", 5 * window);
+
+        counters.prune(5 * window);
+
+        assertThat(counters.size()).isEqualTo(1);
+        assertThat(counters.count("id:new@test.com", 5 * window)).isEqualTo(1.0);
+    }
+}
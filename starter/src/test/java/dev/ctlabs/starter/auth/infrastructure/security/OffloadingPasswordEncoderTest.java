@@ -0,0 +1,97 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffloadingPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return false;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void shouldHashOnThePool() {
+        release.countDown();
+        try (var encoder = new OffloadingPasswordEncoder(blockingEncoder, 1, 1, Duration.ofSeconds(1))) {
+            assertThat(encoder.encode("raw")).startsWith("ctlabs-auth-hash-");
+            assertThat(encoder.waits()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        try (var encoder = new OffloadingPasswordEncoder(blockingEncoder, 1, 1, Duration.ofSeconds(5))) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            await(() -> encoder.active() == 1);
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            await(() -> encoder.queued() == 1);
+
+            assertThatThrownBy(() -> encoder.encode("third"))
+                    .isInstanceOf(HashingCapacityExceededException.class)
+                    .satisfies(e -> assertThat(((HashingCapacityExceededException) e).getRetryAfter())
+                            .isEqualTo(Duration.ofSeconds(5)));
+            assertThat(encoder.rejected()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("ctlabs-auth-hash-");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("ctlabs-auth-hash-");
+        }
+    }
+
+    @Test
+    void shouldShedHashesThatWaitedTooLong() throws Exception {
+        try (var encoder = new OffloadingPasswordEncoder(blockingEncoder, 1, 10, Duration.ofMillis(50))) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            await(() -> encoder.active() == 1);
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            await(() -> encoder.queued() == 1);
+            Thread.sleep(100);
+
+            release.countDown();
+
+            assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("ctlabs-auth-hash-");
+            assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(HashingCapacityExceededException.class);
+            assertThat(encoder.rejected()).isEqualTo(1);
+            assertThat(encoder.waits()).isEqualTo(2);
+            assertThat(encoder.waitNanos()).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.application.service.AccessTokenClaims;
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.domain.model.Permission;
+import dev.ctlabs.starter.auth.domain.model.Role;
+import dev.ctlabs.starter.auth.domain.repository.PermissionRepository;
+import dev.ctlabs.starter.auth.domain.repository.RoleRepository;
+import io.jsonwebtoken.MalformedJwtException;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RbacCatalogTest {
+
+    private final Permission read = new Permission(3, "users:read", null);
+    private final Permission write = new Permission(140, "users:write", null);
+    private final Role user = new Role(1, "USER", null, Set.of(read));
+    private final Role admin = new Role(2, "ADMIN", null, Set.of(read, write));
+
+    private RoleRepository roleRepository;
+    private PermissionRepository permissionRepository;
+    private RbacCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        permissionRepository = mock(PermissionRepository.class);
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(user, admin));
+        when(permissionRepository.findAll()).thenReturn(List.of(read, write));
+        catalog = new RbacCatalog(roleRepository, permissionRepository, null, new AuthProperties());
+    }
+
+    @Test
+    void shouldRoundTripRolesAndDistinctPermissions() {
+        String compact = catalog.grant(List.of(user, admin)).ids().claimValue();
+
+        RbacCatalog.Authorities authorities = catalog.resolve(compact);
+
+        assertThat(compact).startsWith("1.").hasSizeLessThan(40);
+        assertThat(authorities.roles()).containsExactly("USER", "ADMIN");
+        assertThat(authorities.permissions()).containsExactly("users:read", "users:write");
+    }
+
+    @Test
+    void shouldLoadCatalogOnceForKnownIds() {
+        String compact = compact(Set.of(1), Set.of(3));
+
+        catalog.resolve(compact);
+        catalog.resolve(compact);
+
+        verify(roleRepository, times(1)).findAllWithPermissions();
+    }
+
+    @Test
+    void shouldGrantDistinctPermissionsOfRoles() {
+        RbacCatalog.Grant grant = catalog.grant(List.of(user, admin));
+
+        assertThat(grant.roles()).containsExactly("USER", "ADMIN");
+        assertThat(grant.permissions()).containsExactly("users:read", "users:write");
+        assertThat(catalog.grant(Set.of(admin, user))).isSameAs(grant);
+        verify(roleRepository, times(1)).findAllWithPermissions();
+    }
+
+    @Test
+    void shouldBuildClaimsFromGrant() {
+        RbacCatalog.Grant grant = catalog.grant(List.of(user, admin));
+
+        var names = AccessTokenClaims.authorities(grant, AuthProperties.Jwt.AuthoritiesFormat.NAMES);
+        var compact = AccessTokenClaims.authorities(grant, AuthProperties.Jwt.AuthoritiesFormat.COMPACT);
+
+        assertThat(names).containsOnlyKeys("roles", "permissions");
+        assertThat(names.get("roles")).asInstanceOf(InstanceOfAssertFactories.list(String.class))
+                .containsExactlyInAnyOrder("USER", "ADMIN");
+        assertThat(names.get("permissions")).asInstanceOf(InstanceOfAssertFactories.list(String.class))
+                .containsExactlyInAnyOrder("users:read", "users:write");
+        assertThat(compact).containsOnlyKeys(CompactAuthorities.CLAIM);
+        RbacCatalog.Authorities resolved = catalog.resolve((String) compact.get(CompactAuthorities.CLAIM));
+        assertThat(resolved.roles()).containsExactlyInAnyOrder("USER", "ADMIN");
+        assertThat(resolved.permissions()).containsExactlyInAnyOrder("users:read", "users:write");
+    }
+
+    @Test
+    void shouldReloadAfterRbacChange() {
+        Role auditor = new Role(3, "AUDITOR", null, Set.of(read));
+        catalog.grant(List.of(user));
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(user, admin, auditor));
+
+        catalog.onRbacChanged(new RbacChangedEvent("role created: AUDITOR"));
+
+        assertThat(catalog.grant(List.of(auditor)).roles()).containsExactly("AUDITOR");
+        verify(roleRepository, times(2)).findAllWithPermissions();
+    }
+
+    @Test
+    void shouldIgnoreRolesMissingFromCatalog() {
+        Role removed = new Role(9, "REMOVED", null, Set.of(write));
+
+        RbacCatalog.Grant grant = catalog.grant(List.of(user, removed));
+
+        assertThat(grant.roles()).containsExactly("USER");
+        assertThat(grant.permissions()).containsExactly("users:read");
+    }
+
+    @Test
+    void shouldIgnoreIdsMissingFromCatalog() {
+        RbacCatalog.Authorities authorities = catalog.resolve(compact(Set.of(1, 9), Set.of(3)));
+
+        assertThat(authorities.roles()).containsExactly("USER");
+    }
+
+    @Test
+    void shouldRejectUnknownEncodingVersion() {
+        assertThatThrownBy(() -> catalog.resolve("2.AQ.AQ")).isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> catalog.resolve("garbage")).isInstanceOf(MalformedJwtException.class);
+    }
+
+    private static String compact(Set<Integer> roleIds, Set<Integer> permissionIds) {
+        BitSet roles = new BitSet();
+        roleIds.forEach(roles::set);
+        BitSet permissions = new BitSet();
+        permissionIds.forEach(permissions::set);
+        return new CompactAuthorities(roles, permissions).claimValue();
+    }
+}
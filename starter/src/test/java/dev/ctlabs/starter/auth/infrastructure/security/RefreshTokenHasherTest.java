@@ -0,0 +1,75 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenHasherTest {
+
+    private final RefreshTokenHasher hasher = new RefreshTokenHasher(properties("pepper-1"));
+
+    @Test
+    void shouldRoundTripCompactTokens() {
+        UUID id = UUID.randomUUID();
+        byte[] secret = hasher.newSecret();
+
+        String token = hasher.format(id, secret);
+        RefreshTokenHasher.Token parsed = hasher.parse(token);
+
+        assertThat(token).hasSize(64).doesNotContain(":");
+        assertThat(parsed.id()).isEqualTo(id);
+        assertThat(parsed.secret()).isEqualTo(secret);
+        assertThat(hasher.matches(parsed, hasher.hash(secret))).isTrue();
+    }
+
+    @Test
+    void shouldRejectOtherSecretsAndPeppers() {
+        byte[] secret = hasher.newSecret();
+        String storedHash = hasher.hash(secret);
+        RefreshTokenHasher.Token other = new RefreshTokenHasher.Token(UUID.randomUUID(), hasher.newSecret());
+        RefreshTokenHasher.Token same = new RefreshTokenHasher.Token(UUID.randomUUID(), secret);
+
+        assertThat(hasher.matches(other, storedHash)).isFalse();
+        assertThat(new RefreshTokenHasher(properties("pepper-2")).matches(same, storedHash)).isFalse();
+    }
+
+    @Test
+    void shouldParseLegacyTokensAndRecognizeLegacyHashes() {
+        UUID id = UUID.randomUUID();
+
+        RefreshTokenHasher.Token parsed = hasher.parse(id + ":" + "legacy-secret");
+
+        assertThat(parsed.id()).isEqualTo(id);
+        assertThat(parsed.legacySecret()).isEqualTo("legacy-secret");
+        assertThat(hasher.isLegacyHash("$2a$10$abcdefghijklmnopqrstuv")).isTrue();
+        assertThat(hasher.isLegacyHash(hasher.hash(parsed.secret()))).isFalse();
+        assertThat(hasher.matches(parsed, "$2a$10$abcdefghijklmnopqrstuv")).isFalse();
+    }
+
+    @Test
+    void shouldRejectMalformedTokens() {
+        assertThatThrownBy(() -> hasher.parse("invalid-format")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> hasher.parse("not-a-uuid:secret")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> hasher.parse(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRequirePepperEvenWhenJwtSecretIsConfigured() {
+        AuthProperties properties = properties(null);
+        properties.getJwt().setSecretKey("404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+
+        assertThatThrownBy(() -> new RefreshTokenHasher(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ctlabs.auth.refresh-token.pepper");
+    }
+
+    private static AuthProperties properties(String pepper) {
+        AuthProperties properties = new AuthProperties();
+        properties.getRefreshToken().setPepper(pepper);
+        return properties;
+    }
+}
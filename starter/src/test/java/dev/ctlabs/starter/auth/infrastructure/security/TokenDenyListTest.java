@@ -0,0 +1,110 @@
+package dev.ctlabs.starter.auth.infrastructure.security;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import dev.ctlabs.starter.auth.domain.model.RevokedToken;
+import dev.ctlabs.starter.auth.domain.repository.RevokedTokenRepository;
+import dev.ctlabs.starter.auth.infrastructure.config.AuthTaskScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenDenyListTest {
+
+    private RevokedTokenRepository repository;
+    private TokenDenyList denyList;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        when(repository.save(any(RevokedToken.class))).thenAnswer(invocation -> {
+            RevokedToken saved = invocation.getArgument(0);
+            saved.setCreatedAt(Instant.now());
+            return saved;
+        });
+        denyList = newDenyList(true);
+    }
+
+    @Test
+    void shouldRejectTokensOfRevokedSession() {
+        UUID sessionId = UUID.randomUUID();
+        VerifiedToken sameSession = token("user@test.com", sessionId.toString(), Instant.now());
+        VerifiedToken otherSession = token("user@test.com", UUID.randomUUID().toString(), Instant.now());
+
+        denyList.revokeSession(sessionId);
+
+        assertThat(denyList.isRevoked(sameSession)).isTrue();
+        assertThat(denyList.isRevoked(otherSession)).isFalse();
+        assertThat(denyList.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectTokensIssuedBeforeSubjectRevocationOnly() {
+        VerifiedToken before = token("user@test.com", null, Instant.now().minusSeconds(60));
+
+        denyList.revokeSubject("user@test.com");
+        VerifiedToken after = token("user@test.com", null, Instant.now().plusSeconds(1));
+
+        assertThat(denyList.isRevoked(before)).isTrue();
+        assertThat(denyList.isRevoked(after)).isFalse();
+        assertThat(denyList.isRevoked(token("other@test.com", null, Instant.now().minusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    void shouldPickUpRevocationsRecordedByOtherNodes() {
+        String sessionId = UUID.randomUUID().toString();
+        RevokedToken remote = new RevokedToken(
+                1L, TokenDenyList.TYPE_SESSION, sessionId, Instant.now().plusSeconds(600), Instant.now());
+        when(repository.findAllByExpiresAtAfter(any())).thenReturn(List.of());
+        when(repository.findAllByCreatedAtAfter(any())).thenReturn(List.of(remote));
+
+        denyList.poll();
+        assertThat(denyList.isRevoked(token("user@test.com", sessionId, Instant.now()))).isFalse();
+
+        denyList.poll();
+        assertThat(denyList.isRevoked(token("user@test.com", sessionId, Instant.now()))).isTrue();
+    }
+
+    @Test
+    void shouldDropExpiredRevocations() {
+        RevokedToken expired = new RevokedToken(
+                1L, TokenDenyList.TYPE_TOKEN, "jti-1", Instant.now().minusSeconds(1), Instant.now().minusSeconds(60));
+        when(repository.findAllByExpiresAtAfter(any())).thenReturn(List.of(expired));
+
+        denyList.poll();
+
+        assertThat(denyList.size()).isZero();
+    }
+
+    @Test
+    void shouldAcceptEverythingWhenDisabled() {
+        var disabled = newDenyList(false);
+        UUID sessionId = UUID.randomUUID();
+
+        disabled.revokeSession(sessionId);
+
+        assertThat(disabled.isRevoked(token("user@test.com", sessionId.toString(), Instant.now()))).isFalse();
+    }
+
+    private TokenDenyList newDenyList(boolean enabled) {
+        var properties = new AuthProperties();
+        properties.getJwt().setExpiration(Duration.ofMinutes(15));
+        properties.getJwt().getRevocation().setEnabled(enabled);
+        return new TokenDenyList(repository, mock(AuthTaskScheduler.class), properties);
+    }
+
+    private static VerifiedToken token(String subject, String sessionId, Instant issuedAt) {
+        long issuedAtMillis = issuedAt.getEpochSecond() * 1000;
+        return new VerifiedToken(
+                subject, UUID.randomUUID().toString(), sessionId, issuedAtMillis,
+                issuedAtMillis + 900_000, List.of(), List.of(), null);
+    }
+}
@@ -0,0 +1,119 @@
+package dev.ctlabs.starter.auth.infrastructure.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        properties = {
+                "ctlabs.auth.audit.partitioned=true",
+                "ctlabs.auth.audit.partitions-ahead=3",
+                "ctlabs.auth.audit.retention=365d"
+        })
+@Testcontainers
+class AuditLogPartitionMaintenanceTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private AuditLogPartitionMaintenance maintenance;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldCreateCurrentAndUpcomingPartitions() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+
+        maintenance.run();
+
+        assertThat(partitions()).contains(
+                partition(month),
+                partition(month.plusMonths(1)),
+                partition(month.plusMonths(2)),
+                partition(month.plusMonths(3)));
+    }
+
+    @Test
+    void shouldDropPartitionsPastRetention() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        LocalDate expired = month.minusMonths(24);
+        jdbcTemplate.queryForObject(
+                "SELECT auth_audit_logs_create_partition(?)", String.class, Date.valueOf(expired));
+        assertThat(partitions()).contains(partition(expired));
+
+        maintenance.run();
+
+        assertThat(partitions()).doesNotContain(partition(expired)).contains(partition(month));
+    }
+
+    @Test
+    void shouldMoveRowsOutOfDefaultPartitionWhenCreatingTheirPartition() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).plusMonths(3);
+        maintenance.run();
+        jdbcTemplate.execute("DROP TABLE " + partition(month));
+        Timestamp createdAt = Timestamp.from(month.atStartOfDay(ZoneOffset.UTC).plusDays(1).toInstant());
+        jdbcTemplate.update(
+                "INSERT INTO auth_audit_logs (event_type, created_at) VALUES (?, ?)",
+                AuditEvent.TYPE_LOGIN_SUCCESS,
+                createdAt);
+        assertThat(count("auth_audit_logs_default", createdAt)).isEqualTo(1);
+
+        maintenance.run();
+
+        assertThat(partitions()).contains(partition(month), "auth_audit_logs_default");
+        assertThat(count(partition(month), createdAt)).isEqualTo(1);
+        assertThat(count("auth_audit_logs_default", createdAt)).isZero();
+    }
+
+    @Test
+    void shouldPruneTimeFilteredQueriesToMatchingPartitions() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        maintenance.run();
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM auth_audit_logs"
+                        + " WHERE created_at >= ?::timestamptz AND created_at < ?::timestamptz",
+                String.class,
+                month.atStartOfDay(ZoneOffset.UTC).toOffsetDateTime().toString(),
+                month.plusMonths(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime().toString()));
+
+        assertThat(plan).contains(partition(month)).doesNotContain(partition(month.plusMonths(1)));
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                         JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'auth_audit_logs'::regclass
+                """, String.class);
+    }
+
+    private long count(String table, Timestamp createdAt) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + table + " WHERE created_at = ?", Long.class, createdAt);
+    }
+
+    private static String partition(LocalDate month) {
+        return "auth_audit_logs_" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,133 @@
+package dev.ctlabs.starter.auth.infrastructure.service;
+
+import dev.ctlabs.starter.auth.autoconfigure.AuthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditLogWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AuthProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        properties = new AuthProperties();
+        properties.getAudit().setFlushSize(3);
+        properties.getAudit().setFlushInterval(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldWriteQueuedEventsAsMultiRowInsertsOnStop() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, properties);
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 4; i++) {
+            writer.record(AuditEvent.TYPE_LOGIN_SUCCESS, userId, null);
+        }
+
+        writer.start();
+        writer.stop();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), args.capture());
+        assertThat(sql.getAllValues().get(0)).startsWith("INSERT INTO auth_audit_logs").contains("), (");
+        assertThat(args.getAllValues().get(0)).hasSize(18).contains(userId, AuditEvent.TYPE_LOGIN_SUCCESS);
+        assertThat(args.getAllValues().get(1)).hasSize(6);
+        assertThat(writer.written()).isEqualTo(4);
+        assertThat(writer.isRunning()).isFalse();
+    }
+
+    @Test
+    void shouldStopAfterTheWebServerAndWriteLaterEventsInline() {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, properties);
+        writer.start();
+        writer.stop();
+
+        writer.record(AuditEvent.TYPE_LOGOUT, UUID.randomUUID(), null);
+
+        assertThat(writer.getPhase()).isLessThan(SmartLifecycle.DEFAULT_PHASE - 2048);
+        verify(jdbcTemplate).update(anyString(), any(Object[].class));
+        assertThat(writer.written()).isEqualTo(1);
+        assertThat(writer.queued()).isZero();
+    }
+
+    @Test
+    void shouldDropEventsWhenQueueIsFull() {
+        properties.getAudit().setQueueCapacity(2);
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, properties);
+
+        for (int i = 0; i < 3; i++) {
+            writer.record(AuditEvent.TYPE_LOGIN_FAILURE, null, "user@test.com");
+        }
+
+        assertThat(writer.queued()).isEqualTo(2);
+        assertThat(writer.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountFailedBatches() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataIntegrityViolationException("fk"));
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, properties);
+        writer.record(AuditEvent.TYPE_LOGOUT, UUID.randomUUID(), null);
+
+        writer.start();
+        writer.stop();
+
+        assertThat(writer.failed()).isEqualTo(1);
+        assertThat(writer.written()).isZero();
+    }
+
+    @Test
+    void shouldDropOnlyTheEventsThatViolateAConstraint() {
+        UUID deletedUserId = UUID.randomUUID();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            for (Object arg : invocation.getArguments()) {
+                if (deletedUserId.equals(arg)) {
+                    throw new DataIntegrityViolationException("fk");
+                }
+            }
+            return (invocation.getArguments().length - 1) / 6;
+        });
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, properties);
+        writer.record(AuditEvent.TYPE_LOGIN_SUCCESS, UUID.randomUUID(), null);
+        writer.record(AuditEvent.TYPE_LOGOUT, deletedUserId, null);
+        writer.record(AuditEvent.TYPE_LOGIN_SUCCESS, UUID.randomUUID(), null);
+
+        writer.start();
+        writer.stop();
+
+        assertThat(writer.failed()).isEqualTo(1);
+        assertThat(writer.written()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldIgnoreEventsWhenDisabled() {
+        properties.getAudit().setEnabled(false);
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, properties);
+
+        writer.record(AuditEvent.TYPE_LOGIN_SUCCESS, UUID.randomUUID(), null);
+        writer.start();
+        writer.stop();
+
+        assertThat(writer.queued()).isZero();
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+}
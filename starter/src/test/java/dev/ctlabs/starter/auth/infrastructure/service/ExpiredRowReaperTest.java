@@ -0,0 +1,147 @@
+package dev.ctlabs.starter.auth.infrastructure.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        properties = {
+                "ctlabs.auth.reaper.batch-size=2",
+                "ctlabs.auth.reaper.pause=0s",
+                "ctlabs.auth.reaper.revoked-retention=1h"
+        })
+@Testcontainers
+class ExpiredRowReaperTest {
+
+    private static final long LOCK_KEY = 0x6374_6c61_6273_0001L;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private ExpiredRowReaper reaper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM auth_refresh_tokens");
+        jdbcTemplate.update("DELETE FROM auth_verification_codes");
+        jdbcTemplate.update("DELETE FROM auth_revoked_tokens");
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO auth_users (id, email) VALUES (?, ?)", userId, userId + "@test.com");
+    }
+
+    @Test
+    void shouldDeleteExpiredAndLongRevokedRefreshTokensInChunks() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            refreshToken(now.minus(Duration.ofDays(1)), null);
+        }
+        refreshToken(now.plus(Duration.ofDays(1)), now.minus(Duration.ofDays(1)));
+        refreshToken(now.plus(Duration.ofDays(1)), now.minus(Duration.ofMinutes(5)));
+        refreshToken(now.plus(Duration.ofDays(1)), null);
+        long purgedBefore = reaper.purged(ExpiredRowReaper.TABLE_REFRESH_TOKENS);
+
+        assertThat(reaper.run()).isTrue();
+
+        assertThat(count("auth_refresh_tokens")).isEqualTo(2);
+        assertThat(reaper.purged(ExpiredRowReaper.TABLE_REFRESH_TOKENS) - purgedBefore).isEqualTo(6);
+    }
+
+    @Test
+    void shouldKeepRotatedRefreshTokensUntilTheyExpire() {
+        Instant now = Instant.now();
+        UUID successor = refreshToken(now.plus(Duration.ofDays(1)), null, null);
+        UUID rotated = refreshToken(now.plus(Duration.ofDays(1)), now.minus(Duration.ofDays(1)), successor);
+        refreshToken(now.minus(Duration.ofMinutes(1)), now.minus(Duration.ofDays(1)), successor);
+
+        reaper.run();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM auth_refresh_tokens", UUID.class))
+                .containsExactlyInAnyOrder(successor, rotated);
+    }
+
+    @Test
+    void shouldDeleteExpiredVerificationCodesAndRevocations() {
+        Instant now = Instant.now();
+        jdbcTemplate.update(
+                "INSERT INTO auth_verification_codes (id, user_id, type, code, expires_at) VALUES (?, ?, ?, ?, ?)",
+                UUID.randomUUID(), userId, "EMAIL_VERIFICATION", "old", Timestamp.from(now.minusSeconds(60)));
+        jdbcTemplate.update(
+                "INSERT INTO auth_verification_codes (id, user_id, type, code, expires_at) VALUES (?, ?, ?, ?, ?)",
+                UUID.randomUUID(), userId, "EMAIL_VERIFICATION", "new", Timestamp.from(now.plusSeconds(60)));
+        jdbcTemplate.update(
+                "INSERT INTO auth_revoked_tokens (type, value, expires_at) VALUES (?, ?, ?)",
+                "TOKEN", "expired", Timestamp.from(now.minusSeconds(60)));
+
+        reaper.run();
+
+        assertThat(jdbcTemplate.queryForList("SELECT code FROM auth_verification_codes", String.class))
+                .containsExactly("new");
+        assertThat(count("auth_revoked_tokens")).isZero();
+    }
+
+    @Test
+    void shouldSkipRunWhileAnotherNodeHoldsTheLock() {
+        refreshToken(Instant.now().minus(Duration.ofDays(1)), null);
+
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT pg_advisory_lock(?)");
+                 PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                lock.setLong(1, LOCK_KEY);
+                lock.execute();
+                try {
+                    return reaper.run();
+                } finally {
+                    unlock.setLong(1, LOCK_KEY);
+                    unlock.execute();
+                }
+            }
+        });
+
+        assertThat(ran).isFalse();
+        assertThat(count("auth_refresh_tokens")).isEqualTo(1);
+    }
+
+    private void refreshToken(Instant expiresAt, Instant revokedAt) {
+        refreshToken(expiresAt, revokedAt, null);
+    }
+
+    private UUID refreshToken(Instant expiresAt, Instant revokedAt, UUID replacedBy) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO auth_refresh_tokens (id, user_id, token_hash, expires_at, revoked_at, replaced_by)"
+                        + " VALUES (?, ?, ?, ?, ?, ?)",
+                id,
+                userId,
+                "hash",
+                Timestamp.from(expiresAt),
+                revokedAt != null ? Timestamp.from(revokedAt) : null,
+                replacedBy);
+        return id;
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}